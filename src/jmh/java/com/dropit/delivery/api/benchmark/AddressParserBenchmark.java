@@ -0,0 +1,80 @@
+package com.dropit.delivery.api.benchmark;
+
+import com.dropit.delivery.api.domain.model.Address;
+import com.dropit.delivery.api.infrastructure.client.AddressParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fallback address parsing: the index-scanning AddressParser against the former
+ * split/regex implementation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AddressParserBenchmark {
+	@Param({
+			"Rothschild Boulevard 12, Tel Aviv, 6688102, Israel",
+			"Herzl 1",
+			"  Main   St 42 ,  Springfield ,, 12345 , US , CA "
+	})
+	public String searchTerm;
+
+	private final AddressParser parser = new AddressParser();
+
+	@Benchmark
+	public Address scanner() {
+		return parser.parse(searchTerm);
+	}
+
+	@Benchmark
+	public Address legacy() {
+		return LegacyAddressParser.parse(searchTerm);
+	}
+
+	// Baseline: the split/matches implementation AddressParser used before
+	private static final class LegacyAddressParser {
+		static Address parse(String searchTerm) {
+			String[] parts = searchTerm.split(",");
+			if (parts.length == 0) {
+				return new Address("", "", "", "", "", "");
+			}
+			String street = "";
+			String line1 = "";
+			String city = "";
+			String postcode = "";
+			String country = "";
+
+			String first = parts[0].trim();
+			if (!first.isEmpty()) {
+				String[] tokens = first.split("\\s+");
+				String lastToken = tokens[tokens.length - 1];
+				if (lastToken.matches("\\d+.*")) {
+					line1 = lastToken;
+					street = first.substring(0, first.lastIndexOf(lastToken)).trim();
+				} else {
+					street = first;
+				}
+			}
+			if (parts.length >= 2) {
+				city = parts[1].trim();
+			}
+			for (int i = 2; i < parts.length; i++) {
+				String part = parts[i].trim();
+				if (!part.isEmpty() && part.matches("\\d+")) {
+					postcode = part;
+				} else if (country.isEmpty()) {
+					country = part;
+				}
+			}
+			return new Address(street, line1, "", country, postcode, city);
+		}
+	}
+}
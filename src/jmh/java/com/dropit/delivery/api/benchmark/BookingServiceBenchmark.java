@@ -0,0 +1,105 @@
+package com.dropit.delivery.api.benchmark;
+
+import com.dropit.delivery.api.application.service.BookingService;
+import com.dropit.delivery.api.application.service.CapacityLedger;
+import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.domain.model.Timeslot;
+import com.dropit.delivery.api.domain.repository.DeliveryRepository;
+import com.dropit.delivery.api.domain.repository.InMemoryDeliveryRepository;
+import com.dropit.delivery.api.domain.repository.InMemoryTimeslotRepository;
+import com.dropit.delivery.api.domain.repository.TimeslotRepository;
+import com.dropit.delivery.api.infrastructure.config.BusinessProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contended book/cancel cycles through BookingService. Each invocation runs
+ * {@code threads} workers, each booking and cancelling {@link #CYCLES_PER_THREAD} times
+ * against {@code timeslots} slots of the same day, so the day counter is always shared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@OperationsPerInvocation(BookingServiceBenchmark.CYCLES_PER_THREAD)
+public class BookingServiceBenchmark {
+	static final int CYCLES_PER_THREAD = 1000;
+
+	@Param({"1", "4", "16"})
+	public int threads;
+
+	@Param({"1", "16"})
+	public int timeslots;
+
+	private String[] timeslotIds;
+	private DeliveryRepository deliveryRepository;
+	private BookingService bookingService;
+	private ExecutorService workers;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		LocalDateTime start = LocalDate.now().plusDays(1).atTime(8, 0);
+		TimeslotRepository timeslotRepository = new InMemoryTimeslotRepository();
+		timeslotIds = new String[timeslots];
+		List<Timeslot> slots = new ArrayList<>();
+		for (int i = 0; i < timeslots; i++) {
+			timeslotIds[i] = "slot-" + i;
+			slots.add(new Timeslot(timeslotIds[i], start.plusMinutes(i), start.plusMinutes(i + 60), Set.of(), Set.of(), Set.of()));
+		}
+		timeslotRepository.saveAll(slots);
+
+		deliveryRepository = new InMemoryDeliveryRepository();
+		// Capacity stays above threads x in-flight bookings, so every attempt succeeds
+		CapacityLedger ledger = new CapacityLedger(new BusinessProperties(threads * timeslots, threads));
+		bookingService = new BookingService(deliveryRepository, timeslotRepository, ledger, new SimpleMeterRegistry());
+		workers = Executors.newFixedThreadPool(threads);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		workers.shutdownNow();
+	}
+
+	@Benchmark
+	public int bookAndCancel() throws Exception {
+		List<Future<Integer>> running = new ArrayList<>(threads);
+		for (int t = 0; t < threads; t++) {
+			running.add(workers.submit(() -> {
+				int booked = 0;
+				for (int i = 0; i < CYCLES_PER_THREAD; i++) {
+					String timeslotId = timeslotIds[ThreadLocalRandom.current().nextInt(timeslotIds.length)];
+					Delivery delivery = bookingService.book("bench@example.com", timeslotId);
+					bookingService.cancel(delivery.getId());
+					deliveryRepository.delete(delivery.getId());
+					booked++;
+				}
+				return booked;
+			}));
+		}
+		int total = 0;
+		for (Future<Integer> worker : running) {
+			total += worker.get();
+		}
+		return total;
+	}
+}
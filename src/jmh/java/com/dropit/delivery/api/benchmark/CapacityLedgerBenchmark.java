@@ -0,0 +1,105 @@
+package com.dropit.delivery.api.benchmark;
+
+import com.dropit.delivery.api.application.service.CapacityLedger;
+import com.dropit.delivery.api.infrastructure.config.BusinessProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contended reserve/release cycles: the CAS-based ledger against the former
+ * per-slot/per-day semaphore maps of BookingService.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class CapacityLedgerBenchmark {
+	@Param({"1", "8"})
+	public int slotsPerDay;
+
+	@Param({"4", "1000"})
+	public int timeslotCapacity;
+
+	private final LocalDate day = LocalDate.now().plusDays(1);
+	private String[] slotIds;
+	private CapacityLedger ledger;
+	private SemaphoreCapacity semaphores;
+
+	@Setup
+	public void setup() {
+		slotIds = new String[slotsPerDay];
+		for (int i = 0; i < slotsPerDay; i++) {
+			slotIds[i] = "slot-" + i;
+		}
+		BusinessProperties properties = new BusinessProperties(timeslotCapacity * slotsPerDay, timeslotCapacity);
+		ledger = new CapacityLedger(properties);
+		semaphores = new SemaphoreCapacity(properties);
+	}
+
+	@Benchmark
+	public boolean ledger() {
+		String slotId = nextSlot();
+		if (ledger.tryReserve(day, slotId) != CapacityLedger.Reservation.RESERVED) {
+			return false;
+		}
+		ledger.release(day, slotId);
+		return true;
+	}
+
+	@Benchmark
+	public boolean semaphores() {
+		String slotId = nextSlot();
+		if (!semaphores.tryReserve(day, slotId)) {
+			return false;
+		}
+		semaphores.release(day, slotId);
+		return true;
+	}
+
+	private String nextSlot() {
+		return slotIds[ThreadLocalRandom.current().nextInt(slotIds.length)];
+	}
+
+	// Baseline: the acquisition/rollback sequence BookingService used before the ledger
+	private static final class SemaphoreCapacity {
+		private final BusinessProperties properties;
+		private final Map<String, Semaphore> perSlot = new ConcurrentHashMap<>();
+		private final Map<LocalDate, Semaphore> perDay = new ConcurrentHashMap<>();
+
+		SemaphoreCapacity(BusinessProperties properties) {
+			this.properties = properties;
+		}
+
+		boolean tryReserve(LocalDate day, String slotId) {
+			Semaphore slot = perSlot.computeIfAbsent(slotId, id -> new Semaphore(properties.getTimeslotCapacity()));
+			Semaphore daily = perDay.computeIfAbsent(day, d -> new Semaphore(properties.getDailyCapacity()));
+			if (!daily.tryAcquire()) {
+				return false;
+			}
+			if (!slot.tryAcquire()) {
+				daily.release();
+				return false;
+			}
+			return true;
+		}
+
+		void release(LocalDate day, String slotId) {
+			perSlot.get(slotId).release();
+			perDay.get(day).release();
+		}
+	}
+}
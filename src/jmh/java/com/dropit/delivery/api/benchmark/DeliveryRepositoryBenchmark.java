@@ -0,0 +1,77 @@
+package com.dropit.delivery.api.benchmark;
+
+import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.domain.model.DeliveryStatus;
+import com.dropit.delivery.api.domain.repository.DeliveryCursor;
+import com.dropit.delivery.api.domain.repository.DeliveryRepository;
+import com.dropit.delivery.api.domain.repository.InMemoryDeliveryRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Daily and weekly queries over a repository whose deliveries are spread across
+ * {@code days} days, so the result size stays fixed while the repository grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DeliveryRepositoryBenchmark {
+	private static final DeliveryStatus[] STATUSES = DeliveryStatus.values();
+
+	@Param({"10000", "100000", "1000000"})
+	public int repositorySize;
+
+	@Param({"365"})
+	public int days;
+
+	private DeliveryRepository repository;
+	private final LocalDate today = LocalDate.now();
+	private DeliveryCursor midWeek;
+
+	@Setup
+	public void setup() {
+		repository = new InMemoryDeliveryRepository();
+		LocalDateTime origin = today.minusDays(days / 2).atTime(9, 0);
+		for (int i = 0; i < repositorySize; i++) {
+			repository.save(Delivery.builder()
+					.user("user-" + (i % 1000) + "@example.com")
+					.timeslotId("ts-" + (i % 50))
+					.status(STATUSES[i % STATUSES.length])
+					.createdAt(origin.plusDays(i % days).plusMinutes(i % 600))
+					.build());
+		}
+		List<Delivery> week = repository.findByWeek(today);
+		week.sort(Comparator.comparing(DeliveryCursor::of));
+		midWeek = DeliveryCursor.of(week.get(week.size() / 2));
+	}
+
+	@Benchmark
+	public List<Delivery> findByWeek() {
+		return repository.findByWeek(today);
+	}
+
+	@Benchmark
+	public List<Delivery> findByDate() {
+		return repository.findByDate(today);
+	}
+
+	// A page deep into the week should cost the same as the first one
+	@Benchmark
+	public List<Delivery> findPageMidWeek() {
+		LocalDate weekStart = today.with(DayOfWeek.MONDAY);
+		return repository.findPageCreatedBetween(weekStart, weekStart.plusDays(7), midWeek, 100);
+	}
+}
@@ -0,0 +1,84 @@
+package com.dropit.delivery.api.benchmark;
+
+import com.dropit.delivery.api.api.dto.AddressDTO;
+import com.dropit.delivery.api.application.service.CapacityLedger;
+import com.dropit.delivery.api.application.service.TimeslotService;
+import com.dropit.delivery.api.domain.model.Timeslot;
+import com.dropit.delivery.api.domain.repository.InMemoryTimeslotRepository;
+import com.dropit.delivery.api.domain.repository.TimeslotRepository;
+import com.dropit.delivery.api.infrastructure.client.HolidayClient;
+import com.dropit.delivery.api.infrastructure.client.HttpTransportFactory;
+import com.dropit.delivery.api.infrastructure.client.OutboundExecutor;
+import com.dropit.delivery.api.infrastructure.config.BusinessProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timeslot availability lookups against catalogs of increasing size. Holidays are disabled
+ * (no API key), so the numbers cover the eligibility index and the outbound executor hop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TimeslotServiceBenchmark {
+	private static final String[] COUNTRIES = {"IL", "US", "DE", "FR"};
+	private static final String[] CITIES = {"Tel Aviv", "Jerusalem", "Haifa", "New York", "Berlin", "Paris"};
+
+	@Param({"100", "1000", "10000"})
+	public int timeslotCount;
+
+	private TimeslotService timeslotService;
+	private OutboundExecutor outboundExecutor;
+	private AddressDTO address;
+
+	@Setup
+	public void setup() {
+		TimeslotRepository repository = new InMemoryTimeslotRepository();
+		LocalDateTime start = LocalDate.now().atTime(8, 0);
+		List<Timeslot> slots = new ArrayList<>(timeslotCount);
+		for (int i = 0; i < timeslotCount; i++) {
+			LocalDateTime slotStart = start.plusHours(i % 2000);
+			// Every tenth slot serves any address
+			Set<String> countries = i % 10 == 0 ? Set.of() : Set.of(COUNTRIES[i % COUNTRIES.length]);
+			Set<String> cities = i % 10 == 0 ? Set.of() : Set.of(CITIES[i % CITIES.length]);
+			slots.add(new Timeslot("ts-" + i, slotStart, slotStart.plusHours(2), countries, Set.of(), cities));
+		}
+		repository.saveAll(slots);
+
+		outboundExecutor = new OutboundExecutor("bounded", 4, 256, 2000);
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		HolidayClient holidayClient = new HolidayClient("", "", outboundExecutor, null, new HttpTransportFactory(new StandardEnvironment(), meterRegistry), meterRegistry);
+		timeslotService = new TimeslotService(repository, holidayClient, new CapacityLedger(new BusinessProperties(10, 2)), outboundExecutor, meterRegistry);
+
+		address = new AddressDTO();
+		address.setCountry("IL");
+		address.setCity("Tel Aviv");
+		address.setPostcode("6688102");
+	}
+
+	@TearDown
+	public void tearDown() {
+		outboundExecutor.shutdown();
+	}
+
+	@Benchmark
+	public List<Timeslot> availableTimeslots() {
+		return timeslotService.availableTimeslots(address);
+	}
+}
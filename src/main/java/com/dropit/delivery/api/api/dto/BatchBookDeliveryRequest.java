@@ -0,0 +1,36 @@
+package com.dropit.delivery.api.api.dto;
+
+import com.dropit.delivery.api.domain.model.BatchMode;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Request to book several deliveries in one call")
+public class BatchBookDeliveryRequest {
+
+	@Schema(
+		description = "ATOMIC books every item or none; BEST_EFFORT books what fits and reports the rest",
+		example = "ATOMIC",
+		defaultValue = "ATOMIC"
+	)
+	@NotNull(message = "Mode is required")
+	private BatchMode mode = BatchMode.ATOMIC;
+
+	@Schema(
+		description = "Bookings to create, results are returned in the same order",
+		required = true
+	)
+	@Valid
+	@NotEmpty(message = "Items are required")
+	@Size(max = 5000, message = "At most 5000 items per batch")
+	private List<BookDeliveryRequest> items;
+
+	public BatchMode getMode() { return mode; }
+	public void setMode(BatchMode mode) { this.mode = mode; }
+	public List<BookDeliveryRequest> getItems() { return items; }
+	public void setItems(List<BookDeliveryRequest> items) { this.items = items; }
+}
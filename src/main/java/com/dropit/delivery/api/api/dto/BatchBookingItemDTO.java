@@ -0,0 +1,33 @@
+package com.dropit.delivery.api.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a single item of a batch booking")
+public class BatchBookingItemDTO {
+
+	@Schema(description = "Position of the item in the request", example = "0")
+	private int index;
+
+	@Schema(description = "Whether the item was booked", example = "true")
+	private boolean booked;
+
+	@Schema(description = "Created delivery, present when booked")
+	private DeliveryDTO delivery;
+
+	@Schema(description = "Error code, present when rejected", example = "TIMESLOT_CAPACITY_REACHED")
+	private String error;
+
+	@Schema(description = "Error message, present when rejected", example = "timeslot capacity reached")
+	private String message;
+
+	public int getIndex() { return index; }
+	public void setIndex(int index) { this.index = index; }
+	public boolean isBooked() { return booked; }
+	public void setBooked(boolean booked) { this.booked = booked; }
+	public DeliveryDTO getDelivery() { return delivery; }
+	public void setDelivery(DeliveryDTO delivery) { this.delivery = delivery; }
+	public String getError() { return error; }
+	public void setError(String error) { this.error = error; }
+	public String getMessage() { return message; }
+	public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,24 @@
+package com.dropit.delivery.api.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Request to resolve several free-text addresses in one call")
+public class BatchResolveAddressRequest {
+
+	@Schema(
+		description = "Free-text addresses to resolve; duplicates are resolved once and results keep the input order",
+		example = "[\"Rothschild Boulevard 12, Tel Aviv, Israel\", \"Jaffa Street 1, Jerusalem\"]",
+		required = true
+	)
+	@NotEmpty(message = "Search terms are required")
+	@Size(max = 1000, message = "At most 1000 search terms per batch")
+	private List<@NotBlank(message = "Search term is required") String> searchTerms;
+
+	public List<String> getSearchTerms() { return searchTerms; }
+	public void setSearchTerms(List<String> searchTerms) { this.searchTerms = searchTerms; }
+}
@@ -2,6 +2,7 @@ package com.dropit.delivery.api.api.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 @Schema(description = "Request to book a delivery in a specific timeslot")
 public class BookDeliveryRequest {
@@ -12,6 +13,7 @@ public class BookDeliveryRequest {
 		required = true
 	)
 	@NotBlank(message = "User is required")
+	@Size(max = 255, message = "User must be at most 255 characters")
 	private String user;
 	
 	@Schema(
@@ -20,6 +22,7 @@ public class BookDeliveryRequest {
 		required = true
 	)
 	@NotBlank(message = "Timeslot ID is required")
+	@Size(max = 64, message = "Timeslot ID must be at most 64 characters")
 	private String timeslotId;
 
 	public String getUser() { return user; }
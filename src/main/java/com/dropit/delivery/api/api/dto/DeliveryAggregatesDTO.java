@@ -0,0 +1,54 @@
+package com.dropit.delivery.api.api.dto;
+
+import com.dropit.delivery.api.domain.model.DeliveryStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Schema(description = "Delivery counts for a day or a week")
+public class DeliveryAggregatesDTO {
+
+	@Schema(
+		description = "First creation date counted",
+		example = "2025-10-27"
+	)
+	private LocalDate from;
+
+	@Schema(
+		description = "Last creation date counted (inclusive)",
+		example = "2025-11-02"
+	)
+	private LocalDate to;
+
+	@Schema(
+		description = "All deliveries created in the range",
+		example = "12"
+	)
+	private long total;
+
+	@Schema(
+		description = "Deliveries not cancelled (the ones counting against daily capacity)",
+		example = "10"
+	)
+	private long active;
+
+	@Schema(description = "Deliveries per status; every status is listed")
+	private Map<DeliveryStatus, Long> byStatus;
+
+	@Schema(description = "Deliveries per timeslot and status; only non-zero counts are listed")
+	private Map<String, Map<DeliveryStatus, Long>> byTimeslot;
+
+	public LocalDate getFrom() { return from; }
+	public void setFrom(LocalDate from) { this.from = from; }
+	public LocalDate getTo() { return to; }
+	public void setTo(LocalDate to) { this.to = to; }
+	public long getTotal() { return total; }
+	public void setTotal(long total) { this.total = total; }
+	public long getActive() { return active; }
+	public void setActive(long active) { this.active = active; }
+	public Map<DeliveryStatus, Long> getByStatus() { return byStatus; }
+	public void setByStatus(Map<DeliveryStatus, Long> byStatus) { this.byStatus = byStatus; }
+	public Map<String, Map<DeliveryStatus, Long>> getByTimeslot() { return byTimeslot; }
+	public void setByTimeslot(Map<String, Map<DeliveryStatus, Long>> byTimeslot) { this.byTimeslot = byTimeslot; }
+}
@@ -3,6 +3,8 @@ package com.dropit.delivery.api.api.dto;
 import com.dropit.delivery.api.domain.model.DeliveryStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.time.LocalDateTime;
+
 @Schema(description = "Delivery information response")
 public class DeliveryDTO {
 	
@@ -31,6 +33,12 @@ public class DeliveryDTO {
 	)
 	private DeliveryStatus status;
 
+	@Schema(
+		description = "When the delivery was booked",
+		example = "2025-10-28T08:15:30"
+	)
+	private LocalDateTime createdAt;
+
 	public String getId() { return id; }
 	public void setId(String id) { this.id = id; }
 	public String getUser() { return user; }
@@ -39,4 +47,6 @@ public class DeliveryDTO {
 	public void setTimeslotId(String timeslotId) { this.timeslotId = timeslotId; }
 	public DeliveryStatus getStatus() { return status; }
 	public void setStatus(DeliveryStatus status) { this.status = status; }
+	public LocalDateTime getCreatedAt() { return createdAt; }
+	public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
@@ -0,0 +1,58 @@
+package com.dropit.delivery.api.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Outcome of a timeslot catalog reload")
+public class TimeslotCatalogDTO {
+
+	@Schema(
+		description = "Where the catalog was read from",
+		example = "/etc/delivery/courier_timeslots.json"
+	)
+	private String source;
+
+	@Schema(
+		description = "Whether the new catalog was swapped in; when false the previous catalog is still served",
+		example = "true"
+	)
+	private boolean loaded;
+
+	@Schema(
+		description = "Timeslots in the catalog now being served",
+		example = "42"
+	)
+	private int timeslots;
+
+	@Schema(
+		description = "Catalog version now being served",
+		example = "3"
+	)
+	private long version;
+
+	@Schema(
+		description = "Why the catalog could not be loaded (absent on success)",
+		example = "No valid timeslots found"
+	)
+	private String error;
+
+	@Schema(
+		description = "When the reload finished",
+		example = "2025-10-30T14:23:45.123Z"
+	)
+	private Instant completedAt;
+
+	public String getSource() { return source; }
+	public void setSource(String source) { this.source = source; }
+	public boolean isLoaded() { return loaded; }
+	public void setLoaded(boolean loaded) { this.loaded = loaded; }
+	public int getTimeslots() { return timeslots; }
+	public void setTimeslots(int timeslots) { this.timeslots = timeslots; }
+	public long getVersion() { return version; }
+	public void setVersion(long version) { this.version = version; }
+	public String getError() { return error; }
+	public void setError(String error) { this.error = error; }
+	public Instant getCompletedAt() { return completedAt; }
+	public void setCompletedAt(Instant completedAt) { this.completedAt = completedAt; }
+}
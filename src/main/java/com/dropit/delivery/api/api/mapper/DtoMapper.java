@@ -1,12 +1,20 @@
 package com.dropit.delivery.api.api.mapper;
 
 import com.dropit.delivery.api.api.dto.AddressDTO;
+import com.dropit.delivery.api.api.dto.BatchBookingItemDTO;
+import com.dropit.delivery.api.api.dto.DeliveryAggregatesDTO;
 import com.dropit.delivery.api.api.dto.DeliveryDTO;
+import com.dropit.delivery.api.api.dto.TimeslotCatalogDTO;
+import com.dropit.delivery.api.application.service.BookingResult;
+import com.dropit.delivery.api.application.service.CatalogReload;
+import com.dropit.delivery.api.application.service.TimeslotAvailability;
 import com.dropit.delivery.api.domain.model.Address;
 import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.domain.model.DeliveryCounts;
 import com.dropit.delivery.api.domain.model.Timeslot;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Component
@@ -37,6 +45,41 @@ public class DtoMapper {
 		dto.setTimeslotId(delivery.getTimeslotId());
 		dto.setUser(delivery.getUser());
 		dto.setStatus(delivery.getStatus());
+		dto.setCreatedAt(delivery.getCreatedAt());
+		return dto;
+	}
+
+	public DeliveryAggregatesDTO toDto(DeliveryCounts counts) {
+		DeliveryAggregatesDTO dto = new DeliveryAggregatesDTO();
+		dto.setFrom(counts.getFrom());
+		dto.setTo(counts.getTo());
+		dto.setTotal(counts.getTotal());
+		dto.setActive(counts.getActive());
+		dto.setByStatus(counts.getByStatus());
+		dto.setByTimeslot(counts.getByTimeslot());
+		return dto;
+	}
+
+	public TimeslotCatalogDTO toDto(CatalogReload reload) {
+		TimeslotCatalogDTO dto = new TimeslotCatalogDTO();
+		dto.setSource(reload.getSource());
+		dto.setLoaded(reload.isLoaded());
+		dto.setTimeslots(reload.getTimeslots());
+		dto.setVersion(reload.getVersion());
+		dto.setError(reload.getError());
+		dto.setCompletedAt(reload.getCompletedAt());
+		return dto;
+	}
+
+	public BatchBookingItemDTO toDto(BookingResult result, int index) {
+		BatchBookingItemDTO dto = new BatchBookingItemDTO();
+		dto.setIndex(index);
+		dto.setBooked(result.isBooked());
+		dto.setDelivery(toDto(result.getDelivery()));
+		if (result.getError() != null) {
+			dto.setError(result.getError().name());
+			dto.setMessage(result.getMessage());
+		}
 		return dto;
 	}
 
@@ -50,5 +93,16 @@ public class DtoMapper {
 				"startTime", timeslot.getStartTime().toString(),
 				"endTime", timeslot.getEndTime().toString());
 	}
-}
 
+	public Map<String, Object> toTimeslotMap(TimeslotAvailability availability) {
+		if (availability == null) {
+			return Map.of();
+		}
+
+		Map<String, Object> map = new LinkedHashMap<>(toTimeslotMap(availability.getTimeslot()));
+		if (availability.isRemainingCapacityKnown()) {
+			map.put("remainingCapacity", availability.getRemainingCapacity());
+		}
+		return map;
+	}
+}
@@ -2,6 +2,7 @@ package com.dropit.delivery.api.api.web.controller;
 
 import com.dropit.delivery.api.infrastructure.client.AddressResolverClient;
 import com.dropit.delivery.api.api.dto.AddressDTO;
+import com.dropit.delivery.api.api.dto.BatchResolveAddressRequest;
 import com.dropit.delivery.api.api.dto.ResolveAddressRequest;
 import com.dropit.delivery.api.api.mapper.DtoMapper;
 import com.dropit.delivery.api.domain.model.Address;
@@ -17,6 +18,8 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @Tag(
 	name = "Addresses",
@@ -120,5 +123,74 @@ public class AddressController {
 
 		return mapper.toDto(address);
 	}
-}
 
+	@Operation(
+		summary = "Resolve many free-text addresses",
+		description = """
+			Resolves a list of free-text addresses in one call.
+			
+			**How it works:**
+			1. Duplicate search terms are resolved only once
+			2. Terms are resolved concurrently, with a bounded number of parallel calls to the geocoding service
+			3. Any item the geocoding service cannot resolve falls back to naive string parsing
+			
+			Results are returned in the same order as the input, one per search term.
+			""",
+		requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+			description = "Free-text addresses to resolve",
+			required = true,
+			content = @Content(
+				mediaType = "application/json",
+				schema = @Schema(implementation = BatchResolveAddressRequest.class),
+				examples = @ExampleObject(
+					value = """
+						{
+						  "searchTerms": [
+						    "Rothschild Boulevard 12, Tel Aviv, Israel",
+						    "Jaffa Street 1, Jerusalem"
+						  ]
+						}
+						"""
+				)
+			)
+		)
+	)
+	@ApiResponses({
+		@ApiResponse(
+			responseCode = "200",
+			description = "Addresses resolved, in input order",
+			content = @Content(
+				mediaType = "application/json",
+				examples = @ExampleObject(
+					value = """
+						[
+						  {
+						    "street": "Rothschild Boulevard",
+						    "line1": "12",
+						    "line2": "",
+						    "country": "IL",
+						    "postcode": "6688102",
+						    "city": "Tel Aviv"
+						  },
+						  {
+						    "street": "Jaffa Street",
+						    "line1": "1",
+						    "line2": "",
+						    "country": "IL",
+						    "postcode": "",
+						    "city": "Jerusalem"
+						  }
+						]
+						"""
+				)
+			)
+		),
+		@ApiResponse(responseCode = "400", description = "Invalid request (validation error)")
+	})
+	@PostMapping("/resolve-address/batch")
+	public List<AddressDTO> resolveBatch(@Valid @RequestBody BatchResolveAddressRequest request) {
+		return addressResolverClient.resolveAll(request.getSearchTerms()).stream()
+				.map(mapper::toDto)
+				.toList();
+	}
+}
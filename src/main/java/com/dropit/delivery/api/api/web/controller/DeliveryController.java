@@ -1,11 +1,22 @@
 package com.dropit.delivery.api.api.web.controller;
 
+import com.dropit.delivery.api.api.dto.BatchBookDeliveryRequest;
+import com.dropit.delivery.api.api.dto.BatchBookingItemDTO;
 import com.dropit.delivery.api.api.dto.BookDeliveryRequest;
+import com.dropit.delivery.api.api.dto.DeliveryAggregatesDTO;
 import com.dropit.delivery.api.api.dto.DeliveryDTO;
 import com.dropit.delivery.api.api.mapper.DtoMapper;
 import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.application.service.BookingCommand;
+import com.dropit.delivery.api.application.service.BookingResult;
+import com.dropit.delivery.api.application.service.DeliveryPage;
 import com.dropit.delivery.api.application.service.IBookingService;
 import com.dropit.delivery.api.application.service.IQueryService;
+import com.dropit.delivery.api.application.service.IdempotentBookingService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,18 +26,28 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.IntStream;
 
 @RestController
 @RequestMapping("/deliveries")
@@ -35,14 +56,25 @@ import java.util.List;
 	description = "Endpoints for managing delivery bookings, completions, and cancellations"
 )
 public class DeliveryController {
+	private static final String NDJSON = "application/x-ndjson";
+	private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+	private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
 	private final IBookingService bookingService;
 	private final IQueryService queryService;
+	private final IdempotentBookingService idempotentBookingService;
 	private final DtoMapper mapper;
+	private final ObjectWriter exportWriter;
 
-	public DeliveryController(IBookingService bookingService, IQueryService queryService, DtoMapper mapper) {
+	public DeliveryController(IBookingService bookingService, IQueryService queryService,
+			IdempotentBookingService idempotentBookingService, DtoMapper mapper, ObjectMapper objectMapper) {
 		this.bookingService = bookingService;
 		this.queryService = queryService;
+		this.idempotentBookingService = idempotentBookingService;
 		this.mapper = mapper;
+		// Flushing after every row would send one chunk per delivery; let the buffers fill instead
+		this.exportWriter = objectMapper.writerFor(DeliveryDTO.class)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
 	}
 
 	@Operation(
@@ -56,6 +88,10 @@ public class DeliveryController {
 			- Timeslot capacity must not be exceeded
 			- The timeslot must support the user's address (checked separately via /timeslots endpoint)
 			
+			**Retries:** send an `Idempotency-Key` header to make retries safe. A repeated key returns
+			the delivery booked with it (even while the first request is still running) instead of
+			booking again; reusing a key for a different user or timeslot returns 409.
+			
 			**Returns:** The created delivery with status PENDING
 			""",
 		requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
@@ -89,7 +125,8 @@ public class DeliveryController {
 						  "id": "d1f8e9a3-4b2c-4d5e-8f6a-7b8c9d0e1f2a",
 						  "user": "john.doe@example.com",
 						  "timeslotId": "ts-2025-10-30-morning",
-						  "status": "PENDING"
+						  "status": "PENDING",
+						  "createdAt": "2025-10-28T08:15:30"
 						}
 						"""
 				)
@@ -114,7 +151,7 @@ public class DeliveryController {
 		),
 		@ApiResponse(
 			responseCode = "409",
-			description = "Capacity limit reached",
+			description = "Capacity limit reached, or idempotency key reused for a different booking",
 			content = @Content(
 				mediaType = "application/json",
 				examples = @ExampleObject(
@@ -150,15 +187,22 @@ public class DeliveryController {
 		)
 	})
 	@PostMapping
-	public ResponseEntity<DeliveryDTO> book(@Valid @RequestBody BookDeliveryRequest request) {
+	public ResponseEntity<DeliveryDTO> book(
+		@Parameter(description = "Client-chosen key making retries safe: the same key returns the delivery first booked with it")
+		@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+		@Valid @RequestBody BookDeliveryRequest request
+	) {
 		// @Valid + @RequestBody ensures request is not null and validated
-		Delivery delivery = bookingService.book(request.getUser(), request.getTimeslotId());
-		
-		if (delivery == null) {
-			throw new RuntimeException("Booking failed");
+		DeliveryDTO dto;
+		if (idempotencyKey != null) {
+			dto = idempotentBookingService.book(idempotencyKey, request.getUser(), request.getTimeslotId());
+		} else {
+			Delivery delivery = bookingService.book(request.getUser(), request.getTimeslotId());
+			if (delivery == null) {
+				throw new RuntimeException("Booking failed");
+			}
+			dto = mapper.toDto(delivery);
 		}
-
-		DeliveryDTO dto = mapper.toDto(delivery);
 		
 		// Build Location header URI: /deliveries/{id}
 		URI location = ServletUriComponentsBuilder
@@ -171,6 +215,87 @@ public class DeliveryController {
 		return ResponseEntity.created(location).body(dto);
 	}
 
+	@Operation(
+		summary = "Book deliveries in bulk",
+		description = """
+			Books many deliveries in one call. Requests are grouped by timeslot and day so capacity
+			is reserved once per group instead of once per delivery.
+			
+			**Modes:**
+			- ATOMIC (default): every item is booked or none is; the first failure is returned as 404/409
+			- BEST_EFFORT: items are booked while capacity lasts; rejected items carry their error code
+			
+			**Returns:** One result per item, in request order
+			""",
+		requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+			description = "Batch of bookings and the batch mode",
+			required = true,
+			content = @Content(
+				mediaType = "application/json",
+				schema = @Schema(implementation = BatchBookDeliveryRequest.class),
+				examples = @ExampleObject(
+					name = "Best-effort batch",
+					value = """
+						{
+						  "mode": "BEST_EFFORT",
+						  "items": [
+						    { "user": "john.doe@example.com", "timeslotId": "ts-2025-10-30-morning" },
+						    { "user": "jane.smith@example.com", "timeslotId": "ts-2025-10-30-morning" }
+						  ]
+						}
+						"""
+				)
+			)
+		)
+	)
+	@ApiResponses({
+		@ApiResponse(
+			responseCode = "200",
+			description = "Per-item booking results",
+			content = @Content(
+				mediaType = "application/json",
+				examples = @ExampleObject(
+					value = """
+						[
+						  {
+						    "index": 0,
+						    "booked": true,
+						    "delivery": {
+						      "id": "d1f8e9a3-4b2c-4d5e-8f6a-7b8c9d0e1f2a",
+						      "user": "john.doe@example.com",
+						      "timeslotId": "ts-2025-10-30-morning",
+						      "status": "PENDING",
+						      "createdAt": "2025-10-28T08:15:30"
+						    }
+						  },
+						  {
+						    "index": 1,
+						    "booked": false,
+						    "error": "TIMESLOT_CAPACITY_REACHED",
+						    "message": "timeslot capacity reached"
+						  }
+						]
+						"""
+				)
+			)
+		),
+		@ApiResponse(responseCode = "404", description = "ATOMIC mode: a timeslot was not found"),
+		@ApiResponse(responseCode = "409", description = "ATOMIC mode: capacity limit reached"),
+		@ApiResponse(responseCode = "400", description = "Invalid request (validation error)")
+	})
+	@PostMapping("/batch")
+	public List<BatchBookingItemDTO> bookBatch(@Valid @RequestBody BatchBookDeliveryRequest request) {
+		List<BookingCommand> commands = request.getItems().stream()
+				.map(item -> new BookingCommand(item.getUser(), item.getTimeslotId()))
+				.toList();
+
+		List<BookingResult> results = bookingService.bookAll(commands, request.getMode());
+
+		return IntStream.range(0, results.size())
+				.mapToObj(index -> mapper.toDto(results.get(index), index))
+				.toList();
+	}
+
 	@Operation(
 		summary = "Complete a delivery",
 		description = "Marks a delivery as completed. Idempotent - calling multiple times has no side effect."
@@ -188,7 +313,8 @@ public class DeliveryController {
 						  "id": "d1f8e9a3-4b2c-4d5e-8f6a-7b8c9d0e1f2a",
 						  "user": "john.doe@example.com",
 						  "timeslotId": "ts-2025-10-30-morning",
-						  "status": "COMPLETED"
+						  "status": "COMPLETED",
+						  "createdAt": "2025-10-28T08:15:30"
 						}
 						"""
 				)
@@ -270,12 +396,18 @@ public class DeliveryController {
 
 	@Operation(
 		summary = "Get today's deliveries",
-		description = "Retrieves all deliveries scheduled for today (based on server time)."
+		description = """
+			Retrieves deliveries created today (based on server time), ordered by creation time.
+			
+			**Pagination:** results are paged. When more results exist the response carries an
+			`X-Next-Cursor` header and a `Link: <...>; rel="next"` header; pass the cursor back as
+			`cursor` to get the next page. Cursors stay valid while new deliveries are booked.
+			"""
 	)
 	@ApiResponses({
 		@ApiResponse(
 			responseCode = "200",
-			description = "List of today's deliveries (may be empty)",
+			description = "One page of today's deliveries (may be empty)",
 			content = @Content(
 				mediaType = "application/json",
 				schema = @Schema(implementation = DeliveryDTO.class),
@@ -286,13 +418,15 @@ public class DeliveryController {
 						    "id": "d1f8e9a3-4b2c-4d5e-8f6a-7b8c9d0e1f2a",
 						    "user": "john.doe@example.com",
 						    "timeslotId": "ts-2025-10-30-morning",
-						    "status": "PENDING"
+						    "status": "PENDING",
+						    "createdAt": "2025-10-28T08:15:30"
 						  },
 						  {
 						    "id": "e2g9f0b4-5c3d-5e6f-9g7b-8c9d0e1f2b3a",
 						    "user": "jane.smith@example.com",
 						    "timeslotId": "ts-2025-10-30-afternoon",
-						    "status": "COMPLETED"
+						    "status": "COMPLETED",
+						    "createdAt": "2025-10-28T08:15:30"
 						  }
 						]
 						"""
@@ -301,18 +435,27 @@ public class DeliveryController {
 		)
 	})
 	@GetMapping("/daily")
-	public List<DeliveryDTO> today() { 
-		return queryService.today(); 
+	public ResponseEntity<List<DeliveryDTO>> today(
+		@Parameter(description = "Cursor from the previous page's X-Next-Cursor header; omit for the first page")
+		@RequestParam(value = "cursor", required = false) String cursor,
+		@Parameter(description = "Page size (defaults to the configured page size, capped at the maximum)", example = "100")
+		@RequestParam(value = "limit", required = false) Integer limit
+	) {
+		return pageResponse(queryService.today(cursor, limit));
 	}
 
 	@Operation(
 		summary = "Get this week's deliveries",
-		description = "Retrieves all deliveries scheduled for the current week (Monday to Sunday)."
+		description = """
+			Retrieves deliveries created in the current week (Monday to Sunday), ordered by creation time.
+			
+			Paged the same way as the daily listing (`cursor`, `limit`, `X-Next-Cursor` and `Link` headers).
+			"""
 	)
 	@ApiResponses({
 		@ApiResponse(
 			responseCode = "200",
-			description = "List of this week's deliveries (may be empty)",
+			description = "One page of this week's deliveries (may be empty)",
 			content = @Content(
 				mediaType = "application/json",
 				schema = @Schema(implementation = DeliveryDTO.class),
@@ -323,13 +466,15 @@ public class DeliveryController {
 						    "id": "d1f8e9a3-4b2c-4d5e-8f6a-7b8c9d0e1f2a",
 						    "user": "john.doe@example.com",
 						    "timeslotId": "ts-2025-10-28-morning",
-						    "status": "COMPLETED"
+						    "status": "COMPLETED",
+						    "createdAt": "2025-10-28T08:15:30"
 						  },
 						  {
 						    "id": "e2g9f0b4-5c3d-5e6f-9g7b-8c9d0e1f2b3a",
 						    "user": "jane.smith@example.com",
 						    "timeslotId": "ts-2025-10-30-afternoon",
-						    "status": "PENDING"
+						    "status": "PENDING",
+						    "createdAt": "2025-10-28T08:15:30"
 						  }
 						]
 						"""
@@ -338,7 +483,154 @@ public class DeliveryController {
 		)
 	})
 	@GetMapping("/weekly")
-	public List<DeliveryDTO> weekly() { 
-		return queryService.weekly(); 
+	public ResponseEntity<List<DeliveryDTO>> weekly(
+		@Parameter(description = "Cursor from the previous page's X-Next-Cursor header; omit for the first page")
+		@RequestParam(value = "cursor", required = false) String cursor,
+		@Parameter(description = "Page size (defaults to the configured page size, capped at the maximum)", example = "100")
+		@RequestParam(value = "limit", required = false) Integer limit
+	) {
+		return pageResponse(queryService.weekly(cursor, limit));
+	}
+
+	// The body stays a plain array; the next page is advertised in headers
+	private ResponseEntity<List<DeliveryDTO>> pageResponse(DeliveryPage page) {
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		if (page.getNextCursor() != null) {
+			URI next = ServletUriComponentsBuilder.fromCurrentRequest()
+					.replaceQueryParam("cursor", page.getNextCursor())
+					.build()
+					.toUri();
+			response.header(NEXT_CURSOR_HEADER, page.getNextCursor())
+					.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+		}
+		return response.body(page.getItems());
+	}
+
+	@Operation(
+		summary = "Get delivery counts for a day",
+		description = """
+			Counts deliveries created on the given day (default: today) per status and per timeslot.
+			
+			Served from counters updated on every booking, completion and cancellation, so the cost
+			does not grow with the number of deliveries. `active` equals the count used for daily capacity.
+			"""
+	)
+	@ApiResponses({
+		@ApiResponse(
+			responseCode = "200",
+			description = "Counts for the day",
+			content = @Content(
+				mediaType = "application/json",
+				schema = @Schema(implementation = DeliveryAggregatesDTO.class),
+				examples = @ExampleObject(
+					value = """
+						{
+						  "from": "2025-10-28",
+						  "to": "2025-10-28",
+						  "total": 3,
+						  "active": 2,
+						  "byStatus": { "PENDING": 1, "COMPLETED": 1, "CANCELLED": 1 },
+						  "byTimeslot": {
+						    "ts-2025-10-30-morning": { "PENDING": 1, "CANCELLED": 1 },
+						    "ts-2025-10-30-afternoon": { "COMPLETED": 1 }
+						  }
+						}
+						"""
+				)
+			)
+		),
+		@ApiResponse(responseCode = "400", description = "Invalid date")
+	})
+	@GetMapping("/aggregates/daily")
+	public DeliveryAggregatesDTO dailyAggregates(
+		@Parameter(description = "Creation date (defaults to today)", example = "2025-10-28")
+		@RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+	) {
+		return queryService.dailyAggregates(date);
+	}
+
+	@Operation(
+		summary = "Get delivery counts for a week",
+		description = "Same as the daily counts, for Monday to Sunday of the week containing `date` (default: this week)."
+	)
+	@ApiResponses({
+		@ApiResponse(
+			responseCode = "200",
+			description = "Counts for the week",
+			content = @Content(
+				mediaType = "application/json",
+				schema = @Schema(implementation = DeliveryAggregatesDTO.class)
+			)
+		),
+		@ApiResponse(responseCode = "400", description = "Invalid date")
+	})
+	@GetMapping("/aggregates/weekly")
+	public DeliveryAggregatesDTO weeklyAggregates(
+		@Parameter(description = "Any day of the week (defaults to today)", example = "2025-10-28")
+		@RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+	) {
+		return queryService.weeklyAggregates(date);
+	}
+
+	@Operation(
+		summary = "Export deliveries for a date range",
+		description = """
+			Streams every delivery created between `from` and `to` (both inclusive) as
+			newline-delimited JSON, one delivery per line.
+			
+			Rows are written as they are read from storage, so memory use does not depend on the
+			size of the range. Intended for analytics jobs; an empty range returns an empty body.
+			"""
+	)
+	@ApiResponses({
+		@ApiResponse(
+			responseCode = "200",
+			description = "One JSON delivery per line",
+			content = @Content(
+				mediaType = NDJSON,
+				examples = @ExampleObject(
+					value = """
+						{"id":"d1f8e9a3-4b2c-4d5e-8f6a-7b8c9d0e1f2a","user":"john.doe@example.com","timeslotId":"ts-2025-10-28-morning","status":"COMPLETED","createdAt":"2025-10-28T08:15:30"}
+						{"id":"e2g9f0b4-5c3d-5e6f-9g7b-8c9d0e1f2b3a","user":"jane.smith@example.com","timeslotId":"ts-2025-10-30-afternoon","status":"PENDING","createdAt":"2025-10-29T17:02:11"}
+						"""
+				)
+			)
+		),
+		@ApiResponse(responseCode = "400", description = "Missing or invalid dates, or 'to' before 'from'")
+	})
+	@GetMapping(value = "/export", produces = NDJSON)
+	public ResponseEntity<StreamingResponseBody> export(
+		@Parameter(description = "First creation date (inclusive)", example = "2025-10-01")
+		@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+		@Parameter(description = "Last creation date (inclusive)", example = "2025-10-31")
+		@RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+	) {
+		// Rejected before streaming starts, while an error status can still be sent
+		if (to.isBefore(from)) {
+			throw new IllegalArgumentException("'to' must not be before 'from'");
+		}
+		StreamingResponseBody body = out -> {
+			try (JsonGenerator generator = exportWriter.createGenerator(out)) {
+				// The container owns the response stream; one value per line, no separators
+				generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+				generator.setRootValueSeparator(null);
+				queryService.export(from, to, delivery -> writeLine(generator, delivery));
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+		};
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(NDJSON))
+				.body(body);
+	}
+
+	private void writeLine(JsonGenerator generator, DeliveryDTO delivery) {
+		try {
+			exportWriter.writeValue(generator, delivery);
+			generator.writeRaw('\n');
+		} catch (IOException e) {
+			// Usually the client went away; abort the repository scan
+			throw new UncheckedIOException(e);
+		}
 	}
 }
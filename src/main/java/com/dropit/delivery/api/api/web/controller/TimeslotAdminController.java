@@ -0,0 +1,88 @@
+package com.dropit.delivery.api.api.web.controller;
+
+import com.dropit.delivery.api.api.dto.TimeslotCatalogDTO;
+import com.dropit.delivery.api.api.mapper.DtoMapper;
+import com.dropit.delivery.api.application.service.CatalogReload;
+import com.dropit.delivery.api.application.service.TimeslotLoader;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// Off unless timeslots.admin.enabled=true: the endpoint is not authenticated, so only expose it
+// where the admin path is reachable by operators alone
+@RestController
+@ConditionalOnProperty(name = "timeslots.admin.enabled", havingValue = "true")
+@RequestMapping("/admin/timeslots")
+@Tag(
+	name = "Timeslot administration",
+	description = "Operational endpoints for the courier timeslot catalog"
+)
+public class TimeslotAdminController {
+	private final TimeslotLoader timeslotLoader;
+	private final DtoMapper mapper;
+
+	public TimeslotAdminController(TimeslotLoader timeslotLoader, DtoMapper mapper) {
+		this.timeslotLoader = timeslotLoader;
+		this.mapper = mapper;
+	}
+
+	@Operation(
+		summary = "Reload the timeslot catalog",
+		description = """
+			Reads the courier timeslot catalog again (`timeslots.catalog.file`, or the bundled
+			catalog when unset) and swaps it in as a whole: availability lookups and bookings
+			running meanwhile see either the old catalog or the new one.
+
+			A catalog that cannot be read or has no valid timeslots is rejected and the current
+			catalog keeps being served. Deliveries already booked are not touched, but a slot
+			moved to another day takes the seats of its bookings with it.
+
+			Only available with `timeslots.admin.enabled=true`.
+			"""
+	)
+	@ApiResponses({
+		@ApiResponse(
+			responseCode = "200",
+			description = "New catalog loaded",
+			content = @Content(
+				mediaType = "application/json",
+				schema = @Schema(implementation = TimeslotCatalogDTO.class),
+				examples = @ExampleObject(
+					value = """
+						{
+						  "source": "/etc/delivery/courier_timeslots.json",
+						  "loaded": true,
+						  "timeslots": 42,
+						  "version": 3,
+						  "completedAt": "2025-10-30T14:23:45.123Z"
+						}
+						"""
+				)
+			)
+		),
+		@ApiResponse(
+			responseCode = "422",
+			description = "Catalog rejected; the previous catalog is still served",
+			content = @Content(
+				mediaType = "application/json",
+				schema = @Schema(implementation = TimeslotCatalogDTO.class)
+			)
+		)
+	})
+	@PostMapping("/reload")
+	public ResponseEntity<TimeslotCatalogDTO> reload() {
+		CatalogReload reload = timeslotLoader.reload();
+		HttpStatus status = reload.isLoaded() ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_ENTITY;
+		return ResponseEntity.status(status).body(mapper.toDto(reload));
+	}
+}
@@ -2,8 +2,8 @@ package com.dropit.delivery.api.api.web.controller;
 
 import com.dropit.delivery.api.api.dto.TimeslotsRequest;
 import com.dropit.delivery.api.api.mapper.DtoMapper;
-import com.dropit.delivery.api.domain.model.Timeslot;
 import com.dropit.delivery.api.application.service.ITimeslotService;
+import com.dropit.delivery.api.application.service.TimeslotAvailability;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -46,12 +46,15 @@ public class TimeslotController {
 			- Only timeslots supporting the address postcode are returned (if configured)
 			- Only timeslots supporting the address city are returned (if configured)
 			- Timeslots on public holidays are excluded (based on country)
+			- Fully booked timeslots, or timeslots on a fully booked day, are excluded
 			- Past timeslots are included (no time-based filtering)
 			
 			**Use Case:** After resolving an address, use this endpoint to show available
 			delivery windows to the user before booking.
 			
-			**Returns:** List of timeslot objects with ID, start/end times, and location support info.
+			**Returns:** List of timeslot objects with ID, start/end times and `remainingCapacity`,
+			the seats still bookable within both the timeslot and the daily limit (omitted for
+			past days no longer tracked). Capacity can still run out before the booking is made.
 			""",
 		requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
 			description = "Address to check timeslot availability for",
@@ -91,17 +94,13 @@ public class TimeslotController {
 						    "id": "ts-2025-10-30-morning",
 						    "startTime": "2025-10-30T09:00:00",
 						    "endTime": "2025-10-30T12:00:00",
-						    "supportedCountries": ["IL", "US"],
-						    "supportedPostcodes": ["6688102", "6688103"],
-						    "supportedCities": ["Tel Aviv", "Ramat Gan"]
+						    "remainingCapacity": 2
 						  },
 						  {
 						    "id": "ts-2025-10-30-afternoon",
 						    "startTime": "2025-10-30T14:00:00",
 						    "endTime": "2025-10-30T18:00:00",
-						    "supportedCountries": ["IL"],
-						    "supportedPostcodes": ["6688102"],
-						    "supportedCities": ["Tel Aviv"]
+						    "remainingCapacity": 1
 						  }
 						]
 						"""
@@ -131,7 +130,7 @@ public class TimeslotController {
 	@PostMapping
 	public List<Object> getAvailableTimeslots(@Valid @RequestBody TimeslotsRequest request) {
 	
-		List<Timeslot> timeslots = timeslotService.availableTimeslots(request.getAddress());
+		List<TimeslotAvailability> timeslots = timeslotService.availability(request.getAddress());
 		
 		if (timeslots == null) {
 			return List.of();
@@ -9,8 +9,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.Instant;
 import java.util.HashMap;
@@ -69,6 +71,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(body);
     }
 
+	@ExceptionHandler({MissingServletRequestParameterException.class, MethodArgumentTypeMismatchException.class})
+	public ResponseEntity<Map<String, Object>> handleBadParameter(Exception ex) {
+		logger.warn("Invalid request parameter: {}", ex.getMessage());
+		Map<String, Object> body = createBaseErrorBody(HttpStatus.BAD_REQUEST);
+		body.put("message", ex.getMessage());
+		return ResponseEntity.badRequest().body(body);
+	}
+
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<Map<String, Object>> handleUnexpectedError(Exception ex) {
 		logger.error("Unexpected error occurred", ex);
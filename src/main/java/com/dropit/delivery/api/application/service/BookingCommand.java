@@ -0,0 +1,17 @@
+package com.dropit.delivery.api.application.service;
+
+/**
+ * Single booking request within a batch.
+ */
+public final class BookingCommand {
+	private final String user;
+	private final String timeslotId;
+
+	public BookingCommand(String user, String timeslotId) {
+		this.user = user;
+		this.timeslotId = timeslotId;
+	}
+
+	public String getUser() { return user; }
+	public String getTimeslotId() { return timeslotId; }
+}
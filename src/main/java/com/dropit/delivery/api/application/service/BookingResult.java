@@ -0,0 +1,32 @@
+package com.dropit.delivery.api.application.service;
+
+import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.infrastructure.exception.ErrorCode;
+
+/**
+ * Outcome of one item of a batch booking: either the created delivery or the reason it was rejected.
+ */
+public final class BookingResult {
+	private final Delivery delivery;
+	private final ErrorCode error;
+	private final String message;
+
+	private BookingResult(Delivery delivery, ErrorCode error, String message) {
+		this.delivery = delivery;
+		this.error = error;
+		this.message = message;
+	}
+
+	public static BookingResult booked(Delivery delivery) {
+		return new BookingResult(delivery, null, null);
+	}
+
+	public static BookingResult rejected(ErrorCode error, String message) {
+		return new BookingResult(null, error, message);
+	}
+
+	public boolean isBooked() { return delivery != null; }
+	public Delivery getDelivery() { return delivery; }
+	public ErrorCode getError() { return error; }
+	public String getMessage() { return message; }
+}
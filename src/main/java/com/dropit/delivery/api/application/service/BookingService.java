@@ -1,125 +1,400 @@
 package com.dropit.delivery.api.application.service;
 
+import com.dropit.delivery.api.domain.model.BatchMode;
 import com.dropit.delivery.api.domain.model.Delivery;
 import com.dropit.delivery.api.domain.model.DeliveryStatus;
+import com.dropit.delivery.api.domain.model.Timeslot;
 import com.dropit.delivery.api.domain.repository.DeliveryRepository;
 import com.dropit.delivery.api.domain.repository.TimeslotRepository;
-import com.dropit.delivery.api.infrastructure.config.BusinessProperties;
+import com.dropit.delivery.api.infrastructure.exception.ApiException;
 import com.dropit.delivery.api.infrastructure.exception.ConflictException;
 import com.dropit.delivery.api.infrastructure.exception.ErrorCode;
 import com.dropit.delivery.api.infrastructure.exception.NotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Semaphore;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
-public class BookingService implements IBookingService {
+public class BookingService implements IBookingService, SmartInitializingSingleton {
 	private final DeliveryRepository deliveryRepository;
 	private final TimeslotRepository timeslotRepository;
-	private final BusinessProperties businessProperties;
-	private final Map<String, Semaphore> perSlotSemaphores = new ConcurrentHashMap<>();
-	private final Map<LocalDate, Semaphore> perDaySemaphores = new ConcurrentHashMap<>();
+	private final CapacityLedger capacityLedger;
+	private final Timer bookTimer;
+	private final Timer batchTimer;
+	private final Timer cancelTimer;
+	private final Map<ErrorCode, Counter> rejections = new EnumMap<>(ErrorCode.class);
+	// Odd while a catalog swap runs; a booking that reserved across a change retries
+	private final AtomicLong catalogGeneration = new AtomicLong();
 
 	public BookingService(
-			DeliveryRepository deliveryRepository, 
-			TimeslotRepository timeslotRepository, 
-			BusinessProperties businessProperties) {
+			DeliveryRepository deliveryRepository,
+			TimeslotRepository timeslotRepository,
+			CapacityLedger capacityLedger,
+			MeterRegistry meterRegistry) {
 		this.deliveryRepository = deliveryRepository;
 		this.timeslotRepository = timeslotRepository;
-		this.businessProperties = businessProperties;
+		this.capacityLedger = capacityLedger;
+		this.capacityLedger.reseedWith(this::activeBookingsPerSlot);
+		this.bookTimer = operationTimer(meterRegistry, "book");
+		this.batchTimer = operationTimer(meterRegistry, "book_batch");
+		this.cancelTimer = operationTimer(meterRegistry, "cancel");
+		for (ErrorCode error : ErrorCode.values()) {
+			rejections.put(error, Counter.builder("delivery.booking.rejections")
+					.description("Bookings refused, by error code")
+					.tag("error", error.name())
+					.register(meterRegistry));
+		}
+	}
+
+	private static Timer operationTimer(MeterRegistry meterRegistry, String operation) {
+		return Timer.builder("delivery.booking")
+				.description("Latency of booking operations")
+				.tag("operation", operation)
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Deliveries restored at startup (e.g. replayed from the write-ahead log) already hold
+	 * capacity; load their counts into the ledger before the first booking arrives.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		LocalDate today = LocalDate.now();
+		Map<String, LocalDate> upcomingDays = new HashMap<>();
+		for (Timeslot timeslot : timeslotRepository.findAll()) {
+			LocalDate day = timeslot.getStartTime().toLocalDate();
+			if (!day.isBefore(today)) {
+				upcomingDays.put(timeslot.getId(), day);
+			}
+		}
+		// One aggregate over the upcoming slots instead of loading every delivery
+		Map<LocalDate, Map<String, Integer>> bookedPerDay = new HashMap<>();
+		deliveryRepository.countActiveByTimeslot(upcomingDays.keySet()).forEach((timeslotId, booked) ->
+				bookedPerDay.computeIfAbsent(upcomingDays.get(timeslotId), day -> new HashMap<>())
+						.put(timeslotId, Math.toIntExact(booked)));
+		bookedPerDay.forEach(capacityLedger::reconcile);
+	}
+
+	/**
+	 * Swaps in a new timeslot catalog and moves booked seats with it: a slot now on another day
+	 * takes its seats there, and a removed slot gives them up. Slots that kept their day are not
+	 * touched, so seats reserved meanwhile are never overwritten. Bookings wait while the swap
+	 * runs, and those that reserved against the old catalog give the seat back and retry.
+	 */
+	@Override
+	public synchronized void replaceCatalog(List<Timeslot> timeslots) {
+		Collection<Timeslot> previousCatalog = List.copyOf(timeslotRepository.findAll());
+		catalogGeneration.incrementAndGet();
+		try {
+			timeslotRepository.replaceAll(timeslots);
+			moveSeats(previousCatalog);
+		} finally {
+			catalogGeneration.incrementAndGet();
+		}
+	}
+
+	private void moveSeats(Collection<Timeslot> previousCatalog) {
+		Map<String, LocalDate> currentDays = new HashMap<>();
+		for (Timeslot timeslot : timeslotRepository.findAll()) {
+			currentDays.put(timeslot.getId(), timeslot.getStartTime().toLocalDate());
+		}
+		LocalDate today = LocalDate.now();
+		for (Timeslot previous : previousCatalog) {
+			LocalDate previousDay = previous.getStartTime().toLocalDate();
+			LocalDate currentDay = currentDays.get(previous.getId());
+			if (previousDay.equals(currentDay)) {
+				continue;
+			}
+			int seats = capacityLedger.releaseSlot(previousDay, previous.getId());
+			if (currentDay == null || currentDay.isBefore(today)) {
+				continue;
+			}
+			if (seats == CapacityLedger.UNKNOWN) {
+				// The old day is not held in memory: count the slot's bookings instead
+				seats = Math.toIntExact(deliveryRepository.countActiveByTimeslot(List.of(previous.getId()))
+						.getOrDefault(previous.getId(), 0L));
+			}
+			capacityLedger.addBooked(currentDay, previous.getId(), seats);
+		}
 	}
 
     @Override
 	public Delivery book(String user, String timeslotId) {
-        var timeslot = timeslotRepository.findById(timeslotId)
-                .orElseThrow(() -> new NotFoundException(
-                        ErrorCode.UNKNOWN_TIMESLOT, 
-                        "unknown timeslot"));
-
-		LocalDate day = timeslot.getStartTime().toLocalDate();
-		Semaphore slotSemaphore = perSlotSemaphores.computeIfAbsent(
-				timeslotId, 
-				id -> new Semaphore(businessProperties.getTimeslotCapacity()));
-		Semaphore daySemaphore = perDaySemaphores.computeIfAbsent(
-				day, 
-				d -> new Semaphore(businessProperties.getDailyCapacity()));
-
-        if (!daySemaphore.tryAcquire()) {
-            throw new ConflictException(
-                    ErrorCode.DAILY_CAPACITY_REACHED, 
-                    "daily capacity reached");
-        }
+		long start = System.nanoTime();
+		try {
+			return bookOne(user, timeslotId);
+		} catch (ApiException e) {
+			rejections.get(e.getError()).increment();
+			throw e;
+		} finally {
+			bookTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
 
-        if (!slotSemaphore.tryAcquire()) {
-            daySemaphore.release();
-            throw new ConflictException(
-                    ErrorCode.TIMESLOT_CAPACITY_REACHED, 
-                    "timeslot capacity reached");
-        }
+	private Delivery bookOne(String user, String timeslotId) {
+		LocalDate day;
+		while (true) {
+			long catalog = awaitCatalog();
+			var timeslot = timeslotRepository.findById(timeslotId)
+					.orElseThrow(() -> new NotFoundException(
+							ErrorCode.UNKNOWN_TIMESLOT,
+							"unknown timeslot"));
+
+			day = timeslot.getStartTime().toLocalDate();
+			CapacityLedger.Reservation reservation = capacityLedger.tryReserve(day, timeslotId);
+			if (reservation != CapacityLedger.Reservation.RESERVED) {
+				throw capacityConflict(reservation);
+			}
+			if (catalogGeneration.get() == catalog) {
+				break;
+			}
+			// The catalog changed under us: the seat may sit on the slot's old day
+			capacityLedger.release(day, timeslotId);
+		}
 
         try {
-            Delivery delivery = Delivery.builder()
-                    .user(user)
-                    .timeslotId(timeslotId)
-                    .status(DeliveryStatus.PENDING)
-                    .build();
-            return deliveryRepository.save(delivery);
+            return deliveryRepository.save(newDelivery(user, timeslotId));
         } catch (RuntimeException e) {
-            slotSemaphore.release();
-            daySemaphore.release();
+            capacityLedger.release(day, timeslotId);
             throw e;
         }
 	}
 
+	/**
+	 * Books a batch with one capacity reservation per day (ATOMIC) or per timeslot (BEST_EFFORT).
+	 * Results are returned in input order. In ATOMIC mode the first failure is thrown and nothing is booked.
+	 */
+	@Override
+	public List<BookingResult> bookAll(List<BookingCommand> commands, BatchMode mode) {
+		long start = System.nanoTime();
+		try {
+			List<BookingResult> results = bookBatch(commands, mode);
+			results.stream()
+					.filter(result -> !result.isBooked())
+					.forEach(result -> rejections.get(result.getError()).increment());
+			return results;
+		} catch (ApiException e) {
+			rejections.get(e.getError()).increment();
+			throw e;
+		} finally {
+			batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private List<BookingResult> bookBatch(List<BookingCommand> commands, BatchMode mode) {
+		while (true) {
+			long catalog = awaitCatalog();
+			List<BookingResult> results = bookBatch(commands, mode, catalog);
+			if (results != null) {
+				return results;
+			}
+		}
+	}
+
+	// The catalog generation once no swap is running; it is odd while one is
+	private long awaitCatalog() {
+		long catalog;
+		while (((catalog = catalogGeneration.get()) & 1) != 0) {
+			Thread.onSpinWait();
+		}
+		return catalog;
+	}
+
+	// Null when the catalog changed before the seats were taken; they have been given back
+	private List<BookingResult> bookBatch(List<BookingCommand> commands, BatchMode mode, long catalog) {
+		BookingResult[] results = new BookingResult[commands.size()];
+		// day -> timeslot -> indexes of the commands targeting it, in input order
+		Map<LocalDate, Map<String, List<Integer>>> groups = new LinkedHashMap<>();
+
+		for (int i = 0; i < commands.size(); i++) {
+			String timeslotId = commands.get(i).getTimeslotId();
+			Optional<Timeslot> timeslot = timeslotRepository.findById(timeslotId);
+			if (timeslot.isEmpty()) {
+				if (mode == BatchMode.ATOMIC) {
+					throw new NotFoundException(ErrorCode.UNKNOWN_TIMESLOT, "unknown timeslot: " + timeslotId);
+				}
+				results[i] = BookingResult.rejected(ErrorCode.UNKNOWN_TIMESLOT, "unknown timeslot");
+				continue;
+			}
+			groups.computeIfAbsent(timeslot.get().getStartTime().toLocalDate(), day -> new LinkedHashMap<>())
+					.computeIfAbsent(timeslotId, id -> new ArrayList<>())
+					.add(i);
+		}
+
+		boolean booked = mode == BatchMode.ATOMIC
+				? bookAtomically(commands, groups, results, catalog)
+				: bookBestEffort(commands, groups, results, catalog);
+		return booked ? Arrays.asList(results) : null;
+	}
+
+	private boolean bookAtomically(
+			List<BookingCommand> commands,
+			Map<LocalDate, Map<String, List<Integer>>> groups,
+			BookingResult[] results,
+			long catalog) {
+		Map<LocalDate, Map<String, Integer>> reserved = new LinkedHashMap<>();
+		for (var dayGroup : groups.entrySet()) {
+			Map<String, Integer> seatsPerSlot = new LinkedHashMap<>();
+			dayGroup.getValue().forEach((timeslotId, indexes) -> seatsPerSlot.put(timeslotId, indexes.size()));
+
+			CapacityLedger.Reservation reservation = capacityLedger.tryReserveAll(dayGroup.getKey(), seatsPerSlot);
+			if (reservation != CapacityLedger.Reservation.RESERVED) {
+				reserved.forEach(capacityLedger::releaseAll);
+				throw capacityConflict(reservation);
+			}
+			reserved.put(dayGroup.getKey(), seatsPerSlot);
+		}
+
+		if (catalogGeneration.get() != catalog) {
+			reserved.forEach(capacityLedger::releaseAll);
+			return false;
+		}
+
+		List<Integer> indexes = groups.values().stream()
+				.flatMap(slots -> slots.values().stream())
+				.flatMap(List::stream)
+				.toList();
+		saveBatch(commands, indexes, results, () -> reserved.forEach(capacityLedger::releaseAll));
+		return true;
+	}
+
+	private boolean bookBestEffort(
+			List<BookingCommand> commands,
+			Map<LocalDate, Map<String, List<Integer>>> groups,
+			BookingResult[] results,
+			long catalog) {
+		Map<LocalDate, Map<String, Integer>> reserved = new LinkedHashMap<>();
+		List<Integer> granted = new ArrayList<>();
+		for (var dayGroup : groups.entrySet()) {
+			LocalDate day = dayGroup.getKey();
+			dayGroup.getValue().forEach((timeslotId, indexes) -> {
+				CapacityLedger.Grant grant = capacityLedger.tryReserveUpTo(day, timeslotId, indexes.size());
+				granted.addAll(indexes.subList(0, grant.getGranted()));
+				reserved.computeIfAbsent(day, d -> new LinkedHashMap<>()).put(timeslotId, grant.getGranted());
+
+				if (grant.getGranted() < indexes.size()) {
+					ConflictException rejection = capacityConflict(grant.getShortfall());
+					indexes.subList(grant.getGranted(), indexes.size()).forEach(index ->
+							results[index] = BookingResult.rejected(rejection.getError(), rejection.getMessage()));
+				}
+			});
+		}
+		if (catalogGeneration.get() != catalog) {
+			reserved.forEach(capacityLedger::releaseAll);
+			return false;
+		}
+		saveBatch(commands, granted, results, () -> reserved.forEach(capacityLedger::releaseAll));
+		return true;
+	}
+
+	private void saveBatch(List<BookingCommand> commands, List<Integer> indexes, BookingResult[] results, Runnable rollback) {
+		List<Delivery> deliveries = indexes.stream()
+				.map(commands::get)
+				.map(command -> newDelivery(command.getUser(), command.getTimeslotId()))
+				.toList();
+		try {
+			deliveryRepository.saveAll(deliveries);
+		} catch (RuntimeException e) {
+			// saveAll may have stored part of the batch before failing; the ids are new, so
+			// deleting them removes exactly what this batch wrote
+			for (Delivery delivery : deliveries) {
+				try {
+					deliveryRepository.delete(delivery.getId());
+				} catch (RuntimeException deleteFailure) {
+					e.addSuppressed(deleteFailure);
+				}
+			}
+			rollback.run();
+			throw e;
+		}
+		for (int i = 0; i < indexes.size(); i++) {
+			results[indexes.get(i)] = BookingResult.booked(deliveries.get(i));
+		}
+	}
+
     @Override
 	public Delivery complete(String deliveryId) {
         Delivery delivery = deliveryRepository.findById(deliveryId)
                 .orElseThrow(() -> new NotFoundException(
-                        ErrorCode.DELIVERY_NOT_FOUND, 
+                        ErrorCode.DELIVERY_NOT_FOUND,
                         "delivery not found"));
 
         if (delivery.getStatus() == DeliveryStatus.COMPLETED) {
             return delivery;
         }
 
-        delivery.setStatus(DeliveryStatus.COMPLETED);
-        return deliveryRepository.save(delivery);
+        // A new instance: the stored one stays as it is until the repository swaps it in
+        return deliveryRepository.save(delivery.withStatus(DeliveryStatus.COMPLETED));
 	}
 
     @Override
 	public void cancel(String deliveryId) {
+		cancelTimer.record(() -> cancelOne(deliveryId));
+	}
+
+	private void cancelOne(String deliveryId) {
         Delivery delivery = deliveryRepository.findById(deliveryId)
                 .orElseThrow(() -> new NotFoundException(
-                        ErrorCode.DELIVERY_NOT_FOUND, 
+                        ErrorCode.DELIVERY_NOT_FOUND,
                         "delivery not found"));
 
         if (delivery.getStatus() == DeliveryStatus.CANCELLED) {
             return;
         }
 
-        delivery.setStatus(DeliveryStatus.CANCELLED);
-        deliveryRepository.save(delivery);
+        deliveryRepository.save(delivery.withStatus(DeliveryStatus.CANCELLED));
 
-        releaseSemaphores(delivery.getTimeslotId());
+        releaseCapacity(delivery.getTimeslotId());
 	}
 
-	private void releaseSemaphores(String timeslotId) {
-        var timeslot = timeslotRepository.findById(timeslotId).orElse(null);
-        if (timeslot == null) {
-            return;
-        }
+	private Delivery newDelivery(String user, String timeslotId) {
+		return Delivery.builder()
+				.user(user)
+				.timeslotId(timeslotId)
+				.status(DeliveryStatus.PENDING)
+				.build();
+	}
 
-        Semaphore slotSemaphore = perSlotSemaphores.computeIfAbsent(
-                timeslot.getId(), 
-                id -> new Semaphore(businessProperties.getTimeslotCapacity()));
-        Semaphore daySemaphore = perDaySemaphores.computeIfAbsent(
-                timeslot.getStartTime().toLocalDate(), 
-                day -> new Semaphore(businessProperties.getDailyCapacity()));
+	private ConflictException capacityConflict(CapacityLedger.Reservation reservation) {
+		if (reservation == CapacityLedger.Reservation.DAY_FULL) {
+			return new ConflictException(
+					ErrorCode.DAILY_CAPACITY_REACHED,
+					"daily capacity reached");
+		}
+		return new ConflictException(
+				ErrorCode.TIMESLOT_CAPACITY_REACHED,
+				"timeslot capacity reached");
+	}
+
+	private void releaseCapacity(String timeslotId) {
+        timeslotRepository.findById(timeslotId).ifPresent(timeslot ->
+                capacityLedger.release(timeslot.getStartTime().toLocalDate(), timeslot.getId()));
+	}
 
-        slotSemaphore.release();
-        daySemaphore.release();
+	// Only reached when the ledger rebuilds a day it has already evicted
+	private Map<String, Integer> activeBookingsPerSlot(LocalDate day) {
+		List<String> slotIds = timeslotRepository.findAll().stream()
+				.filter(timeslot -> timeslot.getStartTime().toLocalDate().equals(day))
+				.map(Timeslot::getId)
+				.toList();
+		Map<String, Integer> bookedPerSlot = new HashMap<>();
+		deliveryRepository.countActiveByTimeslot(slotIds)
+				.forEach((timeslotId, booked) -> bookedPerSlot.put(timeslotId, Math.toIntExact(booked)));
+		return bookedPerSlot;
 	}
 }
@@ -0,0 +1,301 @@
+package com.dropit.delivery.api.application.service;
+
+import com.dropit.delivery.api.infrastructure.config.BusinessProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Lock-free ledger of booked capacity per day and per timeslot.
+ * Each day is an immutable snapshot swapped by CAS, so a reservation takes both the
+ * daily and the timeslot limit in one atomic step (or neither). Days in the past are
+ * evicted once per day; if an evicted day is touched again its counts are reseeded.
+ */
+@Component
+public class CapacityLedger {
+	public enum Reservation { RESERVED, DAY_FULL, SLOT_FULL }
+
+	// Returned by peekRemainingForSlot for an evicted day whose counts are no longer held
+	public static final int UNKNOWN = -1;
+
+	/**
+	 * Outcome of a partial reservation: how many seats were taken and, if fewer than
+	 * requested, which limit stopped it.
+	 */
+	public static final class Grant {
+		private final int granted;
+		private final Reservation shortfall;
+
+		Grant(int granted, Reservation shortfall) {
+			this.granted = granted;
+			this.shortfall = shortfall;
+		}
+
+		public int getGranted() { return granted; }
+		public Reservation getShortfall() { return shortfall; }
+	}
+
+	private final int dailyCapacity;
+	private final int timeslotCapacity;
+	private final Map<LocalDate, AtomicReference<DayState>> days = new ConcurrentHashMap<>();
+	private volatile LocalDate lastSweep = LocalDate.MIN;
+	private volatile LocalDate evictedBefore = LocalDate.MIN;
+	private volatile Function<LocalDate, Map<String, Integer>> seeder = day -> Map.of();
+
+	public CapacityLedger(BusinessProperties businessProperties) {
+		this.dailyCapacity = businessProperties.getDailyCapacity();
+		this.timeslotCapacity = businessProperties.getTimeslotCapacity();
+	}
+
+	/**
+	 * Source of booked counts per timeslot, used to rebuild a day that was previously evicted.
+	 */
+	public void reseedWith(Function<LocalDate, Map<String, Integer>> seeder) {
+		this.seeder = seeder;
+	}
+
+	public Reservation tryReserve(LocalDate day, String timeslotId) {
+		return tryReserve(day, timeslotId, 1);
+	}
+
+	public Reservation tryReserve(LocalDate day, String timeslotId, int count) {
+		evictPastDays();
+		AtomicReference<DayState> ref = stateOf(day);
+		while (true) {
+			DayState current = ref.get();
+			if (current.booked + count > dailyCapacity) {
+				return Reservation.DAY_FULL;
+			}
+			if (current.bookedFor(timeslotId) + count > timeslotCapacity) {
+				return Reservation.SLOT_FULL;
+			}
+			if (ref.compareAndSet(current, current.plus(timeslotId, count))) {
+				return Reservation.RESERVED;
+			}
+		}
+	}
+
+	/**
+	 * Reserves the given seat count for every slot of one day in a single CAS, or nothing at all.
+	 */
+	public Reservation tryReserveAll(LocalDate day, Map<String, Integer> seatsPerSlot) {
+		evictPastDays();
+		int total = seatsPerSlot.values().stream().mapToInt(Integer::intValue).sum();
+		AtomicReference<DayState> ref = stateOf(day);
+		while (true) {
+			DayState current = ref.get();
+			if (current.booked + total > dailyCapacity) {
+				return Reservation.DAY_FULL;
+			}
+			DayState next = current;
+			for (Map.Entry<String, Integer> entry : seatsPerSlot.entrySet()) {
+				if (current.bookedFor(entry.getKey()) + entry.getValue() > timeslotCapacity) {
+					return Reservation.SLOT_FULL;
+				}
+				next = next.plus(entry.getKey(), entry.getValue());
+			}
+			if (ref.compareAndSet(current, next)) {
+				return Reservation.RESERVED;
+			}
+		}
+	}
+
+	/**
+	 * Reserves as many of the requested seats as both limits allow.
+	 */
+	public Grant tryReserveUpTo(LocalDate day, String timeslotId, int requested) {
+		evictPastDays();
+		AtomicReference<DayState> ref = stateOf(day);
+		while (true) {
+			DayState current = ref.get();
+			int dayLeft = dailyCapacity - current.booked;
+			int slotLeft = timeslotCapacity - current.bookedFor(timeslotId);
+			int granted = Math.max(0, Math.min(requested, Math.min(dayLeft, slotLeft)));
+			Reservation shortfall = granted == requested
+					? Reservation.RESERVED
+					: dayLeft <= slotLeft ? Reservation.DAY_FULL : Reservation.SLOT_FULL;
+			if (granted == 0 || ref.compareAndSet(current, current.plus(timeslotId, granted))) {
+				return new Grant(granted, shortfall);
+			}
+		}
+	}
+
+	public void releaseAll(LocalDate day, Map<String, Integer> seatsPerSlot) {
+		seatsPerSlot.forEach((timeslotId, count) -> release(day, timeslotId, count));
+	}
+
+	public void release(LocalDate day, String timeslotId) {
+		release(day, timeslotId, 1);
+	}
+
+	public void release(LocalDate day, String timeslotId, int count) {
+		// An untracked day has nothing to give back; a later reseed reads the repository instead
+		AtomicReference<DayState> ref = days.get(day);
+		while (ref != null) {
+			DayState current = ref.get();
+			int releasable = Math.min(count, current.bookedFor(timeslotId));
+			if (releasable == 0 || ref.compareAndSet(current, current.plus(timeslotId, -releasable))) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Replaces the booked counts of a day with the given per-timeslot totals. Only safe while
+	 * no reservations run, e.g. at startup.
+	 */
+	public void reconcile(LocalDate day, Map<String, Integer> bookedPerSlot) {
+		stateOf(day).set(DayState.of(bookedPerSlot));
+	}
+
+	/**
+	 * Takes every seat of the slot off the day, e.g. when the slot moved to another day.
+	 * @return the seats taken, or {@link #UNKNOWN} when the day is not held in memory
+	 */
+	public int releaseSlot(LocalDate day, String timeslotId) {
+		AtomicReference<DayState> ref = days.get(day);
+		if (ref == null) {
+			return UNKNOWN;
+		}
+		while (true) {
+			DayState current = ref.get();
+			int booked = current.bookedFor(timeslotId);
+			if (booked == 0 || ref.compareAndSet(current, current.plus(timeslotId, -booked))) {
+				return booked;
+			}
+		}
+	}
+
+	/**
+	 * Adds seats that are already sold, e.g. those of a slot moved to this day; the limits are
+	 * not checked, as the bookings exist either way.
+	 */
+	public void addBooked(LocalDate day, String timeslotId, int count) {
+		if (count <= 0) {
+			return;
+		}
+		AtomicReference<DayState> ref = stateOf(day);
+		while (true) {
+			DayState current = ref.get();
+			if (ref.compareAndSet(current, current.plus(timeslotId, count))) {
+				return;
+			}
+		}
+	}
+
+	public int remainingForDay(LocalDate day) {
+		return Math.max(0, dailyCapacity - peek(day).booked);
+	}
+
+	public int remainingForSlot(LocalDate day, String timeslotId) {
+		return remaining(peek(day), timeslotId);
+	}
+
+	/**
+	 * Like {@link #remainingForSlot} but never reseeds an evicted day, so it costs one map
+	 * lookup and a read of the day snapshot. Meant for availability listings.
+	 * @return seats left within both limits, or {@link #UNKNOWN} for an evicted day
+	 */
+	public int peekRemainingForSlot(LocalDate day, String timeslotId) {
+		AtomicReference<DayState> ref = days.get(day);
+		if (ref != null) {
+			return remaining(ref.get(), timeslotId);
+		}
+		return day.isBefore(evictedBefore) ? UNKNOWN : Math.min(dailyCapacity, timeslotCapacity);
+	}
+
+	private int remaining(DayState state, String timeslotId) {
+		int slotRemaining = timeslotCapacity - state.bookedFor(timeslotId);
+		return Math.max(0, Math.min(dailyCapacity - state.booked, slotRemaining));
+	}
+
+	/**
+	 * Drops every day strictly before the cutoff.
+	 * @return number of evicted days
+	 */
+	public int evictBefore(LocalDate cutoff) {
+		if (cutoff.isAfter(evictedBefore)) {
+			evictedBefore = cutoff;
+		}
+		int before = days.size();
+		days.keySet().removeIf(day -> day.isBefore(cutoff));
+		return before - days.size();
+	}
+
+	private void evictPastDays() {
+		LocalDate today = LocalDate.now();
+		if (today.isAfter(lastSweep)) {
+			lastSweep = today;
+			evictBefore(today);
+		}
+	}
+
+	private DayState peek(LocalDate day) {
+		AtomicReference<DayState> ref = days.get(day);
+		if (ref != null) {
+			return ref.get();
+		}
+		return day.isBefore(evictedBefore) ? stateOf(day).get() : DayState.EMPTY;
+	}
+
+	private AtomicReference<DayState> stateOf(LocalDate day) {
+		return days.computeIfAbsent(day, d -> new AtomicReference<>(
+				d.isBefore(evictedBefore) ? DayState.of(seeder.apply(d)) : DayState.EMPTY));
+	}
+
+	private static final class DayState {
+		static final DayState EMPTY = new DayState(0, new String[0], new int[0]);
+
+		final int booked;
+		final String[] slotIds;
+		final int[] slotBooked;
+
+		DayState(int booked, String[] slotIds, int[] slotBooked) {
+			this.booked = booked;
+			this.slotIds = slotIds;
+			this.slotBooked = slotBooked;
+		}
+
+		static DayState of(Map<String, Integer> bookedPerSlot) {
+			DayState state = EMPTY;
+			for (Map.Entry<String, Integer> entry : bookedPerSlot.entrySet()) {
+				state = state.plus(entry.getKey(), entry.getValue());
+			}
+			return state;
+		}
+
+		int bookedFor(String timeslotId) {
+			int index = indexOf(timeslotId);
+			return index < 0 ? 0 : slotBooked[index];
+		}
+
+		DayState plus(String timeslotId, int delta) {
+			int index = indexOf(timeslotId);
+			if (index < 0) {
+				String[] ids = Arrays.copyOf(slotIds, slotIds.length + 1);
+				int[] counts = Arrays.copyOf(slotBooked, slotBooked.length + 1);
+				ids[slotIds.length] = timeslotId;
+				counts[slotIds.length] = delta;
+				return new DayState(booked + delta, ids, counts);
+			}
+			int[] counts = slotBooked.clone();
+			counts[index] += delta;
+			return new DayState(booked + delta, slotIds, counts);
+		}
+
+		private int indexOf(String timeslotId) {
+			// Days hold a handful of slots, a linear scan beats hashing here
+			for (int i = 0; i < slotIds.length; i++) {
+				if (slotIds[i].equals(timeslotId)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+}
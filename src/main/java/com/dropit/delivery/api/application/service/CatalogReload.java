@@ -0,0 +1,40 @@
+package com.dropit.delivery.api.application.service;
+
+import java.time.Instant;
+
+/**
+ * Outcome of a timeslot catalog load. A failed load leaves the previous catalog in place, so
+ * {@link #getTimeslots()} and {@link #getVersion()} always describe the catalog being served.
+ */
+public final class CatalogReload {
+	private final String source;
+	private final boolean loaded;
+	private final int timeslots;
+	private final long version;
+	private final String error;
+	private final Instant completedAt;
+
+	private CatalogReload(String source, boolean loaded, int timeslots, long version, String error) {
+		this.source = source;
+		this.loaded = loaded;
+		this.timeslots = timeslots;
+		this.version = version;
+		this.error = error;
+		this.completedAt = Instant.now();
+	}
+
+	public static CatalogReload loaded(String source, int timeslots, long version) {
+		return new CatalogReload(source, true, timeslots, version, null);
+	}
+
+	public static CatalogReload failed(String source, String error, int timeslots, long version) {
+		return new CatalogReload(source, false, timeslots, version, error);
+	}
+
+	public String getSource() { return source; }
+	public boolean isLoaded() { return loaded; }
+	public int getTimeslots() { return timeslots; }
+	public long getVersion() { return version; }
+	public String getError() { return error; }
+	public Instant getCompletedAt() { return completedAt; }
+}
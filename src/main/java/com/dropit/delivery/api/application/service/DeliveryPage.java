@@ -0,0 +1,23 @@
+package com.dropit.delivery.api.application.service;
+
+import com.dropit.delivery.api.api.dto.DeliveryDTO;
+
+import java.util.List;
+
+/**
+ * One page of a delivery listing and the cursor to request the next one.
+ */
+public final class DeliveryPage {
+	private final List<DeliveryDTO> items;
+	private final String nextCursor;
+
+	DeliveryPage(List<DeliveryDTO> items, String nextCursor) {
+		this.items = items;
+		this.nextCursor = nextCursor;
+	}
+
+	public List<DeliveryDTO> getItems() { return items; }
+
+	// Null on the last page
+	public String getNextCursor() { return nextCursor; }
+}
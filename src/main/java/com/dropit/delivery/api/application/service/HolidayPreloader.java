@@ -0,0 +1,95 @@
+package com.dropit.delivery.api.application.service;
+
+import com.dropit.delivery.api.domain.model.Timeslot;
+import com.dropit.delivery.api.domain.repository.TimeslotRepository;
+import com.dropit.delivery.api.infrastructure.client.HolidayClient;
+import com.dropit.delivery.api.infrastructure.client.OutboundExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Warms the holiday cache for every country served by the loaded timeslots, for the
+ * current and next year, so holiday lookups stay off the request path. Runs at startup
+ * and again on a schedule shorter than the holiday cache TTL; each run only fetches the
+ * calendars that would expire before the next one, so a warm disk cache costs no API calls.
+ */
+@Component
+public class HolidayPreloader {
+	private static final Logger logger = LoggerFactory.getLogger(HolidayPreloader.class);
+	private final TimeslotRepository timeslotRepository;
+	private final HolidayClient holidayClient;
+	private final OutboundExecutor outboundExecutor;
+	private final boolean enabled;
+	private final Duration refreshWindow;
+
+	public HolidayPreloader(
+			TimeslotRepository timeslotRepository,
+			HolidayClient holidayClient,
+			OutboundExecutor outboundExecutor,
+			@Value("${holiday.preload.enabled:true}") boolean enabled,
+			@Value("${holiday.preload.refresh-interval-ms:72000000}") long refreshIntervalMs) {
+		this.timeslotRepository = timeslotRepository;
+		this.holidayClient = holidayClient;
+		this.outboundExecutor = outboundExecutor;
+		this.enabled = enabled;
+		this.refreshWindow = Duration.ofMillis(refreshIntervalMs);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void preloadOnStartup() {
+		if (enabled) {
+			preload();
+		}
+	}
+
+	@Scheduled(
+			initialDelayString = "${holiday.preload.refresh-interval-ms:72000000}",
+			fixedDelayString = "${holiday.preload.refresh-interval-ms:72000000}")
+	public void refreshBeforeExpiry() {
+		if (enabled) {
+			preload().join();
+		}
+	}
+
+	public CompletableFuture<Void> preload() {
+		Set<String> countries = servedCountries();
+		int year = LocalDate.now().getYear();
+
+		List<CompletableFuture<Set<LocalDate>>> fetches = countries.stream()
+				.flatMap(country -> List.of(year, year + 1).stream()
+						.map(y -> CompletableFuture.supplyAsync(() -> holidayClient.refreshIfStale(country, y, refreshWindow).join(), outboundExecutor)))
+				.toList();
+
+		logger.info("Preloading holidays for {} countries ({} and {})", countries.size(), year, year + 1);
+		return CompletableFuture.allOf(fetches.toArray(CompletableFuture[]::new))
+				.whenComplete((ignored, error) -> {
+					if (error != null) {
+						logger.warn("Holiday preload finished with errors", error);
+					} else {
+						logger.info("Holiday preload completed for countries: {}", countries);
+					}
+				});
+	}
+
+	private Set<String> servedCountries() {
+		// Timeslots with no supported countries accept any country, which cannot be preloaded
+		return timeslotRepository.findAll().stream()
+				.map(Timeslot::getSupportedCountries)
+				.filter(supported -> supported != null)
+				.flatMap(Set::stream)
+				.collect(Collectors.toCollection(TreeSet::new));
+	}
+}
@@ -1,10 +1,15 @@
 package com.dropit.delivery.api.application.service;
 
+import com.dropit.delivery.api.domain.model.BatchMode;
 import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.domain.model.Timeslot;
+
+import java.util.List;
 
 public interface IBookingService {
 	Delivery book(String user, String timeslotId);
+	List<BookingResult> bookAll(List<BookingCommand> commands, BatchMode mode);
 	Delivery complete(String deliveryId);
 	void cancel(String deliveryId);
+	void replaceCatalog(List<Timeslot> timeslots);
 }
-
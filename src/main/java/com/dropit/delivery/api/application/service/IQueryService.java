@@ -1,11 +1,36 @@
 package com.dropit.delivery.api.application.service;
 
+import com.dropit.delivery.api.api.dto.DeliveryAggregatesDTO;
 import com.dropit.delivery.api.api.dto.DeliveryDTO;
 
-import java.util.List;
+import java.time.LocalDate;
+import java.util.function.Consumer;
 
 public interface IQueryService {
-	List<DeliveryDTO> today();
-	List<DeliveryDTO> weekly();
-}
+	/**
+	 * Today's deliveries in (createdAt, id) order, one page at a time.
+	 * @param cursor next-page cursor from the previous page, or null for the first page
+	 * @param limit page size, or null for the configured default
+	 */
+	DeliveryPage today(String cursor, Integer limit);
+
+	// Same as today(), for Monday through Sunday of the current week
+	DeliveryPage weekly(String cursor, Integer limit);
+
+	/**
+	 * Delivery counts per status and per timeslot for one creation day, read from counters kept
+	 * current on every booking, completion and cancellation.
+	 * @param date the day, or null for today
+	 */
+	DeliveryAggregatesDTO dailyAggregates(LocalDate date);
 
+	// Same as dailyAggregates(), for Monday through Sunday of the week containing the date
+	DeliveryAggregatesDTO weeklyAggregates(LocalDate date);
+
+	/**
+	 * Passes each delivery created between {@code from} and {@code to} (both inclusive) to the
+	 * sink as it is read, without collecting the range in memory.
+	 * @return number of deliveries exported
+	 */
+	long export(LocalDate from, LocalDate to, Consumer<? super DeliveryDTO> sink);
+}
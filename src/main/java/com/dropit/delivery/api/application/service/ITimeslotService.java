@@ -7,5 +7,8 @@ import java.util.List;
 
 public interface ITimeslotService {
 	List<Timeslot> availableTimeslots(AddressDTO address);
-}
 
+	List<TimeslotAvailability> availability(AddressDTO address);
+
+	void warmIndex();
+}
@@ -0,0 +1,121 @@
+package com.dropit.delivery.api.application.service;
+
+import com.dropit.delivery.api.api.dto.DeliveryDTO;
+import com.dropit.delivery.api.api.mapper.DtoMapper;
+import com.dropit.delivery.api.infrastructure.cache.BoundedTtlCache;
+import com.dropit.delivery.api.infrastructure.exception.ConflictException;
+import com.dropit.delivery.api.infrastructure.exception.ErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Books deliveries at most once per client-supplied idempotency key. The first request for a key
+ * books; requests arriving while it runs wait for its outcome, and later ones get the stored
+ * delivery back. Keys of bookings in flight are pinned outside the size-bounded store, so
+ * eviction can never let a duplicate book twice; completed keys are forgotten after the TTL.
+ * Failed bookings are not remembered, so a retry with the same key books again.
+ */
+@Service
+public class IdempotentBookingService {
+	private static final int MAX_KEY_LENGTH = 255;
+
+	// The request a key was first used for, and its outcome once known
+	private static final class Attempt {
+		final String user;
+		final String timeslotId;
+		final CompletableFuture<DeliveryDTO> result = new CompletableFuture<>();
+
+		Attempt(String user, String timeslotId) {
+			this.user = user;
+			this.timeslotId = timeslotId;
+		}
+
+		boolean sameRequest(String user, String timeslotId) {
+			return Objects.equals(this.user, user) && Objects.equals(this.timeslotId, timeslotId);
+		}
+	}
+
+	private final IBookingService bookingService;
+	private final DtoMapper mapper;
+	// Bookings still running; bounded by the requests in flight, so never evicted
+	private final Map<String, Attempt> pending = new ConcurrentHashMap<>();
+	// Completed bookings
+	private final BoundedTtlCache<String, Attempt> attempts;
+
+	public IdempotentBookingService(
+			IBookingService bookingService,
+			DtoMapper mapper,
+			@Value("${delivery.idempotency.max-keys:100000}") int maxKeys,
+			@Value("${delivery.idempotency.ttl-ms:86400000}") long ttlMs) {
+		this.bookingService = bookingService;
+		this.mapper = mapper;
+		this.attempts = new BoundedTtlCache<>(maxKeys, Duration.ofMillis(ttlMs));
+	}
+
+	/**
+	 * Books once per key and returns the delivery booked for it.
+	 * @throws ConflictException if the key was already used for another user or timeslot
+	 */
+	public DeliveryDTO book(String idempotencyKey, String user, String timeslotId) {
+		if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+			throw new IllegalArgumentException("Idempotency key must be 1 to " + MAX_KEY_LENGTH + " characters");
+		}
+		Attempt mine = new Attempt(user, timeslotId);
+		Attempt existing = pending.putIfAbsent(idempotencyKey, mine);
+		if (existing == null) {
+			// A booking that completed before we pinned the key is in the store by now
+			existing = attempts.get(idempotencyKey);
+			if (existing != null) {
+				pending.remove(idempotencyKey, mine);
+			}
+		}
+		if (existing != null) {
+			if (!existing.sameRequest(user, timeslotId)) {
+				throw new ConflictException(ErrorCode.IDEMPOTENCY_KEY_REUSED,
+						"idempotency key already used for a different booking");
+			}
+			return await(existing.result);
+		}
+
+		try {
+			DeliveryDTO booked = mapper.toDto(bookingService.book(user, timeslotId));
+			mine.result.complete(booked);
+			// Stored before unpinning, so the key is never absent from both
+			attempts.put(idempotencyKey, mine);
+			pending.remove(idempotencyKey, mine);
+			return booked;
+		} catch (Throwable e) {
+			// Nothing was booked: free the key before waking waiters so a retry starts afresh.
+			// Errors too, or waiters on this key would block forever
+			pending.remove(idempotencyKey, mine);
+			mine.result.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	public BoundedTtlCache<String, ?> getAttempts() {
+		return attempts;
+	}
+
+	private static DeliveryDTO await(CompletableFuture<DeliveryDTO> result) {
+		try {
+			return result.join();
+		} catch (CompletionException e) {
+			// Concurrent duplicates fail the same way as the request they waited for
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+}
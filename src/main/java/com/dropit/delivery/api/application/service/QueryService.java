@@ -1,14 +1,20 @@
 package com.dropit.delivery.api.application.service;
 
+import com.dropit.delivery.api.api.dto.DeliveryAggregatesDTO;
 import com.dropit.delivery.api.api.dto.DeliveryDTO;
 import com.dropit.delivery.api.api.mapper.DtoMapper;
+import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.domain.repository.DeliveryCursor;
 import com.dropit.delivery.api.domain.repository.DeliveryRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,41 +22,81 @@ public class QueryService implements IQueryService {
 	private static final Logger logger = LoggerFactory.getLogger(QueryService.class);
 	private final DeliveryRepository deliveryRepository;
 	private final DtoMapper mapper;
+	private final int defaultPageSize;
+	private final int maxPageSize;
 
-	public QueryService(DeliveryRepository deliveryRepository, DtoMapper mapper) {
+	public QueryService(
+			DeliveryRepository deliveryRepository,
+			DtoMapper mapper,
+			@Value("${delivery.query.page-size:100}") int defaultPageSize,
+			@Value("${delivery.query.max-page-size:1000}") int maxPageSize) {
 		this.deliveryRepository = deliveryRepository;
 		this.mapper = mapper;
+		this.defaultPageSize = defaultPageSize;
+		this.maxPageSize = maxPageSize;
 	}
 
 	@Override
-	public List<DeliveryDTO> today() {
-		try {
-			return findDeliveriesByDate(LocalDate.now());
-		} catch (Exception e) {
-			logger.error("Failed to retrieve today's deliveries", e);
-			return List.of();
-		}
+	public DeliveryPage today(String cursor, Integer limit) {
+		LocalDate today = LocalDate.now();
+		return page(today, today.plusDays(1), cursor, limit, "today's");
 	}
 
 	@Override
-	public List<DeliveryDTO> weekly() {
-		try {
-			return findDeliveriesByWeek(LocalDate.now());
-		} catch (Exception e) {
-			logger.error("Failed to retrieve weekly deliveries", e);
-			return List.of();
+	public DeliveryPage weekly(String cursor, Integer limit) {
+		LocalDate weekStart = LocalDate.now().with(DayOfWeek.MONDAY);
+		return page(weekStart, weekStart.plusDays(7), cursor, limit, "weekly");
+	}
+
+	@Override
+	public DeliveryAggregatesDTO dailyAggregates(LocalDate date) {
+		LocalDate day = date == null ? LocalDate.now() : date;
+		return mapper.toDto(deliveryRepository.countCreatedBetween(day, day.plusDays(1)));
+	}
+
+	@Override
+	public DeliveryAggregatesDTO weeklyAggregates(LocalDate date) {
+		LocalDate weekStart = (date == null ? LocalDate.now() : date).with(DayOfWeek.MONDAY);
+		return mapper.toDto(deliveryRepository.countCreatedBetween(weekStart, weekStart.plusDays(7)));
+	}
+
+	@Override
+	public long export(LocalDate from, LocalDate to, Consumer<? super DeliveryDTO> sink) {
+		if (from == null || to == null || to.isBefore(from)) {
+			throw new IllegalArgumentException("'from' and 'to' are required and 'to' must not be before 'from'");
 		}
+		long[] exported = new long[1];
+		deliveryRepository.forEachCreatedBetween(from, to.plusDays(1), delivery -> {
+			sink.accept(mapper.toDto(delivery));
+			exported[0]++;
+		});
+		logger.debug("Exported {} deliveries created between {} and {}", exported[0], from, to);
+		return exported[0];
 	}
 
-	private List<DeliveryDTO> findDeliveriesByDate(LocalDate date) {
-		return deliveryRepository.findByDate(date).stream()
-				.map(mapper::toDto)
-				.collect(Collectors.toList());
+	// Fetches one extra row to learn whether a next page exists
+	private DeliveryPage page(LocalDate from, LocalDate toExclusive, String cursor, Integer limit, String label) {
+		DeliveryCursor after = cursor == null || cursor.isBlank() ? null : DeliveryCursor.decode(cursor);
+		int pageSize = pageSize(limit);
+		try {
+			List<Delivery> rows = deliveryRepository.findPageCreatedBetween(from, toExclusive, after, pageSize + 1);
+			boolean hasMore = rows.size() > pageSize;
+			List<Delivery> items = hasMore ? rows.subList(0, pageSize) : rows;
+			String nextCursor = hasMore ? DeliveryCursor.of(items.get(items.size() - 1)).encode() : null;
+			return new DeliveryPage(items.stream().map(mapper::toDto).collect(Collectors.toList()), nextCursor);
+		} catch (Exception e) {
+			logger.error("Failed to retrieve {} deliveries", label, e);
+			return new DeliveryPage(List.of(), null);
+		}
 	}
 
-	private List<DeliveryDTO> findDeliveriesByWeek(LocalDate date) {
-		return deliveryRepository.findByWeek(date).stream()
-				.map(mapper::toDto)
-				.collect(Collectors.toList());
+	private int pageSize(Integer limit) {
+		if (limit == null) {
+			return defaultPageSize;
+		}
+		if (limit < 1) {
+			throw new IllegalArgumentException("limit must be positive");
+		}
+		return Math.min(limit, maxPageSize);
 	}
 }
@@ -0,0 +1,25 @@
+package com.dropit.delivery.api.application.service;
+
+import com.dropit.delivery.api.domain.model.Timeslot;
+
+/**
+ * A timeslot offered to an address together with the seats still bookable in it.
+ */
+public final class TimeslotAvailability {
+	private final Timeslot timeslot;
+	private final int remainingCapacity;
+
+	TimeslotAvailability(Timeslot timeslot, int remainingCapacity) {
+		this.timeslot = timeslot;
+		this.remainingCapacity = remainingCapacity;
+	}
+
+	public Timeslot getTimeslot() { return timeslot; }
+
+	/**
+	 * Seats left within both the timeslot and the daily limit, or
+	 * {@link CapacityLedger#UNKNOWN} for a past day the ledger no longer tracks.
+	 */
+	public int getRemainingCapacity() { return remainingCapacity; }
+	public boolean isRemainingCapacityKnown() { return remainingCapacity != CapacityLedger.UNKNOWN; }
+}
@@ -0,0 +1,89 @@
+package com.dropit.delivery.api.application.service;
+
+import com.dropit.delivery.api.domain.model.Timeslot;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable inverted index from address attributes to timeslot bitsets.
+ * A timeslot with an empty supported set for an attribute matches any value, so each
+ * attribute keeps a wildcard bitset that is OR-ed into every lookup. Eligibility is the
+ * intersection of the country, postcode and city bitsets.
+ */
+final class TimeslotIndex {
+	private final long version;
+	private final Timeslot[] timeslots;
+	private final Attribute countries;
+	private final Attribute postcodes;
+	private final Attribute cities;
+
+	private TimeslotIndex(long version, Timeslot[] timeslots) {
+		this.version = version;
+		this.timeslots = timeslots;
+		this.countries = new Attribute(timeslots, Timeslot::getSupportedCountries);
+		this.postcodes = new Attribute(timeslots, Timeslot::getSupportedPostcodes);
+		this.cities = new Attribute(timeslots, Timeslot::getSupportedCities);
+	}
+
+	static TimeslotIndex build(long version, Collection<Timeslot> timeslots) {
+		Timeslot[] ordered = timeslots.stream()
+				.sorted(Comparator.comparing(Timeslot::getStartTime).thenComparing(Timeslot::getId))
+				.toArray(Timeslot[]::new);
+		return new TimeslotIndex(version, ordered);
+	}
+
+	long version() {
+		return version;
+	}
+
+	int size() {
+		return timeslots.length;
+	}
+
+	List<Timeslot> eligibleFor(String country, String postcode, String city) {
+		BitSet matches = countries.matching(country);
+		matches.and(postcodes.matching(postcode));
+		matches.and(cities.matching(city));
+
+		List<Timeslot> result = new ArrayList<>(matches.cardinality());
+		for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+			result.add(timeslots[i]);
+		}
+		return result;
+	}
+
+	private static final class Attribute {
+		private final Map<String, BitSet> byValue = new HashMap<>();
+		private final BitSet wildcard = new BitSet();
+
+		Attribute(Timeslot[] timeslots, Function<Timeslot, Set<String>> supported) {
+			for (int i = 0; i < timeslots.length; i++) {
+				Set<String> values = supported.apply(timeslots[i]);
+				if (values == null || values.isEmpty()) {
+					wildcard.set(i);
+					continue;
+				}
+				for (String value : values) {
+					byValue.computeIfAbsent(value, v -> new BitSet(timeslots.length)).set(i);
+				}
+			}
+		}
+
+		BitSet matching(String value) {
+			BitSet result = (BitSet) wildcard.clone();
+			BitSet exact = value == null ? null : byValue.get(value);
+			if (exact != null) {
+				result.or(exact);
+			}
+			return result;
+		}
+	}
+}
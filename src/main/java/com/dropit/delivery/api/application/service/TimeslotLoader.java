@@ -5,61 +5,149 @@ import com.dropit.delivery.api.domain.repository.TimeslotRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
+/**
+ * Loads the courier timeslot catalog at startup and again on demand, from
+ * {@code timeslots.catalog.file} when set and the bundled {@code courier_timeslots.json} otherwise.
+ * A reload is parsed on its own thread and swapped in whole by
+ * {@link IBookingService#replaceCatalog}, so lookups and bookings see either the old catalog or the
+ * new one, and the seats of slots removed or moved to another day move with them. A catalog that
+ * fails to load leaves the last good one in place.
+ * With {@code timeslots.catalog.watch} the file is reloaded whenever it changes.
+ */
 @Component
 public class TimeslotLoader {
 	private static final Logger logger = LoggerFactory.getLogger(TimeslotLoader.class);
+	private static final String CLASSPATH_CATALOG = "courier_timeslots.json";
+
 	private final TimeslotRepository repository;
+	private final ITimeslotService timeslotService;
+	private final IBookingService bookingService;
+	private final Path catalogFile;
+	private final boolean watch;
+	private final long watchDebounceMs;
 	private final ObjectMapper mapper = new ObjectMapper();
+	// One reload at a time, whether asked for by the admin endpoint or the file watcher
+	private final ExecutorService reloader = Executors.newSingleThreadExecutor(task -> {
+		Thread thread = new Thread(task, "timeslot-reload");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private volatile CatalogReload lastReload;
+	private WatchService watchService;
+	private Thread watcher;
 
-	public TimeslotLoader(TimeslotRepository repository) { this.repository = repository; }
+	public TimeslotLoader(
+			TimeslotRepository repository,
+			ITimeslotService timeslotService,
+			IBookingService bookingService,
+			@Value("${timeslots.catalog.file:}") String catalogFile,
+			@Value("${timeslots.catalog.watch:false}") boolean watch,
+			@Value("${timeslots.catalog.watch-debounce-ms:500}") long watchDebounceMs) {
+		this.repository = repository;
+		this.timeslotService = timeslotService;
+		this.bookingService = bookingService;
+		this.catalogFile = StringUtils.hasText(catalogFile) ? Path.of(catalogFile) : null;
+		this.watch = watch;
+		this.watchDebounceMs = watchDebounceMs;
+	}
 
 	@PostConstruct
 	public void load() {
-		try {
-			loadTimeslotsFromResource();
-		} catch (Exception e) {
-			handleLoadError(e);
+		reload();
+		if (watch) {
+			startWatching();
 		}
 	}
 
-	private void loadTimeslotsFromResource() throws Exception {
-		InputStream inputStream = new ClassPathResource("courier_timeslots.json").getInputStream();
-		
-		if (inputStream == null) {
-			throw new IllegalStateException("courier_timeslots.json not found");
+	/**
+	 * Reads the catalog again and swaps it in, waiting for the reload thread to finish.
+	 * Never throws for a bad catalog: the outcome says whether it was loaded.
+	 */
+	public CatalogReload reload() {
+		try {
+			return reloader.submit(this::reloadNow).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted waiting for the timeslot catalog reload", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Timeslot catalog reload failed", e.getCause());
 		}
+	}
+
+	// Null until the first load completes
+	public CatalogReload getLastReload() {
+		return lastReload;
+	}
 
-		JsonNode root = mapper.readTree(inputStream);
-		
-		if (!root.isArray()) {
-			throw new IllegalStateException("JSON root must be an array");
+	private CatalogReload reloadNow() {
+		String source = catalogFile != null ? catalogFile.toString() : "classpath:" + CLASSPATH_CATALOG;
+		try {
+			List<Timeslot> timeslots = readCatalog();
+			bookingService.replaceCatalog(timeslots);
+			// Rebuild the eligibility index here rather than on the next availability request
+			timeslotService.warmIndex();
+			logger.info("Loaded {} timeslots from {} (catalog version {})", timeslots.size(), source, repository.version());
+			lastReload = CatalogReload.loaded(source, timeslots.size(), repository.version());
+		} catch (Exception e) {
+			handleLoadError(source, e);
+			lastReload = CatalogReload.failed(source, e.getMessage(), repository.findAll().size(), repository.version());
 		}
+		return lastReload;
+	}
+
+	private List<Timeslot> readCatalog() throws Exception {
+		try (InputStream inputStream = openCatalog()) {
+			JsonNode root = mapper.readTree(inputStream);
 
-		List<Timeslot> timeslots = parseTimeslots(root);
-		
-		if (timeslots.isEmpty()) {
-			throw new IllegalStateException("No valid timeslots found");
+			if (root == null || !root.isArray()) {
+				throw new IllegalStateException("JSON root must be an array");
+			}
+
+			List<Timeslot> timeslots = parseTimeslots(root);
+
+			if (timeslots.isEmpty()) {
+				throw new IllegalStateException("No valid timeslots found");
+			}
+			return timeslots;
 		}
+	}
 
-		repository.saveAll(timeslots);
+	private InputStream openCatalog() throws IOException {
+		if (catalogFile != null) {
+			return Files.newInputStream(catalogFile);
+		}
+		return new ClassPathResource(CLASSPATH_CATALOG).getInputStream();
 	}
 
 	private List<Timeslot> parseTimeslots(JsonNode root) {
 		DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
-		
+
 		return StreamSupport.stream(root.spliterator(), false)
 				.map(node -> parseTimeslot(node, formatter))
 				.filter(timeslot -> timeslot != null)
@@ -71,7 +159,7 @@ public class TimeslotLoader {
 			String id = node.path("id").asText();
 			LocalDateTime start = LocalDateTime.parse(node.path("startTime").asText(), formatter);
 			LocalDateTime end = LocalDateTime.parse(node.path("endTime").asText(), formatter);
-			
+
 			return new Timeslot(
 					id,
 					start,
@@ -85,18 +173,74 @@ public class TimeslotLoader {
 		}
 	}
 
-	private void handleLoadError(Exception e) {
-		logger.error("Error loading timeslots", e);
-		repository.clear();
+	private void handleLoadError(String source, Exception e) {
+		logger.error("Error loading timeslots from {}, keeping the current catalog ({} timeslots)",
+				source, repository.findAll().size(), e);
 	}
 
 	private Set<String> toSet(JsonNode node) {
 		if (node == null || !node.isArray()) {
 			return Set.of();
 		}
-		
+
 		return StreamSupport.stream(node.spliterator(), false)
 				.map(JsonNode::asText)
 				.collect(Collectors.toSet());
 	}
+
+	private void startWatching() {
+		if (catalogFile == null) {
+			logger.warn("timeslots.catalog.watch needs timeslots.catalog.file; the bundled catalog cannot change");
+			return;
+		}
+		Path directory = catalogFile.toAbsolutePath().getParent();
+		try {
+			watchService = directory.getFileSystem().newWatchService();
+			directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException e) {
+			logger.warn("Cannot watch {} for timeslot catalog changes", directory, e);
+			return;
+		}
+		watcher = new Thread(this::watchLoop, "timeslot-catalog-watcher");
+		watcher.setDaemon(true);
+		watcher.start();
+		logger.info("Watching {} for timeslot catalog changes", catalogFile);
+	}
+
+	private void watchLoop() {
+		Path fileName = catalogFile.getFileName();
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+				boolean changed = key.pollEvents().stream()
+						.anyMatch(event -> event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context()));
+				if (!key.reset()) {
+					logger.warn("Catalog directory of {} is no longer accessible, stopped watching", catalogFile);
+					return;
+				}
+				if (changed) {
+					// Editors and deploy tools often write a file in several steps; let them finish
+					Thread.sleep(watchDebounceMs);
+					for (WatchKey pending = watchService.poll(); pending != null; pending = watchService.poll()) {
+						pending.pollEvents();
+						pending.reset();
+					}
+					reloader.execute(this::reloadNow);
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// Shutting down
+		}
+	}
+
+	@PreDestroy
+	public void close() throws IOException {
+		if (watcher != null) {
+			watcher.interrupt();
+		}
+		if (watchService != null) {
+			watchService.close();
+		}
+		reloader.shutdownNow();
+	}
 }
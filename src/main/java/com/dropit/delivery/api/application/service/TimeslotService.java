@@ -1,17 +1,23 @@
 package com.dropit.delivery.api.application.service;
 
 import com.dropit.delivery.api.infrastructure.client.HolidayClient;
+import com.dropit.delivery.api.infrastructure.client.OutboundExecutor;
 import com.dropit.delivery.api.api.dto.AddressDTO;
 import com.dropit.delivery.api.domain.model.Timeslot;
 import com.dropit.delivery.api.domain.repository.TimeslotRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,68 +25,114 @@ public class TimeslotService implements ITimeslotService {
 	private static final Logger logger = LoggerFactory.getLogger(TimeslotService.class);
 	private final TimeslotRepository timeslotRepository;
 	private final HolidayClient holidayClient;
+	private final CapacityLedger capacityLedger;
+	private final OutboundExecutor outboundExecutor;
+	private final Timer filterTimer;
+	private final DistributionSummary candidateCounts;
+	private final DistributionSummary availableCounts;
+	private volatile TimeslotIndex index;
 
-	public TimeslotService(TimeslotRepository timeslotRepository, HolidayClient holidayClient) {
+	public TimeslotService(
+			TimeslotRepository timeslotRepository,
+			HolidayClient holidayClient,
+			CapacityLedger capacityLedger,
+			OutboundExecutor outboundExecutor,
+			MeterRegistry meterRegistry) {
 		this.timeslotRepository = timeslotRepository;
 		this.holidayClient = holidayClient;
+		this.capacityLedger = capacityLedger;
+		this.outboundExecutor = outboundExecutor;
+		this.filterTimer = Timer.builder("timeslot.filter")
+				.description("Time to compute available timeslots for an address, including the holiday lookup")
+				.register(meterRegistry);
+		this.candidateCounts = DistributionSummary.builder("timeslot.candidates")
+				.description("Timeslots matching the address before the holiday filter")
+				.register(meterRegistry);
+		this.availableCounts = DistributionSummary.builder("timeslot.available")
+				.description("Timeslots returned after the holiday and capacity filters")
+				.register(meterRegistry);
 	}
 
 	@Override
 	public List<Timeslot> availableTimeslots(AddressDTO address) {
+		return availability(address).stream()
+				.map(TimeslotAvailability::getTimeslot)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Slots serving the address that are not on a holiday and still have a seat left.
+	 * Remaining seats come from the booking ledger's current day snapshot: no lock and no
+	 * repository access, so a slot can fill up between this listing and the booking.
+	 */
+	@Override
+	public List<TimeslotAvailability> availability(AddressDTO address) {
 		if (address == null) {
 			return List.of();
 		}
 
-		// Fetch holidays and timeslots in PARALLEL using CompletableFuture
-		CompletableFuture<Set<LocalDate>> holidaysFuture = CompletableFuture.supplyAsync(() -> {
+		// Fetch holidays on the outbound I/O executor while the eligibility index is queried.
+		// A slow holiday API degrades to "no holidays", the same as when the API call fails.
+		CompletableFuture<Set<LocalDate>> holidaysFuture = outboundExecutor.supply(() -> {
 			logger.debug("Fetching holidays for country: {} in parallel", address.getCountry());
 			return holidayClient.holidaysForYear(address.getCountry(), LocalDate.now().getYear());
-		});
-
-		CompletableFuture<List<Timeslot>> timeslotsFuture = CompletableFuture.supplyAsync(() -> {
-			logger.debug("Fetching timeslots from repository in parallel");
-			return List.copyOf(timeslotRepository.findAll());
-		});
+		}, Set.of());
 
-		// Wait for both to complete and combine results
+		long start = System.nanoTime();
 		try {
+			List<Timeslot> candidates = currentIndex()
+					.eligibleFor(address.getCountry(), address.getPostcode(), address.getCity());
 			Set<LocalDate> holidays = holidaysFuture.join();
-			List<Timeslot> allTimeslots = timeslotsFuture.join();
 
-			logger.debug("Parallel fetch completed. Holidays: {}, Timeslots: {}", holidays.size(), allTimeslots.size());
+			logger.debug("Parallel fetch completed. Holidays: {}, Candidate timeslots: {}", holidays.size(), candidates.size());
 
-			return allTimeslots.stream()
-					.filter(ts -> supportsAddress(ts, address))
-					.filter(ts -> !isHoliday(ts, holidays))
-					.collect(Collectors.toList());
+			List<TimeslotAvailability> available = new ArrayList<>(candidates.size());
+			for (Timeslot timeslot : candidates) {
+				if (isHoliday(timeslot, holidays)) {
+					continue;
+				}
+				int remaining = capacityLedger.peekRemainingForSlot(timeslot.getStartTime().toLocalDate(), timeslot.getId());
+				if (remaining != 0) {
+					available.add(new TimeslotAvailability(timeslot, remaining));
+				}
+			}
+			candidateCounts.record(candidates.size());
+			availableCounts.record(available.size());
+			return available;
 		} catch (Exception e) {
 			logger.error("Error during parallel timeslot fetch", e);
 			return List.of();
+		} finally {
+			filterTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 		}
 	}
 
-	private boolean isHoliday(Timeslot timeslot, Set<LocalDate> holidays) {
-		return holidays.contains(timeslot.getStartTime().toLocalDate());
-	}
-
-	private boolean supportsAddress(Timeslot timeslot, AddressDTO address) {
-		return supportsCountry(timeslot, address.getCountry())
-				&& supportsPostcode(timeslot, address.getPostcode())
-				&& supportsCity(timeslot, address.getCity());
-	}
-
-	private boolean supportsCountry(Timeslot timeslot, String country) {
-		Set<String> supportedCountries = timeslot.getSupportedCountries();
-		return supportedCountries.isEmpty() || supportedCountries.contains(country);
+	/**
+	 * Builds the eligibility index for the current catalog now, so the first availability
+	 * request after a catalog change does not wait for it.
+	 */
+	@Override
+	public void warmIndex() {
+		currentIndex();
 	}
 
-	private boolean supportsPostcode(Timeslot timeslot, String postcode) {
-		Set<String> supportedPostcodes = timeslot.getSupportedPostcodes();
-		return supportedPostcodes.isEmpty() || supportedPostcodes.contains(postcode);
+	private TimeslotIndex currentIndex() {
+		TimeslotIndex current = index;
+		if (current != null && current.version() == timeslotRepository.version()) {
+			return current;
+		}
+		synchronized (this) {
+			// Version is read before the snapshot, so a concurrent write only ever causes an extra rebuild
+			long version = timeslotRepository.version();
+			if (index == null || index.version() != version) {
+				index = TimeslotIndex.build(version, List.copyOf(timeslotRepository.findAll()));
+				logger.debug("Rebuilt timeslot eligibility index: {} timeslots, version {}", index.size(), version);
+			}
+			return index;
+		}
 	}
 
-	private boolean supportsCity(Timeslot timeslot, String city) {
-		Set<String> supportedCities = timeslot.getSupportedCities();
-		return supportedCities.isEmpty() || supportedCities.contains(city);
+	private boolean isHoliday(Timeslot timeslot, Set<LocalDate> holidays) {
+		return holidays.contains(timeslot.getStartTime().toLocalDate());
 	}
 }
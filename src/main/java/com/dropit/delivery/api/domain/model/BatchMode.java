@@ -0,0 +1,11 @@
+package com.dropit.delivery.api.domain.model;
+
+/**
+ * How a batch of bookings treats items that cannot be booked.
+ */
+public enum BatchMode {
+	/** Every item is booked, or none is. */
+	ATOMIC,
+	/** Items are booked independently; failures are reported per item. */
+	BEST_EFFORT
+}
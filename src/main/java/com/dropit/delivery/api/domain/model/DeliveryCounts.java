@@ -0,0 +1,77 @@
+package com.dropit.delivery.api.domain.model;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Delivery counts for a range of creation dates, per status and per timeslot and status.
+ */
+public final class DeliveryCounts {
+	private final LocalDate from;
+	private final LocalDate to;
+	private final Map<DeliveryStatus, Long> byStatus;
+	private final Map<String, Map<DeliveryStatus, Long>> byTimeslot;
+
+	private DeliveryCounts(Builder builder) {
+		this.from = builder.from;
+		this.to = builder.to;
+		this.byStatus = Collections.unmodifiableMap(builder.byStatus);
+		this.byTimeslot = Collections.unmodifiableMap(builder.byTimeslot);
+	}
+
+	public LocalDate getFrom() { return from; }
+	// Inclusive
+	public LocalDate getTo() { return to; }
+	// Every status is present, zero when there are none
+	public Map<DeliveryStatus, Long> getByStatus() { return byStatus; }
+	// Only timeslots with deliveries, and only their non-zero statuses
+	public Map<String, Map<DeliveryStatus, Long>> getByTimeslot() { return byTimeslot; }
+
+	public long getTotal() {
+		return byStatus.values().stream().mapToLong(Long::longValue).sum();
+	}
+
+	// Deliveries still holding capacity; matches DeliveryRepository.countByDate for a single day
+	public long getActive() {
+		return getTotal() - byStatus.get(DeliveryStatus.CANCELLED);
+	}
+
+	public static Builder builder(LocalDate from, LocalDate to) {
+		return new Builder(from, to);
+	}
+
+	public static class Builder {
+		private final LocalDate from;
+		private final LocalDate to;
+		private final Map<DeliveryStatus, Long> byStatus = new EnumMap<>(DeliveryStatus.class);
+		private final Map<String, Map<DeliveryStatus, Long>> byTimeslot = new TreeMap<>();
+
+		private Builder(LocalDate from, LocalDate to) {
+			this.from = from;
+			this.to = to;
+			for (DeliveryStatus status : DeliveryStatus.values()) {
+				byStatus.put(status, 0L);
+			}
+		}
+
+		public Builder status(DeliveryStatus status, long count) {
+			byStatus.merge(status, count, Long::sum);
+			return this;
+		}
+
+		public Builder timeslot(String timeslotId, DeliveryStatus status, long count) {
+			if (count != 0) {
+				byTimeslot.computeIfAbsent(timeslotId, id -> new EnumMap<>(DeliveryStatus.class))
+						.merge(status, count, Long::sum);
+			}
+			return this;
+		}
+
+		public DeliveryCounts build() {
+			return new DeliveryCounts(this);
+		}
+	}
+}
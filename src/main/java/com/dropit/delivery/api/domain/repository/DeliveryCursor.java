@@ -0,0 +1,73 @@
+package com.dropit.delivery.api.domain.repository;
+
+import com.dropit.delivery.api.domain.model.Delivery;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Position in the (createdAt, id) order of deliveries. A page continues strictly after its
+ * cursor, so pages stay stable while deliveries are inserted concurrently. Encodes to an
+ * opaque URL-safe token for clients.
+ */
+public final class DeliveryCursor implements Comparable<DeliveryCursor> {
+	private static final Comparator<DeliveryCursor> ORDER = Comparator
+			.comparing((DeliveryCursor cursor) -> cursor.createdAt)
+			.thenComparing(cursor -> cursor.id);
+
+	private final LocalDateTime createdAt;
+	private final String id;
+
+	public DeliveryCursor(LocalDateTime createdAt, String id) {
+		this.createdAt = Objects.requireNonNull(createdAt, "createdAt");
+		this.id = Objects.requireNonNull(id, "id");
+	}
+
+	public static DeliveryCursor of(Delivery delivery) {
+		return new DeliveryCursor(delivery.getCreatedAt(), delivery.getId());
+	}
+
+	// Sorts before every delivery created on the day
+	public static DeliveryCursor startOf(LocalDate day) {
+		return new DeliveryCursor(day.atStartOfDay(), "");
+	}
+
+	public LocalDateTime getCreatedAt() { return createdAt; }
+	public String getId() { return id; }
+
+	public String encode() {
+		byte[] raw = (createdAt + "|" + id).getBytes(StandardCharsets.UTF_8);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+	 */
+	public static DeliveryCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.indexOf('|');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Invalid cursor");
+			}
+			return new DeliveryCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("Invalid cursor", e);
+		}
+	}
+
+	@Override
+	public int compareTo(DeliveryCursor other) {
+		return ORDER.compare(this, other);
+	}
+
+	@Override public boolean equals(Object o) {
+		return o instanceof DeliveryCursor other && createdAt.equals(other.createdAt) && id.equals(other.id);
+	}
+	@Override public int hashCode() { return Objects.hash(createdAt, id); }
+}
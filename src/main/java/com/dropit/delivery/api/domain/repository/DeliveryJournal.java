@@ -0,0 +1,25 @@
+package com.dropit.delivery.api.domain.repository;
+
+import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.domain.model.DeliveryStatus;
+
+/**
+ * Receives every change applied to {@link DeliveryRepository}, in per-delivery order, so the
+ * changes can be made durable. The record methods run while the repository holds the
+ * delivery's write lock, right after the change is applied: they may block while the journal
+ * applies backpressure, and throw when it cannot accept the change, which is then undone.
+ * They return a sequence number the repository waits on with {@link #awaitDurable(long)}
+ * after releasing the lock; when that throws, the repository undoes the change.
+ */
+public interface DeliveryJournal {
+	long recordSave(Delivery delivery);
+
+	long recordStatusChange(String id, DeliveryStatus status);
+
+	long recordDelete(String id);
+
+	// Throws if the change can no longer become durable
+	void awaitDurable(long sequence);
+
+	boolean isDurable(long sequence);
+}
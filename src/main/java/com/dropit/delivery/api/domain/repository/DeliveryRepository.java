@@ -1,111 +1,52 @@
 package com.dropit.delivery.api.domain.repository;
 
 import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.domain.model.DeliveryCounts;
 import com.dropit.delivery.api.domain.model.DeliveryStatus;
-import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-
-@Repository
-public class DeliveryRepository implements BaseRepository<Delivery, String> {
-	private final Map<String, Delivery> idToDelivery = new ConcurrentHashMap<>();
-
-	@Override
-	public Delivery save(Delivery delivery) {
-		validateDelivery(delivery);
-		idToDelivery.put(delivery.getId(), delivery);
-		return delivery;
-	}
-
-	@Override
-	public Optional<Delivery> findById(String id) {
-		if (isInvalidId(id)) {
-			return Optional.empty();
-		}
-		return Optional.ofNullable(idToDelivery.get(id));
-	}
-
-	@Override
-	public Collection<Delivery> findAll() {
-		return idToDelivery.values();
-	}
-
-	@Override
-	public void delete(String id) {
-		if (isInvalidId(id)) {
-			return;
-		}
-		idToDelivery.remove(id);
-	}
-
-	private void validateDelivery(Delivery delivery) {
-		if (delivery == null) {
-			throw new IllegalArgumentException("Delivery cannot be null");
-		}
-		if (isInvalidId(delivery.getId())) {
-			throw new IllegalArgumentException("Delivery ID cannot be null or empty");
-		}
-	}
-
-	private boolean isInvalidId(String id) {
-		return id == null || id.trim().isEmpty();
-	}
-
-	public List<Delivery> findByDate(LocalDate date) {
-		if (date == null) {
-			return List.of();
-		}
-		return idToDelivery.values().stream()
-				.filter(delivery -> isCreatedOnDate(delivery, date))
-				.collect(Collectors.toCollection(ArrayList::new));
-	}
-
-	public List<Delivery> findByWeek(LocalDate anyDayInWeek) {
-		if (anyDayInWeek == null) {
-			return List.of();
-		}
-		
-		LocalDate weekStart = anyDayInWeek.with(java.time.DayOfWeek.MONDAY);
-		LocalDate weekEnd = weekStart.plusDays(6);
-		
-		return idToDelivery.values().stream()
-				.filter(delivery -> isCreatedInWeek(delivery, weekStart, weekEnd))
-				.collect(Collectors.toCollection(ArrayList::new));
-	}
-
-	private boolean isCreatedOnDate(Delivery delivery, LocalDate date) {
-		return delivery.getCreatedAt() != null 
-				&& delivery.getCreatedAt().toLocalDate().isEqual(date);
-	}
-
-	private boolean isCreatedInWeek(Delivery delivery, LocalDate start, LocalDate end) {
-		if (delivery.getCreatedAt() == null) {
-			return false;
-		}
-		LocalDate createdDate = delivery.getCreatedAt().toLocalDate();
-		return !createdDate.isBefore(start) && !createdDate.isAfter(end);
-	}
-
-	public long countByDate(LocalDate date) {
-		if (date == null) {
-			return 0;
-		}
-		return idToDelivery.values().stream()
-				.filter(delivery -> isActiveOnDate(delivery, date))
-				.count();
-	}
-
-	private boolean isActiveOnDate(Delivery delivery, LocalDate date) {
-		return delivery.getCreatedAt() != null
-				&& delivery.getCreatedAt().toLocalDate().isEqual(date)
-				&& delivery.getStatus() != DeliveryStatus.CANCELLED;
-	}
+import java.util.function.Consumer;
+
+/**
+ * Delivery storage. The engine is chosen with {@code storage.engine}:
+ * {@code memory} (default, {@link InMemoryDeliveryRepository}) or {@code jdbc}.
+ * Dates refer to the day a delivery was created.
+ */
+public interface DeliveryRepository extends BaseRepository<Delivery, String> {
+	List<Delivery> saveAll(Collection<Delivery> deliveries);
+	List<Delivery> findByDate(LocalDate date);
+	// Monday through Sunday of the week containing the given day
+	List<Delivery> findByWeek(LocalDate anyDayInWeek);
+	List<Delivery> findByStatus(DeliveryStatus status);
+	// Deliveries created on the day, excluding cancelled ones
+	long countByDate(LocalDate date);
+
+	/**
+	 * Counts per status and per timeslot of deliveries created in {@code [from, toExclusive)},
+	 * read from counters maintained on every write rather than by visiting deliveries
+	 * (the jdbc engine counts with a covering index scan instead).
+	 */
+	DeliveryCounts countCreatedBetween(LocalDate from, LocalDate toExclusive);
+
+	/**
+	 * Deliveries that are not cancelled, per timeslot, whatever day they were created on.
+	 * Only the given timeslots are counted; those without such deliveries are left out.
+	 */
+	Map<String, Long> countActiveByTimeslot(Collection<String> timeslotIds);
+
+	/**
+	 * Visits every delivery created in {@code [from, toExclusive)}, day by day in ascending
+	 * order, without materializing the range. Writes made during the visit may or may not be seen.
+	 */
+	void forEachCreatedBetween(LocalDate from, LocalDate toExclusive, Consumer<? super Delivery> action);
+
+	/**
+	 * Up to {@code limit} deliveries created in {@code [from, toExclusive)}, ordered by
+	 * (createdAt, id) and starting strictly after {@code after} ({@code null} for the first page).
+	 * Costs O(log n + limit) however deep the page is.
+	 */
+	List<Delivery> findPageCreatedBetween(LocalDate from, LocalDate toExclusive, DeliveryCursor after, int limit);
 }
-
@@ -0,0 +1,458 @@
+package com.dropit.delivery.api.domain.repository;
+
+import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.domain.model.DeliveryCounts;
+import com.dropit.delivery.api.domain.model.DeliveryStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * In-memory delivery store with secondary indexes by created date and by status, plus a
+ * (createdAt, id) ordered index for keyset pagination and per-day timeslot counters.
+ * Indexes are maintained on every write, so date/status queries touch only matching deliveries.
+ * Status changes must be persisted through {@link #save(Delivery)} to be reflected in the indexes.
+ * When a {@link DeliveryJournal} is attached, every write is journaled and returns only once durable;
+ * a write that cannot be made durable is undone before the exception reaches the caller.
+ */
+@Repository
+@ConditionalOnProperty(name = "storage.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryDeliveryRepository implements DeliveryRepository {
+	private final Map<String, Delivery> idToDelivery = new ConcurrentHashMap<>();
+	// Status each delivery is currently indexed under; also serves as the per-id write lock
+	private final Map<String, DeliveryStatus> indexedStatus = new ConcurrentHashMap<>();
+	private final Map<LocalDate, Map<DeliveryStatus, Set<Delivery>>> dateIndex = new ConcurrentHashMap<>();
+	private final Map<DeliveryStatus, Set<Delivery>> statusIndex = new EnumMap<>(DeliveryStatus.class);
+	// Per created date and timeslot: number of deliveries per status, indexed by ordinal
+	private final Map<LocalDate, Map<String, AtomicLongArray>> timeslotCounts = new ConcurrentHashMap<>();
+	// Per timeslot: deliveries not cancelled, whatever their created date
+	private final Map<String, AtomicLong> activeByTimeslot = new ConcurrentHashMap<>();
+	// Every delivery in (createdAt, id) order, for keyset pagination
+	private final ConcurrentNavigableMap<DeliveryCursor, Delivery> createdOrder = new ConcurrentSkipListMap<>();
+	private volatile DeliveryJournal journal;
+
+	public InMemoryDeliveryRepository() {
+		for (DeliveryStatus status : DeliveryStatus.values()) {
+			statusIndex.put(status, ConcurrentHashMap.newKeySet());
+		}
+	}
+
+	/**
+	 * Journals all subsequent writes. Attach after restoring the journaled state, so the
+	 * restore itself is not written back.
+	 */
+	public void attachJournal(DeliveryJournal journal) {
+		this.journal = journal;
+	}
+
+	@Override
+	public Delivery save(Delivery delivery) {
+		validateDelivery(delivery);
+		Applied applied = apply(delivery);
+		try {
+			awaitDurable(applied.sequence());
+		} catch (RuntimeException e) {
+			revert(applied);
+			throw e;
+		}
+		return delivery;
+	}
+
+	@Override
+	public List<Delivery> saveAll(Collection<Delivery> deliveries) {
+		deliveries.forEach(this::validateDelivery);
+		List<Applied> applied = new ArrayList<>(deliveries.size());
+		try {
+			for (Delivery delivery : deliveries) {
+				applied.add(apply(delivery));
+			}
+			// Sequences are durable in order, so waiting for the last one covers the whole batch
+			awaitDurable(applied.stream().mapToLong(Applied::sequence).max().orElse(0));
+		} catch (RuntimeException e) {
+			// Nothing of a failed batch stays in memory unless it already reached the journal
+			DeliveryJournal current = journal;
+			for (int i = applied.size() - 1; i >= 0; i--) {
+				if (current == null || !current.isDurable(applied.get(i).sequence())) {
+					revert(applied.get(i));
+				}
+			}
+			throw e;
+		}
+		return List.copyOf(deliveries);
+	}
+
+	// A write as applied: what it replaced and the journal sequence it waits on
+	private record Applied(Delivery delivery, Delivery previous, long sequence) {}
+
+	// The journal takes its sequence after the change is applied (snapshots rely on that); a change
+	// it rejects is undone before the per-id lock is released
+	private Applied apply(Delivery delivery) {
+		Applied[] applied = new Applied[1];
+		indexedStatus.compute(delivery.getId(), (id, previousStatus) -> {
+			Delivery previous = idToDelivery.put(id, delivery);
+			if (previous != null) {
+				unindex(previous, previousStatus);
+			}
+			index(delivery);
+			reorder(previous, delivery);
+			try {
+				applied[0] = new Applied(delivery, previous, journal(previous, delivery));
+			} catch (RuntimeException e) {
+				undo(delivery, previous);
+				throw e;
+			}
+			return delivery.getStatus();
+		});
+		return applied[0];
+	}
+
+	// After a failed durability wait; leaves the delivery alone if it has been written again since
+	private void revert(Applied applied) {
+		Delivery written = applied.delivery();
+		indexedStatus.compute(written.getId(), (id, status) ->
+				idToDelivery.get(id) == written ? undo(written, applied.previous()) : status);
+	}
+
+	// Caller holds the per-id lock; returns the status to index the id under
+	private DeliveryStatus undo(Delivery written, Delivery previous) {
+		unindex(written, written.getStatus());
+		if (previous == null) {
+			idToDelivery.remove(written.getId());
+			reorder(written, null);
+			return null;
+		}
+		idToDelivery.put(written.getId(), previous);
+		index(previous);
+		reorder(written, previous);
+		return previous.getStatus();
+	}
+
+	private long journal(Delivery previous, Delivery delivery) {
+		DeliveryJournal current = journal;
+		if (current == null) {
+			return 0;
+		}
+		if (previous != null && sameExceptStatus(previous, delivery)) {
+			return current.recordStatusChange(delivery.getId(), delivery.getStatus());
+		}
+		return current.recordSave(delivery);
+	}
+
+	private static boolean sameExceptStatus(Delivery a, Delivery b) {
+		return Objects.equals(a.getUser(), b.getUser())
+				&& Objects.equals(a.getTimeslotId(), b.getTimeslotId())
+				&& Objects.equals(a.getCreatedAt(), b.getCreatedAt());
+	}
+
+	private void awaitDurable(long sequence) {
+		DeliveryJournal current = journal;
+		if (current != null && sequence > 0) {
+			current.awaitDurable(sequence);
+		}
+	}
+
+	@Override
+	public Optional<Delivery> findById(String id) {
+		if (isInvalidId(id)) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(idToDelivery.get(id));
+	}
+
+	@Override
+	public Collection<Delivery> findAll() {
+		return idToDelivery.values();
+	}
+
+	@Override
+	public void delete(String id) {
+		if (isInvalidId(id)) {
+			return;
+		}
+		long[] sequence = new long[1];
+		Delivery[] deleted = new Delivery[1];
+		indexedStatus.computeIfPresent(id, (key, previousStatus) -> {
+			Delivery previous = idToDelivery.remove(key);
+			if (previous == null) {
+				return null;
+			}
+			unindex(previous, previousStatus);
+			reorder(previous, null);
+			DeliveryJournal current = journal;
+			if (current != null) {
+				try {
+					sequence[0] = current.recordDelete(key);
+				} catch (RuntimeException e) {
+					idToDelivery.put(key, previous);
+					index(previous);
+					reorder(null, previous);
+					throw e;
+				}
+			}
+			deleted[0] = previous;
+			return null;
+		});
+		try {
+			awaitDurable(sequence[0]);
+		} catch (RuntimeException e) {
+			restore(deleted[0]);
+			throw e;
+		}
+	}
+
+	private void restore(Delivery deleted) {
+		if (deleted == null) {
+			return;
+		}
+		indexedStatus.compute(deleted.getId(), (id, status) -> {
+			if (idToDelivery.containsKey(id)) {
+				return status;
+			}
+			idToDelivery.put(id, deleted);
+			index(deleted);
+			reorder(null, deleted);
+			return deleted.getStatus();
+		});
+	}
+
+	private void validateDelivery(Delivery delivery) {
+		if (delivery == null) {
+			throw new IllegalArgumentException("Delivery cannot be null");
+		}
+		if (isInvalidId(delivery.getId())) {
+			throw new IllegalArgumentException("Delivery ID cannot be null or empty");
+		}
+	}
+
+	private boolean isInvalidId(String id) {
+		return id == null || id.trim().isEmpty();
+	}
+
+	@Override
+	public List<Delivery> findByDate(LocalDate date) {
+		if (date == null) {
+			return List.of();
+		}
+		List<Delivery> result = new ArrayList<>();
+		collectCreatedOn(date, result);
+		return result;
+	}
+
+	@Override
+	public List<Delivery> findByWeek(LocalDate anyDayInWeek) {
+		if (anyDayInWeek == null) {
+			return List.of();
+		}
+
+		LocalDate weekStart = anyDayInWeek.with(DayOfWeek.MONDAY);
+		List<Delivery> result = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			collectCreatedOn(weekStart.plusDays(i), result);
+		}
+		return result;
+	}
+
+	@Override
+	public List<Delivery> findByStatus(DeliveryStatus status) {
+		if (status == null) {
+			return List.of();
+		}
+		return new ArrayList<>(statusIndex.get(status));
+	}
+
+	@Override
+	public long countByDate(LocalDate date) {
+		if (date == null) {
+			return 0;
+		}
+		Map<DeliveryStatus, Set<Delivery>> byStatus = dateIndex.get(date);
+		if (byStatus == null) {
+			return 0;
+		}
+		return byStatus.entrySet().stream()
+				.filter(entry -> entry.getKey() != DeliveryStatus.CANCELLED)
+				.mapToLong(entry -> entry.getValue().size())
+				.sum();
+	}
+
+	@Override
+	public DeliveryCounts countCreatedBetween(LocalDate from, LocalDate toExclusive) {
+		if (from == null || toExclusive == null || !from.isBefore(toExclusive)) {
+			return DeliveryCounts.builder(from, from).build();
+		}
+		DeliveryCounts.Builder counts = DeliveryCounts.builder(from, toExclusive.minusDays(1));
+		for (LocalDate day = from; day.isBefore(toExclusive); day = day.plusDays(1)) {
+			// Status totals come from the date index, the same source as countByDate
+			Map<DeliveryStatus, Set<Delivery>> byStatus = dateIndex.get(day);
+			if (byStatus != null) {
+				byStatus.forEach((status, deliveries) -> counts.status(status, deliveries.size()));
+			}
+			Map<String, AtomicLongArray> perTimeslot = timeslotCounts.get(day);
+			if (perTimeslot != null) {
+				perTimeslot.forEach((timeslotId, perStatus) -> {
+					for (DeliveryStatus status : DeliveryStatus.values()) {
+						counts.timeslot(timeslotId, status, perStatus.get(status.ordinal()));
+					}
+				});
+			}
+		}
+		return counts.build();
+	}
+
+	@Override
+	public Map<String, Long> countActiveByTimeslot(Collection<String> timeslotIds) {
+		Map<String, Long> counts = new HashMap<>();
+		for (String timeslotId : timeslotIds) {
+			AtomicLong active = activeByTimeslot.get(timeslotId);
+			if (active != null && active.get() > 0) {
+				counts.put(timeslotId, active.get());
+			}
+		}
+		return counts;
+	}
+
+	@Override
+	public void forEachCreatedBetween(LocalDate from, LocalDate toExclusive, Consumer<? super Delivery> action) {
+		if (from == null || toExclusive == null || !from.isBefore(toExclusive)) {
+			return;
+		}
+		if (ChronoUnit.DAYS.between(from, toExclusive) <= dateIndex.size()) {
+			for (LocalDate day = from; day.isBefore(toExclusive); day = day.plusDays(1)) {
+				forEachCreatedOn(day, action);
+			}
+			return;
+		}
+		// Range wider than the indexed days (e.g. several years): visit only days that have deliveries
+		dateIndex.keySet().stream()
+				.filter(day -> !day.isBefore(from) && day.isBefore(toExclusive))
+				.sorted()
+				.forEach(day -> forEachCreatedOn(day, action));
+	}
+
+	@Override
+	public List<Delivery> findPageCreatedBetween(LocalDate from, LocalDate toExclusive, DeliveryCursor after, int limit) {
+		if (from == null || toExclusive == null || limit <= 0) {
+			return List.of();
+		}
+		DeliveryCursor start = DeliveryCursor.startOf(from);
+		DeliveryCursor end = DeliveryCursor.startOf(toExclusive);
+		boolean startInclusive = after == null || after.compareTo(start) < 0;
+		if (!startInclusive) {
+			start = after;
+		}
+		if (start.compareTo(end) >= 0) {
+			return List.of();
+		}
+		List<Delivery> page = new ArrayList<>(Math.min(limit, 256));
+		for (Delivery delivery : createdOrder.subMap(start, startInclusive, end, false).values()) {
+			page.add(delivery);
+			if (page.size() == limit) {
+				break;
+			}
+		}
+		return page;
+	}
+
+	private void collectCreatedOn(LocalDate date, List<Delivery> target) {
+		Map<DeliveryStatus, Set<Delivery>> byStatus = dateIndex.get(date);
+		if (byStatus != null) {
+			byStatus.values().forEach(target::addAll);
+		}
+	}
+
+	private void forEachCreatedOn(LocalDate date, Consumer<? super Delivery> action) {
+		Map<DeliveryStatus, Set<Delivery>> byStatus = dateIndex.get(date);
+		if (byStatus != null) {
+			byStatus.values().forEach(deliveries -> deliveries.forEach(action));
+		}
+	}
+
+	// Replaces in place when the key is unchanged, so page readers never miss a delivery whose status changes
+	private void reorder(Delivery previous, Delivery current) {
+		DeliveryCursor currentKey = current == null || current.getCreatedAt() == null ? null : DeliveryCursor.of(current);
+		if (currentKey != null) {
+			createdOrder.put(currentKey, current);
+		}
+		if (previous != null && previous.getCreatedAt() != null) {
+			DeliveryCursor previousKey = DeliveryCursor.of(previous);
+			if (!previousKey.equals(currentKey)) {
+				createdOrder.remove(previousKey);
+			}
+		}
+	}
+
+	private void index(Delivery delivery) {
+		DeliveryStatus status = delivery.getStatus();
+		if (status == null) {
+			return;
+		}
+		statusIndex.get(status).add(delivery);
+		if (status != DeliveryStatus.CANCELLED && delivery.getTimeslotId() != null) {
+			activeByTimeslot.computeIfAbsent(delivery.getTimeslotId(), id -> new AtomicLong()).incrementAndGet();
+		}
+		if (delivery.getCreatedAt() != null) {
+			LocalDate date = delivery.getCreatedAt().toLocalDate();
+			dateIndex.computeIfAbsent(date, d -> newStatusBuckets())
+					.get(status)
+					.add(delivery);
+			if (delivery.getTimeslotId() != null) {
+				timeslotCounts.computeIfAbsent(date, d -> new ConcurrentHashMap<>())
+						.computeIfAbsent(delivery.getTimeslotId(), id -> new AtomicLongArray(DeliveryStatus.values().length))
+						.incrementAndGet(status.ordinal());
+			}
+		}
+	}
+
+	private void unindex(Delivery delivery, DeliveryStatus status) {
+		if (status == null) {
+			return;
+		}
+		statusIndex.get(status).remove(delivery);
+		if (status != DeliveryStatus.CANCELLED && delivery.getTimeslotId() != null) {
+			AtomicLong active = activeByTimeslot.get(delivery.getTimeslotId());
+			if (active != null) {
+				active.decrementAndGet();
+			}
+		}
+		if (delivery.getCreatedAt() != null) {
+			LocalDate date = delivery.getCreatedAt().toLocalDate();
+			Map<DeliveryStatus, Set<Delivery>> byStatus = dateIndex.get(date);
+			if (byStatus != null) {
+				byStatus.get(status).remove(delivery);
+			}
+			Map<String, AtomicLongArray> perTimeslot = timeslotCounts.get(date);
+			if (perTimeslot != null && delivery.getTimeslotId() != null) {
+				AtomicLongArray perStatus = perTimeslot.get(delivery.getTimeslotId());
+				if (perStatus != null) {
+					perStatus.decrementAndGet(status.ordinal());
+				}
+			}
+		}
+	}
+
+	private Map<DeliveryStatus, Set<Delivery>> newStatusBuckets() {
+		Map<DeliveryStatus, Set<Delivery>> buckets = new EnumMap<>(DeliveryStatus.class);
+		for (DeliveryStatus status : DeliveryStatus.values()) {
+			buckets.put(status, ConcurrentHashMap.newKeySet());
+		}
+		return buckets;
+	}
+}
@@ -0,0 +1,103 @@
+package com.dropit.delivery.api.domain.repository;
+
+import com.dropit.delivery.api.domain.model.Timeslot;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Repository
+@ConditionalOnProperty(name = "storage.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTimeslotRepository implements TimeslotRepository {
+	// Replaced wholesale by replaceAll; single writes go to whichever map is current
+	private volatile Map<String, Timeslot> idToTimeslot = new ConcurrentHashMap<>();
+	// Serializes writers so a save cannot land in a map that replaceAll is about to drop
+	private final Object writeLock = new Object();
+	// Bumped on every write so derived structures (e.g. eligibility indexes) know when to rebuild
+	private final AtomicLong version = new AtomicLong();
+
+	@Override
+	public void saveAll(Collection<Timeslot> timeslots) {
+		if (timeslots == null) {
+			return;
+		}
+		synchronized (writeLock) {
+			timeslots.forEach(timeslot -> saveIfValid(idToTimeslot, timeslot));
+			version.incrementAndGet();
+		}
+	}
+
+	@Override
+	public void replaceAll(Collection<Timeslot> timeslots) {
+		Map<String, Timeslot> replacement = new ConcurrentHashMap<>();
+		if (timeslots != null) {
+			timeslots.forEach(timeslot -> saveIfValid(replacement, timeslot));
+		}
+		synchronized (writeLock) {
+			idToTimeslot = replacement;
+			version.incrementAndGet();
+		}
+	}
+
+	@Override
+	public Timeslot save(Timeslot timeslot) {
+		if (timeslot != null && timeslot.getId() != null) {
+			synchronized (writeLock) {
+				idToTimeslot.put(timeslot.getId(), timeslot);
+				version.incrementAndGet();
+			}
+			return timeslot;
+		}
+		throw new IllegalArgumentException("Timeslot or ID cannot be null");
+	}
+
+	@Override
+	public Optional<Timeslot> findById(String id) {
+		if (isInvalidId(id)) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(idToTimeslot.get(id));
+	}
+
+	@Override
+	public Collection<Timeslot> findAll() {
+		return idToTimeslot.values();
+	}
+
+	@Override
+	public void delete(String id) {
+		if (isInvalidId(id)) {
+			return;
+		}
+		synchronized (writeLock) {
+			if (idToTimeslot.remove(id) != null) {
+				version.incrementAndGet();
+			}
+		}
+	}
+
+	private static void saveIfValid(Map<String, Timeslot> target, Timeslot timeslot) {
+		if (timeslot != null && timeslot.getId() != null) {
+			target.put(timeslot.getId(), timeslot);
+		}
+	}
+
+	private boolean isInvalidId(String id) {
+		return id == null || id.trim().isEmpty();
+	}
+
+	@Override
+	public void clear() {
+		replaceAll(null);
+	}
+
+	@Override
+	public long version() {
+		return version.get();
+	}
+}
+
@@ -0,0 +1,163 @@
+package com.dropit.delivery.api.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded LRU cache with per-entry time-to-live. Reads and writes go through a single
+ * short lock around an access-ordered map; an entry is dropped when it expires or when it is
+ * the least recently used one and the cache is full. Hit, miss and eviction counts are kept
+ * for monitoring.
+ */
+public class BoundedTtlCache<K, V> {
+	private static final class Entry<V> {
+		final V value;
+		final long expiresAtNanos;
+
+		Entry(V value, long expiresAtNanos) {
+			this.value = value;
+			this.expiresAtNanos = expiresAtNanos;
+		}
+	}
+
+	private final int maxSize;
+	private final Duration defaultTtl;
+	private final LongSupplier nanoClock;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final LinkedHashMap<K, Entry<V>> entries;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public BoundedTtlCache(int maxSize, Duration defaultTtl) {
+		this(maxSize, defaultTtl, System::nanoTime);
+	}
+
+	public BoundedTtlCache(int maxSize, Duration defaultTtl, LongSupplier nanoClock) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Cache size must be positive");
+		}
+		this.maxSize = maxSize;
+		this.defaultTtl = defaultTtl;
+		this.nanoClock = nanoClock;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Returns the cached value, or null when the key is absent or its entry has expired.
+	 */
+	public V get(K key) {
+		lock.lock();
+		try {
+			Entry<V> entry = entries.get(key);
+			if (entry != null && isExpired(entry, nanoClock.getAsLong())) {
+				entries.remove(key);
+				evictions.increment();
+				entry = null;
+			}
+			if (entry == null) {
+				misses.increment();
+				return null;
+			}
+			hits.increment();
+			return entry.value;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void put(K key, V value) {
+		put(key, value, defaultTtl);
+	}
+
+	public void put(K key, V value, Duration ttl) {
+		if (value == null) {
+			throw new IllegalArgumentException("Cache value cannot be null");
+		}
+		lock.lock();
+		try {
+			entries.put(key, new Entry<>(value, nanoClock.getAsLong() + ttl.toNanos()));
+			evictEldest();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Stores the value unless a live entry exists for the key, atomically.
+	 * @return the existing value, or null when the given one was stored
+	 */
+	public V putIfAbsent(K key, V value) {
+		if (value == null) {
+			throw new IllegalArgumentException("Cache value cannot be null");
+		}
+		lock.lock();
+		try {
+			long now = nanoClock.getAsLong();
+			Entry<V> entry = entries.get(key);
+			if (entry != null && !isExpired(entry, now)) {
+				hits.increment();
+				return entry.value;
+			}
+			if (entry != null) {
+				evictions.increment();
+			}
+			misses.increment();
+			entries.put(key, new Entry<>(value, now + defaultTtl.toNanos()));
+			evictEldest();
+			return null;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void invalidate(K key) {
+		lock.lock();
+		try {
+			entries.remove(key);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void invalidateAll() {
+		lock.lock();
+		try {
+			entries.clear();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public int size() {
+		lock.lock();
+		try {
+			return entries.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public int getMaxSize() { return maxSize; }
+	public long getHitCount() { return hits.sum(); }
+	public long getMissCount() { return misses.sum(); }
+	public long getEvictionCount() { return evictions.sum(); }
+
+	// Expired entries are dropped lazily on read; on overflow only the least recently used one goes
+	private void evictEldest() {
+		Iterator<K> it = entries.keySet().iterator();
+		while (entries.size() > maxSize && it.hasNext()) {
+			it.next();
+			it.remove();
+			evictions.increment();
+		}
+	}
+
+	private static boolean isExpired(Entry<?> entry, long now) {
+		return now - entry.expiresAtNanos >= 0;
+	}
+}
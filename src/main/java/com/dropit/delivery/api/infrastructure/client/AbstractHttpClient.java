@@ -1,64 +1,85 @@
 package com.dropit.delivery.api.infrastructure.client;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
-import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestClientResponseException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
 
 public abstract class AbstractHttpClient {
 	protected static final Logger logger = LoggerFactory.getLogger(AbstractHttpClient.class);
-	protected final RestClient restClient;
+	protected final HttpTransport transport;
 	protected final ObjectMapper objectMapper;
 	protected final String baseUrl;
 	protected final String apiKey;
+	private final Timer successTimer;
+	private final Timer errorTimer;
 
-	protected AbstractHttpClient(String baseUrl, String apiKey) {
-		this.restClient = RestClient.create();
+	protected AbstractHttpClient(HttpTransport transport, String baseUrl, String apiKey, MeterRegistry meterRegistry) {
+		this.transport = transport;
 		this.objectMapper = new ObjectMapper();
 		this.baseUrl = baseUrl;
 		this.apiKey = apiKey;
+		String host = hostOf(baseUrl);
+		this.successTimer = requestTimer(meterRegistry, host, "success");
+		this.errorTimer = requestTimer(meterRegistry, host, "error");
+	}
+
+	private static Timer requestTimer(MeterRegistry meterRegistry, String host, String outcome) {
+		return Timer.builder("outbound.http.requests")
+				.description("Latency of calls to external APIs")
+				.tag("host", host)
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+
+	private static String hostOf(String baseUrl) {
+		try {
+			String host = URI.create(baseUrl).getHost();
+			return host != null ? host : "unknown";
+		} catch (RuntimeException e) {
+			return "unknown";
+		}
 	}
 
 	protected boolean isApiConfigured() {
 		return StringUtils.hasText(apiKey);
 	}
 
-	protected JsonNode fetchAndParseJson(String url) throws Exception {
+	/**
+	 * Passes a parser over the response body to the reader as the bytes arrive; the reader
+	 * pulls the tokens it needs and may stop early. Non-2xx responses are never parsed.
+	 */
+	protected <T> T fetchAndRead(String url, ResponseReader<T> reader) throws Exception {
+		long start = System.nanoTime();
+		boolean succeeded = false;
 		try {
-			ResponseEntity<String> response = restClient.get()
+			T result = transport.executeHedged(restClient -> restClient.get()
 					.uri(url)
-					.retrieve()
-					.onStatus(status -> status.is4xxClientError() || status.is5xxServerError(), (req, res) -> {
-						String sanitizedUrl = url.replace(apiKey, "***");
-						logger.warn("HTTP error from external API: {} - Status: {}", sanitizedUrl, res.getStatusCode());
-						if (res.getStatusCode().is4xxClientError()) {
-							logger.warn("Client error (4xx) - possibly invalid API key or malformed request");
-						} else if (res.getStatusCode().is5xxServerError()) {
-							logger.warn("Server error (5xx) - external API is down or having issues");
+					.exchange((request, response) -> {
+						if (response.getStatusCode().isError()) {
+							String sanitizedUrl = url.replace(apiKey, "***");
+							logger.warn("HTTP error from external API: {} - Status: {}", sanitizedUrl, response.getStatusCode());
+							if (response.getStatusCode().is4xxClientError()) {
+								logger.warn("Client error (4xx) - possibly invalid API key or malformed request");
+							} else if (response.getStatusCode().is5xxServerError()) {
+								logger.warn("Server error (5xx) - external API is down or having issues");
+							}
+							throw new IllegalStateException("Non-2xx status code: " + response.getStatusCode());
 						}
-					})
-					.toEntity(String.class);
-
-			if (response.getBody() == null) {
-				throw new IllegalStateException("Empty response body from external API");
-			}
-
-			if (!response.getStatusCode().is2xxSuccessful()) {
-				logger.error("Non-2xx status code from external API: {} - Status: {}", 
-						url.replace(apiKey, "***"), response.getStatusCode());
-				throw new IllegalStateException("Non-2xx status code: " + response.getStatusCode());
-			}
-
-			return objectMapper.readTree(response.getBody());
-		} catch (RestClientResponseException e) {
-			logger.error("HTTP error from external API: {} - Status: {} - Body: {}", 
-					url.replace(apiKey, "***"), e.getStatusCode(), e.getResponseBodyAsString(), e);
-			throw new Exception("HTTP error: " + e.getStatusCode() + " - " + e.getMessage(), e);
+						try (JsonParser parser = objectMapper.getFactory().createParser(response.getBody())) {
+							return reader.read(parser);
+						}
+					}));
+			succeeded = true;
+			return result;
 		} catch (RestClientException e) {
 			logger.error("RestClient exception from external API: {} - Error: {}", 
 					url.replace(apiKey, "***"), e.getMessage(), e);
@@ -67,6 +88,14 @@ public abstract class AbstractHttpClient {
 			logger.error("Unexpected exception calling external API: {} - Error: {}", 
 					url.replace(apiKey, "***"), e.getMessage(), e);
 			throw e;
+		} finally {
+			(succeeded ? successTimer : errorTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 		}
 	}
+
+	// Consumes a response body token by token
+	@FunctionalInterface
+	protected interface ResponseReader<T> {
+		T read(JsonParser parser) throws IOException;
+	}
 }
@@ -6,82 +6,117 @@ import org.springframework.stereotype.Component;
 /**
  * Parses free-text addresses into structured Address objects.
  * Handles naive parsing logic without external dependencies.
+ * Scans the input once by index: no regex, no intermediate arrays, only the result strings
+ * are allocated. This parser takes all traffic while the geocoding API is down.
  */
 @Component
 public class AddressParser {
+	private static final Address EMPTY = new Address("", "", "", "", "", "");
 
 	public Address parse(String searchTerm) {
-		String[] parts = searchTerm.split(",");
-		if (parts.length == 0) {
-			return emptyAddress();
+		// Trailing empty parts are ignored, so "a,b,," is the same as "a,b"
+		int limit = searchTerm.length();
+		while (limit > 0 && searchTerm.charAt(limit - 1) == ',') {
+			limit--;
 		}
-
-		var parsedAddress = new ParsedAddress();
-		
-		// Parse street and house number from first part
-		parseStreetAndNumber(parts[0].trim(), parsedAddress);
-		
-		// Parse remaining parts: city, country, postcode
-		if (parts.length >= 2) {
-			parsedAddress.city = parts[1].trim();
+		if (limit == 0) {
+			return EMPTY;
 		}
-		
-		// Process remaining parts (country/postcode can appear in different orders)
-		for (int i = 2; i < parts.length; i++) {
-			String part = parts[i].trim();
-			if (isPostcode(part)) {
-				parsedAddress.postcode = part;
-			} else if (parsedAddress.country.isEmpty()) {
-				parsedAddress.country = part;
+
+		String street = "";
+		String line1 = "";
+		String city = "";
+		String postcode = "";
+		String country = "";
+
+		int partIndex = 0;
+		int partStart = 0;
+		while (partStart <= limit) {
+			int partEnd = searchTerm.indexOf(',', partStart);
+			if (partEnd < 0 || partEnd > limit) {
+				partEnd = limit;
+			}
+			int start = trimStart(searchTerm, partStart, partEnd);
+			int end = trimEnd(searchTerm, start, partEnd);
+
+			if (partIndex == 0) {
+				// Street and house number: the last whitespace-separated token is the number if it starts with a digit
+				if (start < end) {
+					int tokenStart = end;
+					while (tokenStart > start && !isWhitespace(searchTerm.charAt(tokenStart - 1))) {
+						tokenStart--;
+					}
+					if (isHouseNumber(searchTerm, tokenStart, end)) {
+						line1 = searchTerm.substring(tokenStart, end);
+						int streetEnd = trimEnd(searchTerm, start, tokenStart);
+						street = searchTerm.substring(start, streetEnd);
+					} else {
+						street = searchTerm.substring(start, end);
+					}
+				}
+			} else if (partIndex == 1) {
+				city = searchTerm.substring(start, end);
+			} else if (isPostcode(searchTerm, start, end)) {
+				// Country and postcode can appear in either order
+				postcode = searchTerm.substring(start, end);
+			} else if (country.isEmpty()) {
+				country = searchTerm.substring(start, end);
 			}
+
+			partIndex++;
+			partStart = partEnd + 1;
 		}
-		
-		return new Address(
-				parsedAddress.street,
-				parsedAddress.line1,
-				"",
-				parsedAddress.country,
-				parsedAddress.postcode,
-				parsedAddress.city
-		);
+
+		return new Address(street, line1, "", country, postcode, city);
 	}
 
-	private void parseStreetAndNumber(String addressPart, ParsedAddress parsedAddress) {
-		if (addressPart.isEmpty()) {
-			return;
+	// Same characters String.trim() removes
+	private static int trimStart(String s, int from, int to) {
+		while (from < to && s.charAt(from) <= ' ') {
+			from++;
 		}
+		return from;
+	}
 
-		String[] tokens = addressPart.split("\\s+");
-		if (tokens.length == 0) {
-			parsedAddress.street = addressPart;
-			return;
+	private static int trimEnd(String s, int from, int to) {
+		while (to > from && s.charAt(to - 1) <= ' ') {
+			to--;
 		}
+		return to;
+	}
 
-		// Check if last token looks like a house number (starts with digit)
-		String lastToken = tokens[tokens.length - 1];
-		if (lastToken.matches("\\d+.*")) {
-			parsedAddress.line1 = lastToken;
-			parsedAddress.street = addressPart.substring(0, addressPart.lastIndexOf(lastToken)).trim();
-		} else {
-			parsedAddress.street = addressPart;
-		}
+	// Token separators: the characters matched by the regex class \s
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
 	}
 
-	private boolean isPostcode(String value) {
-		return !value.isEmpty() && value.matches("\\d+");
+	// Starts with a digit; the rest is any characters except line terminators
+	private static boolean isHouseNumber(String s, int from, int to) {
+		if (from >= to || !isDigit(s.charAt(from))) {
+			return false;
+		}
+		for (int i = from + 1; i < to; i++) {
+			char c = s.charAt(i);
+			if (c == '\u0085' || c == '\u2028' || c == '\u2029') {
+				return false;
+			}
+		}
+		return true;
 	}
 
-	private Address emptyAddress() {
-		return new Address("", "", "", "", "", "");
+	private static boolean isPostcode(String s, int from, int to) {
+		if (from >= to) {
+			return false;
+		}
+		for (int i = from; i < to; i++) {
+			if (!isDigit(s.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
 	}
 
-	// Helper class for building address during parsing
-	private static class ParsedAddress {
-		String street = "";
-		String line1 = "";
-		String city = "";
-		String postcode = "";
-		String country = "";
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
 	}
 }
-
@@ -1,7 +1,9 @@
 package com.dropit.delivery.api.infrastructure.client;
 
 import com.dropit.delivery.api.domain.model.Address;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.dropit.delivery.api.infrastructure.cache.BoundedTtlCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,10 +12,20 @@ import org.springframework.util.StringUtils;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Orchestrates address resolution using external API (Geoapify) with fallback to naive parsing.
  * Delegates parsing logic to specialized parsers (SRP: orchestration only).
+ * API outcomes are cached per normalized search term; "no results" is cached for a shorter time.
  */
 @Component
 public class AddressResolverClient extends AbstractHttpClient {
@@ -21,68 +33,194 @@ public class AddressResolverClient extends AbstractHttpClient {
 	
 	private final AddressParser addressParser;
 	private final GeoapifyAddressParser geoapifyParser;
+	// Normalized term -> API outcome; Optional.empty() records that the API had no results
+	private final BoundedTtlCache<String, Optional<Address>> resolutionCache;
+	private final Duration negativeTtl;
+	private final OutboundExecutor outboundExecutor;
+	private final CircuitBreaker circuitBreaker;
+	private final int batchConcurrency;
+	private final Counter resolvedByApi;
+	private final Counter resolvedFromCache;
+	private final Counter resolvedByFallback;
 
 	public AddressResolverClient(
 			@Value("${geoapify.api.base-url}") String baseUrl,
 			@Value("${geoapify.api.key}") String apiKey,
 			AddressParser addressParser,
-			GeoapifyAddressParser geoapifyParser) {
-		super(baseUrl, apiKey);
+			GeoapifyAddressParser geoapifyParser,
+			@Value("${geoapify.cache.max-size:10000}") int cacheMaxSize,
+			@Value("${geoapify.cache.ttl-ms:86400000}") long cacheTtlMs,
+			@Value("${geoapify.cache.negative-ttl-ms:600000}") long negativeTtlMs,
+			OutboundExecutor outboundExecutor,
+			@Value("${geoapify.batch.max-concurrency:8}") int batchConcurrency,
+			HttpTransportFactory transports,
+			CircuitBreaker circuitBreaker,
+			MeterRegistry meterRegistry) {
+		super(transports.forClient("geoapify"), baseUrl, apiKey, meterRegistry);
 		this.addressParser = addressParser;
 		this.geoapifyParser = geoapifyParser;
+		this.resolutionCache = new BoundedTtlCache<>(cacheMaxSize, Duration.ofMillis(cacheTtlMs));
+		this.negativeTtl = Duration.ofMillis(negativeTtlMs);
+		this.outboundExecutor = outboundExecutor;
+		this.circuitBreaker = circuitBreaker;
+		this.batchConcurrency = Math.max(1, batchConcurrency);
+		this.resolvedByApi = resolutions(meterRegistry, "api");
+		this.resolvedFromCache = resolutions(meterRegistry, "cache");
+		this.resolvedByFallback = resolutions(meterRegistry, "fallback");
+	}
+
+	private static Counter resolutions(MeterRegistry meterRegistry, String source) {
+		return Counter.builder("address.resolutions")
+				.description("Address resolutions by the source that produced the answer")
+				.tag("source", source)
+				.register(meterRegistry);
 	}
 
 	public Address resolve(String searchTerm) {
 		if (!StringUtils.hasText(searchTerm)) {
+			resolvedByFallback.increment();
 			return addressParser.parse("");
 		}
 
 		// If API key is not configured, use naive parsing
 		if (!StringUtils.hasText(apiKey)) {
+			resolvedByFallback.increment();
+			return addressParser.parse(searchTerm);
+		}
+
+		String cacheKey = normalizeTerm(searchTerm);
+		Optional<Address> cached = resolutionCache.get(cacheKey);
+		if (cached != null && cached.isPresent()) {
+			logger.debug("Resolved address from cache for term: {}", searchTerm);
+			resolvedFromCache.increment();
+			return cached.get();
+		}
+		if (cached != null) {
+			logger.debug("Cached no-results answer for term: {}, using naive parsing", searchTerm);
+			resolvedByFallback.increment();
+			return addressParser.parse(searchTerm);
+		}
+
+		// While Geoapify keeps failing or stalling, skip it instead of waiting for each call to fail
+		if (!circuitBreaker.tryAcquirePermission()) {
+			logger.debug("Geoapify circuit open, using naive parsing for term: {}", searchTerm);
+			resolvedByFallback.increment();
 			return addressParser.parse(searchTerm);
 		}
 
 		// Try API first, fallback to naive parsing on failure
+		Address apiAddress = null;
+		boolean succeeded = false;
+		long start = System.nanoTime();
 		try {
-			Address apiAddress = resolveWithApi(searchTerm);
+			apiAddress = resolveWithApi(searchTerm);
+			succeeded = true;
+		} catch (Exception e) {
+			logger.warn("Failed to resolve address via API for term: {}, falling back to naive parsing", searchTerm, e);
+		} finally {
+			long elapsed = System.nanoTime() - start;
+			if (succeeded) {
+				circuitBreaker.onSuccess(elapsed);
+			} else {
+				circuitBreaker.onFailure(elapsed);
+			}
+		}
+
+		if (succeeded) {
+			cacheOutcome(cacheKey, apiAddress);
 			if (apiAddress != null) {
 				logger.debug("Successfully resolved address via Geoapify API for term: {}", searchTerm);
+				resolvedByApi.increment();
 				return apiAddress;
-			} else {
-				logger.debug("No results from Geoapify API for term: {}, falling back to naive parsing", searchTerm);
 			}
-		} catch (Exception e) {
-			logger.warn("Failed to resolve address via API for term: {}, falling back to naive parsing", searchTerm, e);
+			logger.debug("No results from Geoapify API for term: {}, falling back to naive parsing", searchTerm);
 		}
-		
+
+		resolvedByFallback.increment();
 		return addressParser.parse(searchTerm);
 	}
 
+	/**
+	 * Resolves many terms at once. Terms that differ only in commas and spacing are resolved
+	 * once, at most {@code geoapify.batch.max-concurrency} lookups run at a time on the outbound
+	 * executor, and an item that still fails is parsed locally. Results are in input order.
+	 */
+	public List<Address> resolveAll(List<String> searchTerms) {
+		// Normalized term -> first spelling seen, which is the one looked up; the cache and the
+		// API request use the normalized form anyway
+		Map<String, String> unique = new LinkedHashMap<>();
+		searchTerms.forEach(term -> unique.putIfAbsent(batchKey(term), term));
+		List<String> keys = new ArrayList<>(unique.keySet());
+		Address[] results = new Address[keys.size()];
+
+		// Workers pull the next unresolved term from a shared cursor until none are left
+		AtomicInteger next = new AtomicInteger();
+		Runnable worker = () -> {
+			for (int i = next.getAndIncrement(); i < keys.size(); i = next.getAndIncrement()) {
+				results[i] = resolveOrParse(unique.get(keys.get(i)));
+			}
+		};
+		int workers = Math.min(batchConcurrency, keys.size());
+		List<CompletableFuture<Void>> running = new ArrayList<>(workers);
+		for (int w = 0; w < workers; w++) {
+			running.add(CompletableFuture.runAsync(worker, outboundExecutor));
+		}
+		CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)).join();
+
+		Map<String, Address> resolved = new HashMap<>();
+		for (int i = 0; i < keys.size(); i++) {
+			resolved.put(keys.get(i), results[i]);
+		}
+		return searchTerms.stream().map(term -> resolved.get(batchKey(term))).toList();
+	}
+
+	private static String batchKey(String searchTerm) {
+		return searchTerm == null ? null : normalizeTerm(searchTerm);
+	}
+
+	private Address resolveOrParse(String searchTerm) {
+		try {
+			return resolve(searchTerm);
+		} catch (RuntimeException e) {
+			logger.warn("Failed to resolve address for term: {}, falling back to naive parsing", searchTerm, e);
+			resolvedByFallback.increment();
+			return addressParser.parse(searchTerm == null ? "" : searchTerm);
+		}
+	}
+
+	public BoundedTtlCache<String, Optional<Address>> getResolutionCache() {
+		return resolutionCache;
+	}
+
+	public CircuitBreaker getCircuitBreaker() {
+		return circuitBreaker;
+	}
+
+	// Failures are not cached, so the next lookup retries the API
+	private void cacheOutcome(String cacheKey, Address apiAddress) {
+		if (apiAddress != null) {
+			resolutionCache.put(cacheKey, Optional.of(apiAddress));
+		} else {
+			resolutionCache.put(cacheKey, Optional.empty(), negativeTtl);
+		}
+	}
+
 	private Address resolveWithApi(String searchTerm) throws Exception {
 		String url = buildApiUrl(searchTerm);
 		logger.debug("Calling Geoapify API with URL: {}", url.replace(apiKey, "***"));
 		
-		JsonNode json = fetchAndParseJson(url);
-		logger.debug("Geoapify API raw response (first 500 chars): {}", 
-				json.toString().length() > 500 ? json.toString().substring(0, 500) : json.toString());
-		logger.debug("Geoapify API response has 'results': {}, has 'features': {}", 
-				json.has("results"), json.has("features"));
-		
-		// Check if response has results array
-		if (json.has("results")) {
-			JsonNode results = json.path("results");
-			logger.debug("Results array size: {}", results.isArray() ? results.size() : "not an array");
-		}
-		
-		return geoapifyParser.parse(json);
+		return fetchAndRead(url, geoapifyParser::parse);
 	}
 
 	private String buildApiUrl(String searchTerm) {
 		// Geoapify API works better when commas are replaced with spaces
 		// URLEncoder.encode converts commas to %2C which Geoapify doesn't handle well
 		// So we'll replace commas with spaces before encoding
-		String cleanedTerm = searchTerm.replace(",", " ").replaceAll("\\s+", " ").trim();
-		String encodedTerm = URLEncoder.encode(cleanedTerm, StandardCharsets.UTF_8);
+		String encodedTerm = URLEncoder.encode(normalizeTerm(searchTerm), StandardCharsets.UTF_8);
 		return baseUrl + "?text=" + encodedTerm + "&format=json&apiKey=" + apiKey;
 	}
+
+	private static String normalizeTerm(String searchTerm) {
+		return searchTerm.replace(",", " ").replaceAll("\\s+", " ").trim();
+	}
 }
@@ -0,0 +1,199 @@
+package com.dropit.delivery.api.infrastructure.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker over the outcomes of the last {@code windowSize} calls. It opens when, with at
+ * least {@code minimumCalls} recorded, the share of failed calls or of slow calls reaches its
+ * threshold. While open every call is refused; after {@code openDuration} it lets
+ * {@code halfOpenProbes} trial calls through, closing again when all of them succeed quickly
+ * and reopening on the first failed or slow one.
+ */
+public class CircuitBreaker {
+	private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+	public enum State { CLOSED, OPEN, HALF_OPEN }
+
+	private final String name;
+	private final int minimumCalls;
+	private final double failureRateThreshold;
+	private final long slowCallNanos;
+	private final double slowCallRateThreshold;
+	private final long openNanos;
+	private final int halfOpenProbes;
+	private final LongSupplier nanoClock;
+	private final ReentrantLock lock = new ReentrantLock();
+
+	// Ring buffer of recent outcomes while closed
+	private final boolean[] failedCalls;
+	private final boolean[] slowCalls;
+	private int next;
+	private int recorded;
+	private int failures;
+	private int slow;
+
+	private State state = State.CLOSED;
+	private long openedAtNanos;
+	private int probesStarted;
+	private int probesSucceeded;
+
+	private final LongAdder notPermitted = new LongAdder();
+	private final LongAdder opened = new LongAdder();
+
+	public CircuitBreaker(
+			String name,
+			int windowSize,
+			int minimumCalls,
+			double failureRateThreshold,
+			Duration slowCallThreshold,
+			double slowCallRateThreshold,
+			Duration openDuration,
+			int halfOpenProbes) {
+		this(name, windowSize, minimumCalls, failureRateThreshold, slowCallThreshold, slowCallRateThreshold,
+				openDuration, halfOpenProbes, System::nanoTime);
+	}
+
+	public CircuitBreaker(
+			String name,
+			int windowSize,
+			int minimumCalls,
+			double failureRateThreshold,
+			Duration slowCallThreshold,
+			double slowCallRateThreshold,
+			Duration openDuration,
+			int halfOpenProbes,
+			LongSupplier nanoClock) {
+		if (windowSize <= 0 || halfOpenProbes <= 0) {
+			throw new IllegalArgumentException("Window size and half-open probes must be positive");
+		}
+		this.name = name;
+		this.minimumCalls = Math.max(1, Math.min(minimumCalls, windowSize));
+		this.failureRateThreshold = failureRateThreshold;
+		this.slowCallNanos = slowCallThreshold.toNanos();
+		this.slowCallRateThreshold = slowCallRateThreshold;
+		this.openNanos = openDuration.toNanos();
+		this.halfOpenProbes = halfOpenProbes;
+		this.nanoClock = nanoClock;
+		this.failedCalls = new boolean[windowSize];
+		this.slowCalls = new boolean[windowSize];
+	}
+
+	/**
+	 * Whether a call may go ahead now. Every permitted call must be followed by
+	 * {@link #onSuccess} or {@link #onFailure}.
+	 */
+	public boolean tryAcquirePermission() {
+		lock.lock();
+		try {
+			if (state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= openNanos) {
+				transitionTo(State.HALF_OPEN);
+			}
+			boolean permitted = switch (state) {
+				case CLOSED -> true;
+				case OPEN -> false;
+				case HALF_OPEN -> probesStarted < halfOpenProbes;
+			};
+			if (!permitted) {
+				notPermitted.increment();
+			} else if (state == State.HALF_OPEN) {
+				probesStarted++;
+			}
+			return permitted;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void onSuccess(long durationNanos) {
+		record(false, durationNanos >= slowCallNanos);
+	}
+
+	public void onFailure(long durationNanos) {
+		record(true, durationNanos >= slowCallNanos);
+	}
+
+	public State getState() {
+		lock.lock();
+		try {
+			return state;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public String getName() { return name; }
+	public long getNotPermittedCount() { return notPermitted.sum(); }
+	public long getOpenedCount() { return opened.sum(); }
+
+	private void record(boolean failed, boolean wasSlow) {
+		lock.lock();
+		try {
+			switch (state) {
+				case CLOSED -> {
+					remember(failed, wasSlow);
+					if (recorded >= minimumCalls
+							&& (rate(failures) >= failureRateThreshold || rate(slow) >= slowCallRateThreshold)) {
+						transitionTo(State.OPEN);
+					}
+				}
+				case HALF_OPEN -> {
+					if (failed || wasSlow) {
+						transitionTo(State.OPEN);
+					} else if (++probesSucceeded >= halfOpenProbes) {
+						transitionTo(State.CLOSED);
+					}
+				}
+				// A call permitted before the breaker opened; its outcome no longer matters
+				case OPEN -> { }
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void remember(boolean failed, boolean wasSlow) {
+		if (recorded == failedCalls.length) {
+			failures -= failedCalls[next] ? 1 : 0;
+			slow -= slowCalls[next] ? 1 : 0;
+		} else {
+			recorded++;
+		}
+		failedCalls[next] = failed;
+		slowCalls[next] = wasSlow;
+		failures += failed ? 1 : 0;
+		slow += wasSlow ? 1 : 0;
+		next = (next + 1) % failedCalls.length;
+	}
+
+	private double rate(int count) {
+		return 100.0 * count / recorded;
+	}
+
+	private void transitionTo(State target) {
+		logger.info("Circuit breaker '{}' {} -> {} (failures={}, slow={}, calls={})",
+				name, state, target, failures, slow, recorded);
+		state = target;
+		switch (target) {
+			case OPEN -> {
+				openedAtNanos = nanoClock.getAsLong();
+				opened.increment();
+			}
+			case HALF_OPEN -> {
+				probesStarted = 0;
+				probesSucceeded = 0;
+			}
+			case CLOSED -> {
+				next = 0;
+				recorded = 0;
+				failures = 0;
+				slow = 0;
+			}
+		}
+	}
+}
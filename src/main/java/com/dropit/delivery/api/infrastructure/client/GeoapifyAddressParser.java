@@ -1,48 +1,90 @@
 package com.dropit.delivery.api.infrastructure.client;
 
 import com.dropit.delivery.api.domain.model.Address;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Parses Geoapify API JSON responses into Address objects.
  * Handles different field name variations from Geoapify API.
+ * Reads the response as a token stream: only the first result's address fields are kept, the
+ * rest of the response (other results, geometry, rankings) is skipped without being built.
  */
 @Component
 public class GeoapifyAddressParser {
 	private static final Logger logger = LoggerFactory.getLogger(GeoapifyAddressParser.class);
 
-	public Address parse(JsonNode json) {
-		var results = json.path("results");
+	private static final Set<String> ADDRESS_FIELDS = Set.of(
+			"street", "address_line1", "housenumber", "house_number", "country_code", "country", "postcode", "city");
+
+	/**
+	 * @return the first result's address, or null when the response has no results
+	 */
+	public Address parse(JsonParser parser) throws IOException {
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			throw new IOException("Geoapify response is not a JSON object");
+		}
+
+		Map<String, String> firstResult = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.currentName();
+			JsonToken value = parser.nextToken();
+			if ("results".equals(field) && value == JsonToken.START_ARRAY) {
+				firstResult = readFirstResult(parser);
+			} else {
+				parser.skipChildren();
+			}
+		}
 
-		if (!results.isArray() || results.size() == 0) {
+		if (firstResult == null) {
 			logger.debug("No results in Geoapify API response");
 			return null; // Indicate no results
 		}
 
-		var firstResult = results.get(0);
-		
 		String street = getFieldOrFallback(firstResult, "street", "address_line1");
 		String housenumber = getFieldOrFallback(firstResult, "housenumber", "house_number");
 		String country = getFieldOrFallback(firstResult, "country_code", "country");
-		String postcode = getFieldValue(firstResult, "postcode");
-		String city = getFieldValue(firstResult, "city");
-		
-		logger.debug("Parsed Geoapify response: street={}, housenumber={}, city={}, postcode={}, country={}", 
+		String postcode = firstResult.getOrDefault("postcode", "");
+		String city = firstResult.getOrDefault("city", "");
+
+		logger.debug("Parsed Geoapify response: street={}, housenumber={}, city={}, postcode={}, country={}",
 				street, housenumber, city, postcode, country);
-		
+
 		return new Address(street, housenumber, "", country, postcode, city);
 	}
 
-	private String getFieldOrFallback(JsonNode node, String primaryField, String fallbackField) {
-		String value = getFieldValue(node, primaryField);
-		return value.isEmpty() ? getFieldValue(node, fallbackField) : value;
+	// Positioned on the array's START_ARRAY; leaves the parser on its END_ARRAY
+	private Map<String, String> readFirstResult(JsonParser parser) throws IOException {
+		Map<String, String> fields = null;
+		for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+			if (fields != null || token != JsonToken.START_OBJECT) {
+				parser.skipChildren();
+				continue;
+			}
+			fields = new HashMap<>();
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.currentName();
+				JsonToken value = parser.nextToken();
+				if (ADDRESS_FIELDS.contains(field) && value.isScalarValue()) {
+					fields.put(field, parser.getValueAsString(""));
+				} else {
+					parser.skipChildren();
+				}
+			}
+		}
+		return fields;
 	}
 
-	private String getFieldValue(JsonNode node, String fieldName) {
-		return node.path(fieldName).asText("");
+	private String getFieldOrFallback(Map<String, String> fields, String primaryField, String fallbackField) {
+		String value = fields.getOrDefault(primaryField, "");
+		return value.isEmpty() ? fields.getOrDefault(fallbackField, "") : value;
 	}
 }
-
@@ -0,0 +1,151 @@
+package com.dropit.delivery.api.infrastructure.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * File-backed tier under the in-memory holiday cache, so calendars survive restarts.
+ * The file is a compact binary snapshot: a header, then per key its expiry, whether it
+ * came from the API, and the holidays as sorted epoch days. Every write replaces the
+ * file atomically (temp file + move), so a crash never leaves a half-written cache.
+ * A blank {@code holiday.cache.file} disables the tier.
+ */
+@Component
+public class HolidayCacheStore {
+	private static final Logger logger = LoggerFactory.getLogger(HolidayCacheStore.class);
+	private static final int MAGIC = 0x484F4C43; // "HOLC"
+	private static final short FORMAT_VERSION = 1;
+
+	public static final class StoredCalendar {
+		private final Set<LocalDate> holidays;
+		private final Instant expiresAt;
+		private final boolean fromApi;
+
+		public StoredCalendar(Set<LocalDate> holidays, Instant expiresAt, boolean fromApi) {
+			this.holidays = holidays;
+			this.expiresAt = expiresAt;
+			this.fromApi = fromApi;
+		}
+
+		public Set<LocalDate> getHolidays() { return holidays; }
+		public Instant getExpiresAt() { return expiresAt; }
+		public boolean isFromApi() { return fromApi; }
+	}
+
+	private final Path file;
+	// Mirror of the file contents; guarded by this
+	private final Map<String, StoredCalendar> entries = new LinkedHashMap<>();
+
+	public HolidayCacheStore(@Value("${holiday.cache.file:}") String file) {
+		this.file = StringUtils.hasText(file) ? Path.of(file.trim()) : null;
+		if (this.file != null) {
+			entries.putAll(read(this.file));
+			logger.info("Holiday cache file {} loaded with {} entries", this.file, entries.size());
+		}
+	}
+
+	public boolean isEnabled() {
+		return file != null;
+	}
+
+	public synchronized Map<String, StoredCalendar> loadAll() {
+		return Map.copyOf(entries);
+	}
+
+	/**
+	 * Records the calendar and rewrites the file. Failures are logged and swallowed:
+	 * losing the disk tier must never fail a holiday lookup.
+	 */
+	public synchronized void put(String key, StoredCalendar calendar) {
+		if (file == null) {
+			return;
+		}
+		entries.put(key, calendar);
+		try {
+			write(file, entries);
+		} catch (IOException e) {
+			logger.warn("Failed to write holiday cache file {}", file, e);
+		}
+	}
+
+	private static Map<String, StoredCalendar> read(Path file) {
+		Map<String, StoredCalendar> loaded = new LinkedHashMap<>();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readShort() != FORMAT_VERSION) {
+				logger.warn("Ignoring holiday cache file {} with unknown format", file);
+				return Map.of();
+			}
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				String key = in.readUTF();
+				Instant expiresAt = Instant.ofEpochMilli(in.readLong());
+				boolean fromApi = in.readBoolean();
+				int days = in.readInt();
+				Set<LocalDate> holidays = new HashSet<>(days * 2);
+				for (int d = 0; d < days; d++) {
+					holidays.add(LocalDate.ofEpochDay(in.readInt()));
+				}
+				loaded.put(key, new StoredCalendar(Set.copyOf(holidays), expiresAt, fromApi));
+			}
+			return loaded;
+		} catch (NoSuchFileException e) {
+			return Map.of();
+		} catch (IOException | RuntimeException e) {
+			logger.warn("Ignoring unreadable holiday cache file {}", file, e);
+			return Map.of();
+		}
+	}
+
+	private static void write(Path file, Map<String, StoredCalendar> entries) throws IOException {
+		Path parent = file.toAbsolutePath().getParent();
+		Files.createDirectories(parent);
+		Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeShort(FORMAT_VERSION);
+				out.writeInt(entries.size());
+				for (Map.Entry<String, StoredCalendar> entry : entries.entrySet()) {
+					StoredCalendar calendar = entry.getValue();
+					out.writeUTF(entry.getKey());
+					out.writeLong(calendar.getExpiresAt().toEpochMilli());
+					out.writeBoolean(calendar.isFromApi());
+					int[] days = calendar.getHolidays().stream().mapToInt(day -> (int) day.toEpochDay()).toArray();
+					Arrays.sort(days);
+					out.writeInt(days.length);
+					for (int day : days) {
+						out.writeInt(day);
+					}
+				}
+			}
+			try {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+}
@@ -1,23 +1,29 @@
 package com.dropit.delivery.api.infrastructure.client;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 @Component
 public class HolidayClient extends AbstractHttpClient {
@@ -25,23 +31,74 @@ public class HolidayClient extends AbstractHttpClient {
     private static final Duration SUCCESS_TTL = Duration.ofHours(24);
     private static final Duration FAILURE_TTL = Duration.ofHours(1);
 
+    // Expired entries are served for at most this long while a background refresh runs
+    private static final Duration MAX_STALENESS = Duration.ofDays(7);
+
     private static final class CacheEntry {
         final Set<LocalDate> payload;
         final Instant expiresAt;
+        final boolean fromApi;
 
-        CacheEntry(Set<LocalDate> payload, Instant expiresAt) {
+        CacheEntry(Set<LocalDate> payload, Instant expiresAt, boolean fromApi) {
             this.payload = payload;
             this.expiresAt = expiresAt;
+            this.fromApi = fromApi;
         }
 
         boolean isExpired() { return Instant.now().isAfter(expiresAt); }
+        boolean isServableStale() { return Instant.now().isBefore(expiresAt.plus(MAX_STALENESS)); }
     }
 
     private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    // Single-flight: at most one fetch per key, concurrent callers wait on the same future
+    private final Map<String, CompletableFuture<Set<LocalDate>>> inFlight = new ConcurrentHashMap<>();
+    private final OutboundExecutor refreshExecutor;
+    private final HolidayCacheStore store;
+    private final Counter cacheHits;
+    private final Counter staleHits;
+    private final Counter cacheMisses;
+    private final Timer fetchSuccess;
+    private final Timer fetchFailure;
 
 	public HolidayClient(@Value("${holiday.api.base-url}") String baseUrl,
-						 @Value("${holiday.api.key}") String apiKey) {
-		super(baseUrl, apiKey);
+						 @Value("${holiday.api.key}") String apiKey,
+						 OutboundExecutor refreshExecutor,
+						 HolidayCacheStore store,
+						 HttpTransportFactory transports,
+						 MeterRegistry meterRegistry) {
+		super(transports.forClient("holiday"), baseUrl, apiKey, meterRegistry);
+		this.refreshExecutor = refreshExecutor;
+		this.store = store;
+		this.cacheHits = cacheLookups(meterRegistry, "hit");
+		this.staleHits = cacheLookups(meterRegistry, "stale");
+		this.cacheMisses = cacheLookups(meterRegistry, "miss");
+		this.fetchSuccess = fetchTimer(meterRegistry, "success");
+		this.fetchFailure = fetchTimer(meterRegistry, "failure");
+		warmFromStore();
+	}
+
+	private static Counter cacheLookups(MeterRegistry meterRegistry, String result) {
+		return Counter.builder("holiday.cache.lookups")
+				.description("Holiday calendar lookups by cache outcome")
+				.tag("result", result)
+				.register(meterRegistry);
+	}
+
+	private static Timer fetchTimer(MeterRegistry meterRegistry, String outcome) {
+		return Timer.builder("holiday.fetch")
+				.description("Holiday API fetch latency, including parsing")
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+
+	// Expired entries are kept too: they are served stale while the first lookup refreshes them
+	private void warmFromStore() {
+		if (store == null || !store.isEnabled()) {
+			return;
+		}
+		store.loadAll().forEach((key, stored) ->
+				cache.put(key, new CacheEntry(stored.getHolidays(), stored.getExpiresAt(), stored.isFromApi())));
+		logger.info("Warmed holiday cache with {} entries from disk", cache.size());
 	}
 
 	public Set<LocalDate> holidaysForYear(String country, int year) {
@@ -53,30 +110,111 @@ public class HolidayClient extends AbstractHttpClient {
 			return Set.of();
 		}
 
+        String key = cacheKey(country, year);
+        CacheEntry cached = cache.get(key);
+        if (cached != null && !cached.isExpired()) {
+            logger.debug("Returning holidays from cache for key={}", key);
+            cacheHits.increment();
+            return cached.payload;
+        }
+
+        if (cached != null && cached.isServableStale()) {
+            logger.debug("Returning stale holidays for key={} while refreshing", key);
+            staleHits.increment();
+            refreshInBackground(country, year);
+            return cached.payload;
+        }
+
+        cacheMisses.increment();
+        return load(country, year, Instant.now()).join();
+	}
+
+	/**
+	 * Fetches the calendar again regardless of freshness; joins a fetch already in flight.
+	 */
+	public CompletableFuture<Set<LocalDate>> refresh(String country, int year) {
+		if (!isApiConfigured() || !StringUtils.hasText(country)) {
+			return CompletableFuture.completedFuture(Set.of());
+		}
+		return load(country, year, Instant.MAX);
+	}
+
+	/**
+	 * Like {@link #refresh} but skips a calendar that stays fresh for at least {@code window},
+	 * such as one restored from the disk cache or refreshed moments ago.
+	 */
+	public CompletableFuture<Set<LocalDate>> refreshIfStale(String country, int year, Duration window) {
+		if (!isApiConfigured() || !StringUtils.hasText(country)) {
+			return CompletableFuture.completedFuture(Set.of());
+		}
+		return load(country, year, Instant.now().plus(window));
+	}
+
+	private void refreshInBackground(String country, int year) {
+		if (inFlight.containsKey(cacheKey(country, year))) {
+			return;
+		}
+		// The stale calendar is still served: when the executor is busy, skip rather than
+		// fetch on the caller's thread; the next lookup tries again
+		if (!refreshExecutor.tryExecute(() -> load(country, year, Instant.now()))) {
+			logger.warn("Outbound executor saturated, skipped holiday refresh for country: {} and year: {}", country, year);
+		}
+	}
+
+	// Fetches unless the cached calendar stays valid past freshUntil (Instant.MAX always fetches)
+	private CompletableFuture<Set<LocalDate>> load(String country, int year, Instant freshUntil) {
+		String key = cacheKey(country, year);
+		CompletableFuture<Set<LocalDate>> mine = new CompletableFuture<>();
+		CompletableFuture<Set<LocalDate>> existing = inFlight.putIfAbsent(key, mine);
+		if (existing != null) {
+			return existing;
+		}
 		try {
-            String key = cacheKey(country, year);
-            CacheEntry cached = cache.get(key);
-            if (cached != null && !cached.isExpired()) {
-                logger.debug("Returning holidays from cache for key={}", key);
-                return cached.payload;
-            }
-
-            Set<LocalDate> result = fetchHolidaysFromApi(country, year);
-            cache.put(key, new CacheEntry(result, Instant.now().plus(SUCCESS_TTL)));
-            return result;
+			// A fetch that finished after the caller's cache check but before this one won the
+			// slot has already cached the key; fetching again would double the API calls
+			CacheEntry cached = cache.get(key);
+			if (cached != null && cached.expiresAt.isAfter(freshUntil)) {
+				mine.complete(cached.payload);
+				return mine;
+			}
+			mine.complete(fetchAndCache(key, country, year));
+		} catch (RuntimeException e) {
+			mine.completeExceptionally(e);
+		} finally {
+			inFlight.remove(key, mine);
+		}
+		return mine;
+	}
+
+	private Set<LocalDate> fetchAndCache(String key, String country, int year) {
+		long start = System.nanoTime();
+		try {
+			Set<LocalDate> result = fetchHolidaysFromApi(country, year);
+			fetchSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			cacheAndStore(key, new CacheEntry(result, Instant.now().plus(SUCCESS_TTL), true));
+			return result;
 		} catch (Exception e) {
+			fetchFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 			logger.warn("Failed to fetch holidays for country: {} and year: {}", country, year, e);
-            String key = cacheKey(country, year);
-            cache.put(key, new CacheEntry(Set.of(), Instant.now().plus(FAILURE_TTL)));
-            return Set.of();
+			// Keep serving the last good calendar, retry after the failure TTL
+			CacheEntry previous = cache.get(key);
+			Set<LocalDate> fallback = previous != null && previous.fromApi ? previous.payload : Set.of();
+			cacheAndStore(key, new CacheEntry(fallback, Instant.now().plus(FAILURE_TTL), previous != null && previous.fromApi));
+			return fallback;
+		}
+	}
+
+	private void cacheAndStore(String key, CacheEntry entry) {
+		cache.put(key, entry);
+		if (store != null) {
+			store.put(key, new HolidayCacheStore.StoredCalendar(entry.payload, entry.expiresAt, entry.fromApi));
 		}
 	}
 
-	private Set<LocalDate> fetchHolidaysFromApi(String country, int year) throws Exception {
+	protected Set<LocalDate> fetchHolidaysFromApi(String country, int year) throws Exception {
 		String url = buildHolidayApiUrl(country, year);
 		logger.debug("Fetching public holidays from API: {}", url.replace(apiKey, "***"));
-		var json = fetchAndParseJson(url);
-		return parseHolidaysResponse(json);
+		return fetchAndRead(url, this::parseHolidaysResponse);
 	}
 
 	private String buildHolidayApiUrl(String country, int year) {
@@ -87,37 +225,60 @@ public class HolidayClient extends AbstractHttpClient {
 		return baseUrl + "?pretty&country=" + encodedCountry + "&year=" + year + "&public=true&key=" + encodedApiKey;
 	}
 
-	private Set<LocalDate> parseHolidaysResponse(JsonNode json) {
-		var holidaysArray = json.path("holidays");
+	// Streams the "holidays" array, keeping only each entry's date and public flag
+	private Set<LocalDate> parseHolidaysResponse(JsonParser parser) throws IOException {
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			throw new IOException("Holiday API response is not a JSON object");
+		}
 
-		if (!holidaysArray.isArray()) {
+		Set<LocalDate> holidays = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.currentName();
+			JsonToken value = parser.nextToken();
+			if ("holidays".equals(field) && value == JsonToken.START_ARRAY) {
+				holidays = readHolidays(parser);
+			} else {
+				parser.skipChildren();
+			}
+		}
+
+		if (holidays == null) {
 			logger.debug("Holidays array is missing or not an array in API response");
 			return Set.of();
 		}
-
-		Set<LocalDate> holidays = StreamSupport.stream(holidaysArray.spliterator(), false)
-				.filter(this::isPublicHoliday) // Only include public holidays
-				.map(this::parseHolidayDate)
-				.filter(Optional::isPresent)
-				.map(Optional::get)
-				.collect(Collectors.toSet());
-
 		logger.debug("Parsed {} public holidays from API response", holidays.size());
 		return holidays;
 	}
 
-	private boolean isPublicHoliday(JsonNode holiday) {
-		// Double-check that holiday is public (in case API doesn't filter properly)
-		boolean isPublic = holiday.path("public").asBoolean(false);
-		if (!isPublic) {
-			logger.debug("Skipping non-public holiday: {}", holiday.path("name").asText("unknown"));
+	private Set<LocalDate> readHolidays(JsonParser parser) throws IOException {
+		Set<LocalDate> holidays = new HashSet<>();
+		for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+			if (token != JsonToken.START_OBJECT) {
+				parser.skipChildren();
+				continue;
+			}
+			boolean isPublic = false;
+			String date = null;
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.currentName();
+				parser.nextToken();
+				switch (field) {
+					case "public" -> isPublic = parser.getValueAsBoolean(false);
+					case "date" -> date = parser.getValueAsString();
+					default -> parser.skipChildren();
+				}
+			}
+			// Double-check that holiday is public (in case API doesn't filter properly)
+			if (!isPublic) {
+				continue;
+			}
+			parseHolidayDate(date).ifPresent(holidays::add);
 		}
-		return isPublic;
+		return holidays;
 	}
 
-	private Optional<LocalDate> parseHolidayDate(JsonNode holiday) {
+	private Optional<LocalDate> parseHolidayDate(String dateStr) {
 		try {
-			String dateStr = holiday.path("date").asText();
 			if (StringUtils.hasText(dateStr)) {
 				return Optional.of(LocalDate.parse(dateStr));
 			}
@@ -0,0 +1,105 @@
+package com.dropit.delivery.api.infrastructure.client;
+
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * HTTP connection pool for one external API: a {@link HttpClient} that keeps connections alive
+ * and negotiates HTTP/2, with connect and read timeouts, and a cap on requests in flight.
+ * A caller that cannot get a slot within the acquire timeout fails fast instead of queueing
+ * behind a hung server. Idempotent calls may also be hedged (see {@link RequestHedger}).
+ */
+public class HttpTransport {
+	private final String name;
+	private final RestClient restClient;
+	private final int maxConcurrentRequests;
+	private final Duration acquireTimeout;
+	private final Semaphore permits;
+	private final RequestHedger hedger;
+	private final AtomicInteger active = new AtomicInteger();
+	private final AtomicInteger pending = new AtomicInteger();
+	private final LongAdder rejected = new LongAdder();
+
+	public HttpTransport(
+			String name,
+			Duration connectTimeout,
+			Duration readTimeout,
+			int maxConcurrentRequests,
+			Duration acquireTimeout,
+			boolean http2,
+			RequestHedger hedger) {
+		if (maxConcurrentRequests <= 0) {
+			throw new IllegalArgumentException("Max concurrent requests must be positive");
+		}
+		this.name = name;
+		this.maxConcurrentRequests = maxConcurrentRequests;
+		this.acquireTimeout = acquireTimeout;
+		this.permits = new Semaphore(maxConcurrentRequests);
+		this.hedger = hedger;
+
+		HttpClient httpClient = HttpClient.newBuilder()
+				.version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+				.connectTimeout(connectTimeout)
+				.followRedirects(HttpClient.Redirect.NORMAL)
+				.build();
+		JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+		requestFactory.setReadTimeout(readTimeout);
+		this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+	}
+
+	/**
+	 * Runs the call once a request slot is free.
+	 * @throws IllegalStateException if no slot frees up within the acquire timeout
+	 */
+	public <T> T execute(Function<RestClient, T> call) {
+		pending.incrementAndGet();
+		boolean acquired;
+		try {
+			acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted waiting for a " + name + " connection", e);
+		} finally {
+			pending.decrementAndGet();
+		}
+		if (!acquired) {
+			rejected.increment();
+			throw new IllegalStateException(
+					"All " + maxConcurrentRequests + " " + name + " connections busy for " + acquireTimeout.toMillis() + "ms");
+		}
+		active.incrementAndGet();
+		try {
+			return call.apply(restClient);
+		} finally {
+			active.decrementAndGet();
+			permits.release();
+		}
+	}
+
+	/**
+	 * Same as {@link #execute}, sending a second attempt when the first is slow and hedging is
+	 * enabled for this client. Only for calls that are safe to repeat.
+	 */
+	public <T> T executeHedged(Function<RestClient, T> call) {
+		if (hedger == null) {
+			return execute(call);
+		}
+		return hedger.call(() -> execute(call));
+	}
+
+	public String getName() { return name; }
+	public int getMaxConcurrentRequests() { return maxConcurrentRequests; }
+	public int getActive() { return active.get(); }
+	public int getPending() { return pending.get(); }
+	public long getRejectedCount() { return rejected.sum(); }
+	// Null when hedging is disabled
+	public RequestHedger getHedger() { return hedger; }
+}
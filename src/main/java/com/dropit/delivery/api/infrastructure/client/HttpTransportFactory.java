@@ -0,0 +1,110 @@
+package com.dropit.delivery.api.infrastructure.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds one {@link HttpTransport} per external API, configured from {@code <name>.http.*}
+ * properties (e.g. {@code geoapify.http.read-timeout-ms}), and exports its pool gauges.
+ */
+@Component
+public class HttpTransportFactory {
+	private static final Logger logger = LoggerFactory.getLogger(HttpTransportFactory.class);
+
+	private final Environment environment;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, HttpTransport> transports = new ConcurrentHashMap<>();
+
+	public HttpTransportFactory(Environment environment, MeterRegistry meterRegistry) {
+		this.environment = environment;
+		this.meterRegistry = meterRegistry;
+	}
+
+	public HttpTransport forClient(String name) {
+		return transports.computeIfAbsent(name, this::create);
+	}
+
+	private HttpTransport create(String name) {
+		String prefix = name + ".http.";
+		long connectTimeoutMs = environment.getProperty(prefix + "connect-timeout-ms", Long.class, 1000L);
+		long readTimeoutMs = environment.getProperty(prefix + "read-timeout-ms", Long.class, 2000L);
+		int maxConcurrentRequests = environment.getProperty(prefix + "max-concurrent-requests", Integer.class, 32);
+		long acquireTimeoutMs = environment.getProperty(prefix + "acquire-timeout-ms", Long.class, 250L);
+		boolean http2 = environment.getProperty(prefix + "http2", Boolean.class, true);
+		RequestHedger hedger = hedger(prefix + "hedge.");
+
+		HttpTransport transport = new HttpTransport(name,
+				Duration.ofMillis(connectTimeoutMs),
+				Duration.ofMillis(readTimeoutMs),
+				maxConcurrentRequests,
+				Duration.ofMillis(acquireTimeoutMs),
+				http2,
+				hedger);
+		register(transport);
+		logger.info("HTTP transport '{}' ready (connect={}ms, read={}ms, maxConcurrent={}, acquire={}ms, http2={}, hedging={})",
+				name, connectTimeoutMs, readTimeoutMs, maxConcurrentRequests, acquireTimeoutMs, http2, hedger != null);
+		return transport;
+	}
+
+	private RequestHedger hedger(String prefix) {
+		if (!environment.getProperty(prefix + "enabled", Boolean.class, false)) {
+			return null;
+		}
+		double percentile = environment.getProperty(prefix + "percentile", Double.class, 95.0);
+		long minDelayMs = environment.getProperty(prefix + "min-delay-ms", Long.class, 50L);
+		long minSamples = environment.getProperty(prefix + "min-samples", Long.class, 100L);
+		double budgetRatio = environment.getProperty(prefix + "budget-ratio", Double.class, 0.1);
+		long windowMs = environment.getProperty(prefix + "window-ms", Long.class, 60_000L);
+		// Six slices: the window slides forward in sixths rather than resetting all at once
+		LatencyHistogram latencies = new LatencyHistogram(Duration.ofMillis(windowMs), 6);
+		return new RequestHedger(percentile, Duration.ofMillis(minDelayMs), minSamples, budgetRatio, latencies);
+	}
+
+	private void register(HttpTransport transport) {
+		Gauge.builder("outbound.http.pool.active", transport, HttpTransport::getActive)
+				.description("Requests holding a connection slot")
+				.tag("client", transport.getName())
+				.register(meterRegistry);
+		Gauge.builder("outbound.http.pool.pending", transport, HttpTransport::getPending)
+				.description("Requests waiting for a connection slot")
+				.tag("client", transport.getName())
+				.register(meterRegistry);
+		Gauge.builder("outbound.http.pool.max", transport, HttpTransport::getMaxConcurrentRequests)
+				.description("Connection slots available to the client")
+				.tag("client", transport.getName())
+				.register(meterRegistry);
+		FunctionCounter.builder("outbound.http.pool.rejected", transport, HttpTransport::getRejectedCount)
+				.description("Requests that gave up waiting for a connection slot")
+				.tag("client", transport.getName())
+				.register(meterRegistry);
+
+		RequestHedger hedger = transport.getHedger();
+		if (hedger != null) {
+			Gauge.builder("outbound.http.hedge.delay", hedger, h -> Math.max(0, h.hedgeDelayNanos()) / 1_000_000.0)
+					.description("Current hedge delay in milliseconds (0 until enough calls were observed)")
+					.tag("client", transport.getName())
+					.register(meterRegistry);
+			FunctionCounter.builder("outbound.http.hedge.sent", hedger, RequestHedger::getHedgedCount)
+					.description("Second attempts sent because the first was slow")
+					.tag("client", transport.getName())
+					.register(meterRegistry);
+			FunctionCounter.builder("outbound.http.hedge.won", hedger, RequestHedger::getHedgeWinCount)
+					.description("Hedged calls answered by the second attempt")
+					.tag("client", transport.getName())
+					.register(meterRegistry);
+			FunctionCounter.builder("outbound.http.hedge.over.budget", hedger, RequestHedger::getOverBudgetCount)
+					.description("Slow calls not hedged because the hedge budget was spent")
+					.tag("client", transport.getName())
+					.register(meterRegistry);
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package com.dropit.delivery.api.infrastructure.client;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Rolling latency histogram: exponential buckets from 1ms (20% apart, up to about a minute),
+ * kept in {@code windows} time slices so that only recent calls count. Recording is a single
+ * atomic increment; a slice is cleared when the clock moves into it again.
+ */
+public class LatencyHistogram {
+	private static final double BASE_NANOS = 1_000_000;
+	private static final double GROWTH = 1.2;
+	private static final int BUCKETS = 61;
+
+	private final long sliceNanos;
+	private final LongSupplier nanoClock;
+	private final AtomicLongArray[] slices;
+	// Time slice each bucket array currently holds; far in the past until first used
+	private final AtomicLongArray sliceEpochs;
+	private final Object rotationLock = new Object();
+
+	public LatencyHistogram(Duration window, int windows) {
+		this(window, windows, System::nanoTime);
+	}
+
+	public LatencyHistogram(Duration window, int windows, LongSupplier nanoClock) {
+		if (windows <= 0) {
+			throw new IllegalArgumentException("Window count must be positive");
+		}
+		this.sliceNanos = Math.max(1, window.toNanos() / windows);
+		this.nanoClock = nanoClock;
+		this.slices = new AtomicLongArray[windows];
+		this.sliceEpochs = new AtomicLongArray(windows);
+		for (int i = 0; i < windows; i++) {
+			slices[i] = new AtomicLongArray(BUCKETS + 1);
+			sliceEpochs.set(i, Long.MIN_VALUE / 2);
+		}
+	}
+
+	public void record(long durationNanos) {
+		long epoch = Math.floorDiv(nanoClock.getAsLong(), sliceNanos);
+		slice(epoch).incrementAndGet(bucketOf(durationNanos));
+	}
+
+	/**
+	 * Upper bound of the bucket holding the given percentile of recent calls, or -1 when fewer
+	 * than {@code minSamples} calls were recorded in the window.
+	 */
+	public long percentileNanos(double percentile, long minSamples) {
+		long epoch = Math.floorDiv(nanoClock.getAsLong(), sliceNanos);
+		long[] counts = new long[BUCKETS + 1];
+		long total = 0;
+		synchronized (rotationLock) {
+			for (int i = 0; i < slices.length; i++) {
+				if (epoch - sliceEpochs.get(i) < slices.length) {
+					for (int b = 0; b <= BUCKETS; b++) {
+						long count = slices[i].get(b);
+						counts[b] += count;
+						total += count;
+					}
+				}
+			}
+		}
+		if (total == 0 || total < minSamples) {
+			return -1;
+		}
+		long rank = (long) Math.ceil(total * percentile / 100.0);
+		long seen = 0;
+		for (int b = 0; b <= BUCKETS; b++) {
+			seen += counts[b];
+			if (seen >= rank) {
+				return upperBoundNanos(b);
+			}
+		}
+		return upperBoundNanos(BUCKETS);
+	}
+
+	private AtomicLongArray slice(long epoch) {
+		int index = (int) Math.floorMod(epoch, (long) slices.length);
+		if (sliceEpochs.get(index) != epoch) {
+			synchronized (rotationLock) {
+				if (sliceEpochs.get(index) != epoch) {
+					for (int b = 0; b <= BUCKETS; b++) {
+						slices[index].set(b, 0);
+					}
+					sliceEpochs.set(index, epoch);
+				}
+			}
+		}
+		return slices[index];
+	}
+
+	private static int bucketOf(long durationNanos) {
+		if (durationNanos <= BASE_NANOS) {
+			return 0;
+		}
+		int bucket = (int) Math.ceil(Math.log(durationNanos / BASE_NANOS) / Math.log(GROWTH));
+		return Math.min(bucket, BUCKETS);
+	}
+
+	private static long upperBoundNanos(int bucket) {
+		return (long) (BASE_NANOS * Math.pow(GROWTH, bucket));
+	}
+}
@@ -0,0 +1,181 @@
+package com.dropit.delivery.api.infrastructure.client;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Executor reserved for blocking outbound I/O (holiday and geocoding APIs), so slow
+ * remote calls never occupy the common ForkJoinPool. Runs on a bounded platform-thread
+ * pool or on virtual threads. When the bounded queue is full the caller runs the task
+ * itself, which pushes back on the request instead of dropping work. Calls made through
+ * {@link #supply} are the exception: run on the caller they could not be cut off at the
+ * timeout, so they get their fallback at once instead. Optional work handed to
+ * {@link #tryExecute} is skipped.
+ */
+@Component
+public class OutboundExecutor implements Executor {
+	private static final Logger logger = LoggerFactory.getLogger(OutboundExecutor.class);
+
+	public enum Mode { BOUNDED, VIRTUAL }
+
+	// A task as handed to the pool; the rejection handler reads whether its caller may run it
+	private final class Tracked implements Runnable {
+		final Runnable task;
+		final boolean callerRunsOnRejection;
+
+		Tracked(Runnable task, boolean callerRunsOnRejection) {
+			this.task = task;
+			this.callerRunsOnRejection = callerRunsOnRejection;
+		}
+
+		@Override
+		public void run() {
+			inFlight.incrementAndGet();
+			try {
+				task.run();
+			} finally {
+				inFlight.decrementAndGet();
+				completed.increment();
+			}
+		}
+	}
+
+	private final Mode mode;
+	private final ExecutorService delegate;
+	private final ThreadPoolExecutor pool;
+	private final Duration callTimeout;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final LongAdder submitted = new LongAdder();
+	private final LongAdder completed = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder timedOut = new LongAdder();
+
+	public OutboundExecutor(
+			@Value("${outbound.executor.mode:bounded}") String mode,
+			@Value("${outbound.executor.threads:16}") int threads,
+			@Value("${outbound.executor.queue-capacity:256}") int queueCapacity,
+			@Value("${outbound.executor.call-timeout-ms:2000}") long callTimeoutMs) {
+		this.mode = Mode.valueOf(mode.trim().toUpperCase());
+		this.callTimeout = Duration.ofMillis(callTimeoutMs);
+		if (this.mode == Mode.VIRTUAL) {
+			this.pool = null;
+			this.delegate = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("outbound-io-", 0).factory());
+		} else {
+			this.pool = new ThreadPoolExecutor(
+					threads, threads,
+					60, TimeUnit.SECONDS,
+					new ArrayBlockingQueue<>(queueCapacity),
+					platformThreads(),
+					(task, executor) -> {
+						rejected.increment();
+						if (task instanceof Tracked tracked && !tracked.callerRunsOnRejection) {
+							throw new RejectedExecutionException("Outbound executor saturated");
+						}
+						if (!executor.isShutdown()) {
+							task.run();
+						}
+					});
+			this.pool.allowCoreThreadTimeOut(true);
+			this.delegate = pool;
+		}
+		logger.info("Outbound executor started in {} mode (threads={}, queue={}, timeout={}ms)",
+				this.mode, threads, queueCapacity, callTimeoutMs);
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		submitted.increment();
+		delegate.execute(new Tracked(task, true));
+	}
+
+	/**
+	 * Runs optional work, such as a background cache refresh, unless the executor is saturated;
+	 * it never runs on the caller.
+	 * @return false when the task was turned away
+	 */
+	public boolean tryExecute(Runnable task) {
+		submitted.increment();
+		try {
+			delegate.execute(new Tracked(task, false));
+			return true;
+		} catch (RejectedExecutionException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Runs the call on this executor; if it does not finish within the configured call
+	 * timeout, or the executor is saturated, the future completes with the fallback instead.
+	 * Other failures propagate.
+	 */
+	public <T> CompletableFuture<T> supply(Supplier<T> call, T fallbackOnTimeout) {
+		return supply(call, fallbackOnTimeout, callTimeout);
+	}
+
+	public <T> CompletableFuture<T> supply(Supplier<T> call, T fallbackOnTimeout, Duration timeout) {
+		CompletableFuture<T> future;
+		try {
+			future = CompletableFuture.supplyAsync(call, task -> {
+				submitted.increment();
+				delegate.execute(new Tracked(task, false));
+			});
+		} catch (RejectedExecutionException e) {
+			logger.warn("Outbound executor saturated, using fallback");
+			return CompletableFuture.completedFuture(fallbackOnTimeout);
+		}
+		return future
+				.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+				.exceptionally(e -> {
+					Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+					if (cause instanceof TimeoutException) {
+						timedOut.increment();
+						logger.warn("Outbound call exceeded {}ms, using fallback", timeout.toMillis());
+						return fallbackOnTimeout;
+					}
+					throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+				});
+	}
+
+	public Mode getMode() { return mode; }
+	public Duration getCallTimeout() { return callTimeout; }
+	public int getInFlight() { return inFlight.get(); }
+	public int getQueueDepth() { return pool == null ? 0 : pool.getQueue().size(); }
+	public int getPoolSize() { return pool == null ? inFlight.get() : pool.getPoolSize(); }
+	public long getSubmittedCount() { return submitted.sum(); }
+	public long getCompletedCount() { return completed.sum(); }
+	public long getRejectedCount() { return rejected.sum(); }
+	public long getTimedOutCount() { return timedOut.sum(); }
+
+	@PreDestroy
+	public void shutdown() {
+		delegate.shutdown();
+	}
+
+	private static ThreadFactory platformThreads() {
+		AtomicInteger counter = new AtomicInteger();
+		return task -> {
+			Thread thread = new Thread(task, "outbound-io-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
@@ -0,0 +1,156 @@
+package com.dropit.delivery.api.infrastructure.client;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Hedges idempotent calls: when the first attempt has not answered within the recent
+ * {@code percentile} latency, a second attempt is sent and the first success wins.
+ * Hedges are paid for from a budget that every call tops up by {@code budgetRatio} (at most 1),
+ * so they never exceed that share of calls and never more than double the load.
+ * Attempts run on virtual threads, so a hedged call never waits for a pool thread that is
+ * itself blocked on a call.
+ */
+public class RequestHedger {
+	// Cap on saved-up budget, so a quiet period cannot fund a burst of hedges
+	private static final double MAX_TOKENS = 10;
+
+	private final double percentile;
+	private final long minDelayNanos;
+	private final long minSamples;
+	private final double budgetRatio;
+	private final LatencyHistogram latencies;
+	private final ExecutorService attempts;
+	private final ReentrantLock budgetLock = new ReentrantLock();
+	private double tokens;
+
+	private final LongAdder hedged = new LongAdder();
+	private final LongAdder hedgeWins = new LongAdder();
+	private final LongAdder overBudget = new LongAdder();
+
+	public RequestHedger(double percentile, Duration minDelay, long minSamples, double budgetRatio, LatencyHistogram latencies) {
+		this.percentile = percentile;
+		this.minDelayNanos = minDelay.toNanos();
+		this.minSamples = minSamples;
+		this.budgetRatio = Math.max(0, Math.min(1, budgetRatio));
+		this.latencies = latencies;
+		this.attempts = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("hedged-call-", 0).factory());
+	}
+
+	public <T> T call(Supplier<T> attempt) {
+		CompletableFuture<T> first = submit(attempt);
+		earnBudget();
+		long delay = hedgeDelayNanos();
+		if (delay < 0) {
+			return await(first);
+		}
+		try {
+			return first.get(delay, TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			// Slower than the percentile: fall through and hedge
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted waiting for an outbound call", e);
+		} catch (ExecutionException e) {
+			throw unwrap(e.getCause());
+		}
+		if (!spendBudget()) {
+			overBudget.increment();
+			return await(first);
+		}
+		hedged.increment();
+		return await(firstSuccess(first, submit(attempt)));
+	}
+
+	// Current hedge delay, or -1 while there are too few samples to know the percentile
+	public long hedgeDelayNanos() {
+		long observed = latencies.percentileNanos(percentile, minSamples);
+		return observed < 0 ? -1 : Math.max(observed, minDelayNanos);
+	}
+
+	public long getHedgedCount() { return hedged.sum(); }
+	public long getHedgeWinCount() { return hedgeWins.sum(); }
+	public long getOverBudgetCount() { return overBudget.sum(); }
+
+	private <T> CompletableFuture<T> submit(Supplier<T> attempt) {
+		return CompletableFuture.supplyAsync(() -> {
+			long start = System.nanoTime();
+			T result = attempt.get();
+			latencies.record(System.nanoTime() - start);
+			return result;
+		}, attempts);
+	}
+
+	// Completes with the first result, or with the last failure once both attempts failed.
+	// The slower attempt is left to finish on its own, bounded by the transport's read timeout.
+	private <T> CompletableFuture<T> firstSuccess(CompletableFuture<T> first, CompletableFuture<T> hedge) {
+		CompletableFuture<T> winner = new CompletableFuture<>();
+		AtomicInteger failures = new AtomicInteger();
+		for (CompletableFuture<T> attempt : List.of(first, hedge)) {
+			attempt.whenComplete((result, error) -> {
+				if (error == null) {
+					if (winner.complete(result) && attempt == hedge) {
+						hedgeWins.increment();
+					}
+				} else if (failures.incrementAndGet() == 2) {
+					winner.completeExceptionally(error);
+				}
+			});
+		}
+		return winner;
+	}
+
+	private void earnBudget() {
+		budgetLock.lock();
+		try {
+			tokens = Math.min(MAX_TOKENS, tokens + budgetRatio);
+		} finally {
+			budgetLock.unlock();
+		}
+	}
+
+	private boolean spendBudget() {
+		budgetLock.lock();
+		try {
+			if (tokens < 1) {
+				return false;
+			}
+			tokens -= 1;
+			return true;
+		} finally {
+			budgetLock.unlock();
+		}
+	}
+
+	private static <T> T await(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			throw unwrap(e.getCause());
+		}
+	}
+
+	private static RuntimeException unwrap(Throwable cause) {
+		if (cause instanceof CompletionException && cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+		if (cause instanceof RuntimeException runtime) {
+			return runtime;
+		}
+		if (cause instanceof Error error) {
+			throw error;
+		}
+		return new CompletionException(cause);
+	}
+}
@@ -0,0 +1,105 @@
+package com.dropit.delivery.api.infrastructure.config;
+
+import com.dropit.delivery.api.application.service.IdempotentBookingService;
+import com.dropit.delivery.api.infrastructure.cache.BoundedTtlCache;
+import com.dropit.delivery.api.infrastructure.client.AddressResolverClient;
+import com.dropit.delivery.api.infrastructure.client.CircuitBreaker;
+import com.dropit.delivery.api.infrastructure.client.OutboundExecutor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gauges and counters read from components that already track their own state, so they
+ * cost nothing on the hot path: values are only read when the registry is scraped.
+ */
+@Configuration
+public class MetricsConfig {
+	@Bean
+	public MeterBinder outboundExecutorMetrics(OutboundExecutor executor) {
+		return registry -> {
+			Gauge.builder("outbound.executor.active", executor, OutboundExecutor::getInFlight)
+					.description("Outbound calls currently running")
+					.register(registry);
+			Gauge.builder("outbound.executor.queued", executor, OutboundExecutor::getQueueDepth)
+					.description("Outbound calls waiting for a thread")
+					.register(registry);
+			Gauge.builder("outbound.executor.pool.size", executor, OutboundExecutor::getPoolSize)
+					.description("Threads in the outbound pool")
+					.register(registry);
+			FunctionCounter.builder("outbound.executor.completed", executor, OutboundExecutor::getCompletedCount)
+					.description("Outbound calls finished")
+					.register(registry);
+			FunctionCounter.builder("outbound.executor.rejected", executor, OutboundExecutor::getRejectedCount)
+					.description("Outbound calls turned away by a full queue: run by the caller, answered with their fallback, or skipped")
+					.register(registry);
+			FunctionCounter.builder("outbound.executor.timeouts", executor, OutboundExecutor::getTimedOutCount)
+					.description("Outbound calls that exceeded the call timeout")
+					.register(registry);
+		};
+	}
+
+	@Bean
+	public MeterBinder addressCacheMetrics(AddressResolverClient addressResolverClient) {
+		BoundedTtlCache<?, ?> cache = addressResolverClient.getResolutionCache();
+		return registry -> {
+			Gauge.builder("address.cache.size", cache, BoundedTtlCache::size)
+					.description("Cached address resolutions")
+					.register(registry);
+			FunctionCounter.builder("address.cache.lookups", cache, BoundedTtlCache::getHitCount)
+					.description("Address cache lookups by result")
+					.tag("result", "hit")
+					.register(registry);
+			FunctionCounter.builder("address.cache.lookups", cache, BoundedTtlCache::getMissCount)
+					.description("Address cache lookups by result")
+					.tag("result", "miss")
+					.register(registry);
+			FunctionCounter.builder("address.cache.evictions", cache, BoundedTtlCache::getEvictionCount)
+					.description("Address cache entries dropped for size or age")
+					.register(registry);
+		};
+	}
+
+	@Bean
+	public MeterBinder circuitBreakerMetrics(AddressResolverClient addressResolverClient) {
+		CircuitBreaker breaker = addressResolverClient.getCircuitBreaker();
+		return registry -> {
+			// One gauge per state, 1 for the current one, so dashboards can plot state over time
+			for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+				Gauge.builder("outbound.circuit.state", breaker, b -> b.getState() == state ? 1 : 0)
+						.description("Circuit breaker state")
+						.tag("client", breaker.getName())
+						.tag("state", state.name().toLowerCase())
+						.register(registry);
+			}
+			FunctionCounter.builder("outbound.circuit.not.permitted", breaker, CircuitBreaker::getNotPermittedCount)
+					.description("Calls short-circuited to the fallback while the circuit was open")
+					.tag("client", breaker.getName())
+					.register(registry);
+			FunctionCounter.builder("outbound.circuit.opened", breaker, CircuitBreaker::getOpenedCount)
+					.description("Times the circuit opened")
+					.tag("client", breaker.getName())
+					.register(registry);
+		};
+	}
+
+	@Bean
+	public MeterBinder idempotencyMetrics(IdempotentBookingService idempotentBookingService) {
+		BoundedTtlCache<?, ?> keys = idempotentBookingService.getAttempts();
+		return registry -> {
+			Gauge.builder("delivery.idempotency.keys", keys, BoundedTtlCache::size)
+					.description("Idempotency keys of completed bookings remembered")
+					.register(registry);
+			FunctionCounter.builder("delivery.idempotency.requests", keys, BoundedTtlCache::getHitCount)
+					.description("Keyed booking requests by whether the key was already known")
+					.tag("result", "replay")
+					.register(registry);
+			FunctionCounter.builder("delivery.idempotency.requests", keys, BoundedTtlCache::getMissCount)
+					.description("Keyed booking requests by whether the key was already known")
+					.tag("result", "new")
+					.register(registry);
+		};
+	}
+}
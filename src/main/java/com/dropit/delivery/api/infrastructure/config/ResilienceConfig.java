@@ -0,0 +1,25 @@
+package com.dropit.delivery.api.infrastructure.config;
+
+import com.dropit.delivery.api.infrastructure.client.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ResilienceConfig {
+	@Bean
+	public CircuitBreaker geoapifyCircuitBreaker(
+			@Value("${geoapify.circuit.window-size:20}") int windowSize,
+			@Value("${geoapify.circuit.minimum-calls:10}") int minimumCalls,
+			@Value("${geoapify.circuit.failure-rate-threshold:50}") double failureRateThreshold,
+			@Value("${geoapify.circuit.slow-call-threshold-ms:1500}") long slowCallThresholdMs,
+			@Value("${geoapify.circuit.slow-call-rate-threshold:80}") double slowCallRateThreshold,
+			@Value("${geoapify.circuit.open-duration-ms:30000}") long openDurationMs,
+			@Value("${geoapify.circuit.half-open-probes:3}") int halfOpenProbes) {
+		return new CircuitBreaker("geoapify", windowSize, minimumCalls, failureRateThreshold,
+				Duration.ofMillis(slowCallThresholdMs), slowCallRateThreshold,
+				Duration.ofMillis(openDurationMs), halfOpenProbes);
+	}
+}
@@ -4,5 +4,6 @@ public enum ErrorCode {
 	UNKNOWN_TIMESLOT,
 	DAILY_CAPACITY_REACHED,
 	TIMESLOT_CAPACITY_REACHED,
-	DELIVERY_NOT_FOUND
+	DELIVERY_NOT_FOUND,
+	IDEMPOTENCY_KEY_REUSED
 }
@@ -0,0 +1,455 @@
+package com.dropit.delivery.api.infrastructure.persistence;
+
+import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.domain.model.DeliveryStatus;
+import com.dropit.delivery.api.domain.repository.DeliveryJournal;
+import com.dropit.delivery.api.domain.repository.InMemoryDeliveryRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Append-only write-ahead log for {@link InMemoryDeliveryRepository}; the JDBC engine needs none.
+ *
+ * <p>Writers enqueue records and wait; a single writer thread drains everything queued,
+ * appends it to the current segment with one {@link FileChannel#write} and one
+ * {@link FileChannel#force}, then releases all waiters of that batch (group commit).
+ * Every {@code snapshot-every} records the repository is written to a snapshot tagged with
+ * the last sequence it covers, and segments entirely below it are deleted. Startup loads the
+ * snapshot, replays newer records, and truncates a torn tail left by a crash.
+ */
+@Component
+@ConditionalOnExpression("${delivery.wal.enabled:false} and '${storage.engine:memory}' == 'memory'")
+public class DeliveryWriteAheadLog implements DeliveryJournal {
+	private static final Logger logger = LoggerFactory.getLogger(DeliveryWriteAheadLog.class);
+	private static final String SEGMENT_PREFIX = "wal-";
+	private static final String SEGMENT_SUFFIX = ".log";
+	private static final String SNAPSHOT_FILE = "deliveries.snapshot";
+	private static final int SNAPSHOT_MAGIC = 0x44534E50; // "DSNP"
+	private static final int MAX_BATCH = 4096;
+
+	private final Path directory;
+	private final boolean fsync;
+	private final long snapshotEvery;
+	private final long segmentBytes;
+	private final InMemoryDeliveryRepository repository;
+
+	private final BlockingQueue<JournalRecord> queue;
+	private final Object appendLock = new Object();
+	private final Object durableMonitor = new Object();
+	private long nextSequence;
+	private volatile long durableSequence;
+	private volatile IOException failure;
+	private volatile boolean running = true;
+	private volatile boolean rollRequested;
+	private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+	private long recordsSinceSnapshot;
+
+	private FileChannel segment;
+	private ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+	private final Thread writer;
+	private final ExecutorService snapshotter = Executors.newSingleThreadExecutor(task -> {
+		Thread thread = new Thread(task, "wal-snapshot");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public DeliveryWriteAheadLog(
+			@Value("${delivery.wal.directory:data/wal}") String directory,
+			@Value("${delivery.wal.fsync:true}") boolean fsync,
+			@Value("${delivery.wal.snapshot-every:100000}") long snapshotEvery,
+			@Value("${delivery.wal.segment-bytes:67108864}") long segmentBytes,
+			@Value("${delivery.wal.queue-capacity:65536}") int queueCapacity,
+			InMemoryDeliveryRepository repository) throws IOException {
+		this.directory = Path.of(directory);
+		this.fsync = fsync;
+		this.snapshotEvery = snapshotEvery;
+		this.segmentBytes = segmentBytes;
+		this.repository = repository;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+		Files.createDirectories(this.directory);
+		long lastSequence = replay();
+		this.nextSequence = lastSequence + 1;
+		this.durableSequence = lastSequence;
+		repository.attachJournal(this);
+
+		this.writer = new Thread(this::writeLoop, "wal-writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	@Override
+	public long recordSave(Delivery delivery) {
+		synchronized (appendLock) {
+			return enqueue(JournalRecord.save(nextSequence, delivery));
+		}
+	}
+
+	@Override
+	public long recordStatusChange(String id, DeliveryStatus status) {
+		synchronized (appendLock) {
+			return enqueue(JournalRecord.statusChange(nextSequence, id, status));
+		}
+	}
+
+	@Override
+	public long recordDelete(String id) {
+		synchronized (appendLock) {
+			return enqueue(JournalRecord.delete(nextSequence, id));
+		}
+	}
+
+	// Caller holds appendLock, so sequences enter the queue in order. Runs inside the
+	// repository's write lock: blocks while the queue is full, and throws without queueing
+	// once the log has failed, so the repository undoes the change.
+	private long enqueue(JournalRecord record) {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				rejectIfFailed();
+				try {
+					if (queue.offer(record, 100, TimeUnit.MILLISECONDS)) {
+						return nextSequence++;
+					}
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void rejectIfFailed() {
+		IOException failed = failure;
+		if (failed != null) {
+			throw new UncheckedIOException("Write-ahead log failed", failed);
+		}
+	}
+
+	/**
+	 * Waits until the record is on disk. An interrupt does not end the wait, as the record may
+	 * still become durable; it only throws once the log has failed before writing the record.
+	 */
+	@Override
+	public void awaitDurable(long sequence) {
+		if (durableSequence >= sequence) {
+			return;
+		}
+		boolean interrupted = false;
+		try {
+			synchronized (durableMonitor) {
+				while (durableSequence < sequence) {
+					rejectIfFailed();
+					try {
+						durableMonitor.wait();
+					} catch (InterruptedException e) {
+						interrupted = true;
+					}
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	@Override
+	public boolean isDurable(long sequence) {
+		return durableSequence >= sequence;
+	}
+
+	private void writeLoop() {
+		List<JournalRecord> batch = new ArrayList<>(MAX_BATCH);
+		while (running || !queue.isEmpty()) {
+			try {
+				JournalRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				queue.drainTo(batch, MAX_BATCH - 1);
+				writeBatch(batch);
+				markDurable(batch.get(batch.size() - 1).sequence);
+				maybeSnapshot(batch.size());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (IOException e) {
+				fail(e);
+				return;
+			} catch (RuntimeException | Error e) {
+				// Anything that ends this thread must fail the log, or waiters would block forever
+				fail(new IOException("Write-ahead log writer crashed", e));
+				return;
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private void fail(IOException e) {
+		logger.error("Write-ahead log append failed, rejecting further writes", e);
+		failure = e;
+		synchronized (durableMonitor) {
+			durableMonitor.notifyAll();
+		}
+	}
+
+	private void writeBatch(List<JournalRecord> batch) throws IOException {
+		if (segment == null || rollRequested || segment.size() >= segmentBytes) {
+			openSegment(batch.get(0).sequence);
+		}
+		buffer.clear();
+		for (JournalRecord record : batch) {
+			int needed = record.maxFrameBytes();
+			if (buffer.remaining() < needed) {
+				buffer.flip();
+				writeFully(buffer);
+				buffer.clear();
+				if (buffer.capacity() < needed) {
+					buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(needed) << 1);
+				}
+			}
+			record.writeFrame(buffer);
+		}
+		buffer.flip();
+		writeFully(buffer);
+		if (fsync) {
+			segment.force(false);
+		}
+	}
+
+	private void writeFully(ByteBuffer data) throws IOException {
+		while (data.hasRemaining()) {
+			segment.write(data);
+		}
+	}
+
+	private void markDurable(long sequence) {
+		synchronized (durableMonitor) {
+			durableSequence = sequence;
+			durableMonitor.notifyAll();
+		}
+	}
+
+	private void openSegment(long firstSequence) throws IOException {
+		if (segment != null) {
+			segment.force(true);
+			segment.close();
+		}
+		rollRequested = false;
+		segment = FileChannel.open(segmentPath(firstSequence),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+	}
+
+	private void maybeSnapshot(int written) {
+		recordsSinceSnapshot += written;
+		if (recordsSinceSnapshot >= snapshotEvery && snapshotRunning.compareAndSet(false, true)) {
+			recordsSinceSnapshot = 0;
+			snapshotter.execute(() -> {
+				try {
+					snapshot();
+				} catch (IOException | RuntimeException e) {
+					logger.warn("Delivery snapshot failed; the log is kept and replay stays correct", e);
+				} finally {
+					snapshotRunning.set(false);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Every change up to {@code upTo} is already applied to the repository when its sequence is
+	 * taken, so iterating afterwards captures at least that state. Changes after it may also be
+	 * captured; replaying them again is harmless because every record carries absolute state.
+	 */
+	void snapshot() throws IOException {
+		long upTo;
+		synchronized (appendLock) {
+			upTo = nextSequence - 1;
+			rollRequested = true;
+		}
+		Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+		int count = 0;
+		try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer header = ByteBuffer.allocate(12).putInt(SNAPSHOT_MAGIC).putLong(upTo).flip();
+			while (header.hasRemaining()) {
+				out.write(header);
+			}
+			ByteBuffer chunk = ByteBuffer.allocate(1 << 20);
+			for (Delivery delivery : repository.findAll()) {
+				JournalRecord record = JournalRecord.save(upTo, delivery);
+				if (chunk.remaining() < record.maxFrameBytes()) {
+					chunk.flip();
+					while (chunk.hasRemaining()) {
+						out.write(chunk);
+					}
+					chunk.clear();
+				}
+				record.writeFrame(chunk);
+				count++;
+			}
+			chunk.flip();
+			while (chunk.hasRemaining()) {
+				out.write(chunk);
+			}
+			out.force(true);
+		}
+		try {
+			Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING);
+		}
+		int deleted = deleteSegmentsCoveredBy(upTo);
+		logger.info("Wrote delivery snapshot of {} deliveries up to sequence {}, removed {} log segments", count, upTo, deleted);
+	}
+
+	// A segment is covered when the segment after it starts at or before upTo + 1; the newest is always kept
+	private int deleteSegmentsCoveredBy(long upTo) throws IOException {
+		List<Long> starts = segmentStarts();
+		int deleted = 0;
+		for (int i = 0; i + 1 < starts.size(); i++) {
+			if (starts.get(i + 1) <= upTo + 1) {
+				Files.deleteIfExists(segmentPath(starts.get(i)));
+				deleted++;
+			}
+		}
+		return deleted;
+	}
+
+	private long replay() throws IOException {
+		Map<String, Delivery> state = new LinkedHashMap<>();
+		long snapshotSequence = loadSnapshot(state);
+		long lastSequence = snapshotSequence;
+		int replayed = 0;
+
+		List<Long> starts = segmentStarts();
+		for (int i = 0; i < starts.size(); i++) {
+			Path path = segmentPath(starts.get(i));
+			ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(path));
+			if (!data.hasRemaining()) {
+				// Opened but never written before a crash; its name would otherwise outrank new segments
+				Files.delete(path);
+				continue;
+			}
+			JournalRecord record;
+			while ((record = JournalRecord.readFrame(data)) != null) {
+				lastSequence = Math.max(lastSequence, record.sequence);
+				if (record.sequence > snapshotSequence) {
+					applyTo(state, record);
+					replayed++;
+				}
+			}
+			if (data.hasRemaining()) {
+				if (i < starts.size() - 1) {
+					throw new IllegalStateException("Corrupt write-ahead log segment " + path + " at offset " + data.position());
+				}
+				logger.warn("Truncating torn tail of {} at offset {} ({} bytes)", path, data.position(), data.remaining());
+				if (data.position() == 0) {
+					Files.delete(path);
+				} else {
+					try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+						channel.truncate(data.position());
+						channel.force(true);
+					}
+				}
+			}
+		}
+
+		repository.saveAll(state.values());
+		logger.info("Restored {} deliveries (snapshot up to sequence {}, {} log records replayed)",
+				state.size(), snapshotSequence, replayed);
+		return lastSequence;
+	}
+
+	private long loadSnapshot(Map<String, Delivery> state) throws IOException {
+		Path path = directory.resolve(SNAPSHOT_FILE);
+		if (!Files.exists(path)) {
+			return 0;
+		}
+		ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(path));
+		if (data.remaining() < 12 || data.getInt() != SNAPSHOT_MAGIC) {
+			throw new IllegalStateException("Unrecognized delivery snapshot " + path);
+		}
+		long sequence = data.getLong();
+		JournalRecord record;
+		while ((record = JournalRecord.readFrame(data)) != null) {
+			state.put(record.id, record.toDelivery());
+		}
+		if (data.hasRemaining()) {
+			// Snapshots are moved into place only once complete, so this is real corruption
+			throw new IllegalStateException("Corrupt delivery snapshot " + path + " at offset " + data.position());
+		}
+		return sequence;
+	}
+
+	private static void applyTo(Map<String, Delivery> state, JournalRecord record) {
+		switch (record.type) {
+			case SAVE -> state.put(record.id, record.toDelivery());
+			case STATUS -> state.computeIfPresent(record.id, (id, delivery) -> delivery.withStatus(record.status));
+			case DELETE -> state.remove(record.id);
+		}
+	}
+
+	private List<Long> segmentStarts() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.map(path -> path.getFileName().toString())
+					.filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+					.map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+					.sorted()
+					.toList();
+		}
+	}
+
+	private Path segmentPath(long firstSequence) {
+		return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+	}
+
+	@PreDestroy
+	public void close() throws InterruptedException, IOException {
+		running = false;
+		writer.join(TimeUnit.SECONDS.toMillis(10));
+		if (failure == null) {
+			failure = new IOException("Write-ahead log closed");
+		}
+		synchronized (durableMonitor) {
+			durableMonitor.notifyAll();
+		}
+		snapshotter.shutdown();
+		snapshotter.awaitTermination(10, TimeUnit.SECONDS);
+		if (segment != null) {
+			segment.force(true);
+			segment.close();
+		}
+	}
+}
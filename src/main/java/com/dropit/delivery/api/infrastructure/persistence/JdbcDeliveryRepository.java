@@ -0,0 +1,268 @@
+package com.dropit.delivery.api.infrastructure.persistence;
+
+import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.domain.model.DeliveryCounts;
+import com.dropit.delivery.api.domain.model.DeliveryStatus;
+import com.dropit.delivery.api.domain.repository.DeliveryCursor;
+import com.dropit.delivery.api.domain.repository.DeliveryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Delivery store backed by any JDBC database (schema in {@code db/schema.sql}).
+ * Date queries are range scans on the {@code created_at} index; batches are written with
+ * JDBC batching, updating existing rows first and inserting the rest. Seat capacity is still
+ * enforced by the node-local {@code CapacityLedger}, so the database must not be shared by
+ * several running nodes.
+ */
+@Repository
+@ConditionalOnProperty(name = "storage.engine", havingValue = "jdbc")
+public class JdbcDeliveryRepository implements DeliveryRepository {
+	private static final String COLUMNS = "id, user_name, timeslot_id, status, created_at";
+	private static final String SELECT = "SELECT " + COLUMNS + " FROM delivery";
+	private static final String INSERT = "INSERT INTO delivery (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?)";
+	private static final String UPDATE =
+			"UPDATE delivery SET user_name = ?, timeslot_id = ?, status = ?, created_at = ? WHERE id = ?";
+
+	// Rows per round trip when streaming a range; keeps the driver from buffering whole result sets
+	private static final int STREAM_FETCH_SIZE = 1000;
+
+	private static final RowMapper<Delivery> ROW_MAPPER = (rs, rowNum) -> Delivery.builder()
+			.id(rs.getString("id"))
+			.user(rs.getString("user_name"))
+			.timeslotId(rs.getString("timeslot_id"))
+			.status(DeliveryStatus.valueOf(rs.getString("status")))
+			.createdAt(rs.getObject("created_at", LocalDateTime.class))
+			.build();
+
+	private final JdbcTemplate jdbc;
+	private final int batchSize;
+
+	public JdbcDeliveryRepository(JdbcTemplate jdbc, @Value("${storage.jdbc.batch-size:500}") int batchSize) {
+		this.jdbc = jdbc;
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public Delivery save(Delivery delivery) {
+		validateDelivery(delivery);
+		if (jdbc.update(UPDATE, ps -> bindUpdate(ps, delivery)) == 0) {
+			try {
+				jdbc.update(INSERT, ps -> bindInsert(ps, delivery));
+			} catch (DuplicateKeyException e) {
+				// Inserted concurrently since our update; ours is the later write
+				jdbc.update(UPDATE, ps -> bindUpdate(ps, delivery));
+			}
+		}
+		return delivery;
+	}
+
+	@Override
+	@Transactional
+	public List<Delivery> saveAll(Collection<Delivery> deliveries) {
+		deliveries.forEach(this::validateDelivery);
+		List<Delivery> batch = List.copyOf(deliveries);
+		int[][] updated = jdbc.batchUpdate(UPDATE, batch, batchSize, this::bindUpdate);
+
+		List<Delivery> missing = new ArrayList<>();
+		int i = 0;
+		for (int[] counts : updated) {
+			for (int count : counts) {
+				if (count == 0) {
+					missing.add(batch.get(i));
+				}
+				i++;
+			}
+		}
+		if (!missing.isEmpty()) {
+			jdbc.batchUpdate(INSERT, missing, batchSize, this::bindInsert);
+		}
+		return batch;
+	}
+
+	@Override
+	public Optional<Delivery> findById(String id) {
+		if (isInvalidId(id)) {
+			return Optional.empty();
+		}
+		return jdbc.query(SELECT + " WHERE id = ?", ROW_MAPPER, id).stream().findFirst();
+	}
+
+	@Override
+	public Collection<Delivery> findAll() {
+		return jdbc.query(SELECT, ROW_MAPPER);
+	}
+
+	@Override
+	public void delete(String id) {
+		if (isInvalidId(id)) {
+			return;
+		}
+		jdbc.update("DELETE FROM delivery WHERE id = ?", id);
+	}
+
+	@Override
+	public List<Delivery> findByDate(LocalDate date) {
+		if (date == null) {
+			return List.of();
+		}
+		return findCreatedBetween(date, date.plusDays(1));
+	}
+
+	@Override
+	public List<Delivery> findByWeek(LocalDate anyDayInWeek) {
+		if (anyDayInWeek == null) {
+			return List.of();
+		}
+		LocalDate weekStart = anyDayInWeek.with(DayOfWeek.MONDAY);
+		return findCreatedBetween(weekStart, weekStart.plusDays(7));
+	}
+
+	@Override
+	public List<Delivery> findByStatus(DeliveryStatus status) {
+		if (status == null) {
+			return List.of();
+		}
+		return jdbc.query(SELECT + " WHERE status = ?", ROW_MAPPER, status.name());
+	}
+
+	@Override
+	public long countByDate(LocalDate date) {
+		if (date == null) {
+			return 0;
+		}
+		Long count = jdbc.queryForObject(
+				"SELECT COUNT(*) FROM delivery WHERE created_at >= ? AND created_at < ? AND status <> ?",
+				Long.class, date.atStartOfDay(), date.plusDays(1).atStartOfDay(), DeliveryStatus.CANCELLED.name());
+		return count == null ? 0 : count;
+	}
+
+	@Override
+	public DeliveryCounts countCreatedBetween(LocalDate from, LocalDate toExclusive) {
+		if (from == null || toExclusive == null || !from.isBefore(toExclusive)) {
+			return DeliveryCounts.builder(from, from).build();
+		}
+		// Unlike the memory engine this keeps no counters: a counts table written in every
+		// delivery transaction would add a hot row per day to each booking. The grouping is an
+		// index-only scan of (created_at, status, timeslot_id) over the range instead
+		DeliveryCounts.Builder counts = DeliveryCounts.builder(from, toExclusive.minusDays(1));
+		jdbc.query("SELECT timeslot_id, status, COUNT(*) AS n FROM delivery"
+						+ " WHERE created_at >= ? AND created_at < ? GROUP BY timeslot_id, status",
+				(RowCallbackHandler) rs -> {
+					DeliveryStatus status = DeliveryStatus.valueOf(rs.getString("status"));
+					long count = rs.getLong("n");
+					counts.status(status, count);
+					if (rs.getString("timeslot_id") != null) {
+						counts.timeslot(rs.getString("timeslot_id"), status, count);
+					}
+				},
+				from.atStartOfDay(), toExclusive.atStartOfDay());
+		return counts.build();
+	}
+
+	@Override
+	public Map<String, Long> countActiveByTimeslot(Collection<String> timeslotIds) {
+		Map<String, Long> counts = new HashMap<>();
+		List<String> ids = List.copyOf(timeslotIds);
+		// One grouped query per chunk, answered from the (timeslot_id, status) index
+		for (int from = 0; from < ids.size(); from += batchSize) {
+			List<String> chunk = ids.subList(from, Math.min(ids.size(), from + batchSize));
+			List<Object> args = new ArrayList<>(chunk);
+			args.add(DeliveryStatus.CANCELLED.name());
+			jdbc.query("SELECT timeslot_id, COUNT(*) AS n FROM delivery WHERE timeslot_id IN ("
+							+ String.join(",", Collections.nCopies(chunk.size(), "?"))
+							+ ") AND status <> ? GROUP BY timeslot_id",
+					(RowCallbackHandler) rs -> counts.put(rs.getString("timeslot_id"), rs.getLong("n")),
+					args.toArray());
+		}
+		return counts;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void forEachCreatedBetween(LocalDate from, LocalDate toExclusive, Consumer<? super Delivery> action) {
+		if (from == null || toExclusive == null || !from.isBefore(toExclusive)) {
+			return;
+		}
+		// Read-only transaction: some drivers (e.g. PostgreSQL) only honor the fetch size outside auto-commit
+		jdbc.query(connection -> {
+			PreparedStatement ps = connection.prepareStatement(
+					SELECT + " WHERE created_at >= ? AND created_at < ? ORDER BY created_at, id");
+			ps.setFetchSize(STREAM_FETCH_SIZE);
+			ps.setObject(1, from.atStartOfDay());
+			ps.setObject(2, toExclusive.atStartOfDay());
+			return ps;
+		}, (RowCallbackHandler) rs -> action.accept(ROW_MAPPER.mapRow(rs, rs.getRow())));
+	}
+
+	@Override
+	public List<Delivery> findPageCreatedBetween(LocalDate from, LocalDate toExclusive, DeliveryCursor after, int limit) {
+		if (from == null || toExclusive == null || limit <= 0) {
+			return List.of();
+		}
+		if (after == null) {
+			return jdbc.query(SELECT + " WHERE created_at >= ? AND created_at < ? ORDER BY created_at, id FETCH FIRST ? ROWS ONLY",
+					ROW_MAPPER, from.atStartOfDay(), toExclusive.atStartOfDay(), limit);
+		}
+		// Row-value comparison spelled out, since not every database can use an index for (a, b) > (?, ?)
+		return jdbc.query(SELECT + " WHERE created_at >= ? AND created_at < ?"
+						+ " AND (created_at > ? OR (created_at = ? AND id > ?))"
+						+ " ORDER BY created_at, id FETCH FIRST ? ROWS ONLY",
+				ROW_MAPPER, from.atStartOfDay(), toExclusive.atStartOfDay(),
+				after.getCreatedAt(), after.getCreatedAt(), after.getId(), limit);
+	}
+
+	private List<Delivery> findCreatedBetween(LocalDate fromInclusive, LocalDate toExclusive) {
+		return jdbc.query(SELECT + " WHERE created_at >= ? AND created_at < ?", ROW_MAPPER,
+				fromInclusive.atStartOfDay(), toExclusive.atStartOfDay());
+	}
+
+	private void bindInsert(PreparedStatement ps, Delivery delivery) throws SQLException {
+		ps.setString(1, delivery.getId());
+		ps.setString(2, delivery.getUser());
+		ps.setString(3, delivery.getTimeslotId());
+		ps.setString(4, delivery.getStatus().name());
+		ps.setObject(5, delivery.getCreatedAt());
+	}
+
+	private void bindUpdate(PreparedStatement ps, Delivery delivery) throws SQLException {
+		ps.setString(1, delivery.getUser());
+		ps.setString(2, delivery.getTimeslotId());
+		ps.setString(3, delivery.getStatus().name());
+		ps.setObject(4, delivery.getCreatedAt());
+		ps.setString(5, delivery.getId());
+	}
+
+	private void validateDelivery(Delivery delivery) {
+		if (delivery == null) {
+			throw new IllegalArgumentException("Delivery cannot be null");
+		}
+		if (isInvalidId(delivery.getId())) {
+			throw new IllegalArgumentException("Delivery ID cannot be null or empty");
+		}
+	}
+
+	private boolean isInvalidId(String id) {
+		return id == null || id.trim().isEmpty();
+	}
+}
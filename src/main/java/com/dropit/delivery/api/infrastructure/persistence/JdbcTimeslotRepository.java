@@ -0,0 +1,246 @@
+package com.dropit.delivery.api.infrastructure.persistence;
+
+import com.dropit.delivery.api.domain.model.Timeslot;
+import com.dropit.delivery.api.domain.repository.TimeslotRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Timeslot store backed by any JDBC database (schema in {@code db/schema.sql}).
+ * Supported countries, postcodes and cities live in {@code timeslot_attribute}, one row each.
+ * {@link #version()} is read from {@code catalog_version}, which every write bumps in its own
+ * transaction, so a catalog reloaded on one node is picked up by the others too.
+ */
+@Repository
+@ConditionalOnProperty(name = "storage.engine", havingValue = "jdbc")
+public class JdbcTimeslotRepository implements TimeslotRepository {
+	private static final String COUNTRY = "COUNTRY";
+	private static final String POSTCODE = "POSTCODE";
+	private static final String CITY = "CITY";
+
+	// One statement per read, so a concurrent catalog replace is seen either entirely or not at all
+	private static final String SELECT = "SELECT t.id, t.start_time, t.end_time, a.kind, a.attr_value"
+			+ " FROM timeslot t LEFT JOIN timeslot_attribute a ON a.timeslot_id = t.id";
+	private static final String INSERT = "INSERT INTO timeslot (id, start_time, end_time) VALUES (?, ?, ?)";
+	private static final String UPDATE = "UPDATE timeslot SET start_time = ?, end_time = ? WHERE id = ?";
+	private static final String INSERT_ATTRIBUTE =
+			"INSERT INTO timeslot_attribute (timeslot_id, kind, attr_value) VALUES (?, ?, ?)";
+	private static final String DELETE_ATTRIBUTES = "DELETE FROM timeslot_attribute WHERE timeslot_id = ?";
+	private static final String BUMP_VERSION = "UPDATE catalog_version SET version = version + 1 WHERE id = 1";
+
+	private record Attribute(String timeslotId, String kind, String value) {}
+
+	private record Row(String id, LocalDateTime startTime, LocalDateTime endTime) {}
+
+	private final JdbcTemplate jdbc;
+	private final int batchSize;
+
+	public JdbcTimeslotRepository(JdbcTemplate jdbc, @Value("${storage.jdbc.batch-size:500}") int batchSize) {
+		this.jdbc = jdbc;
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	@Transactional
+	public void saveAll(Collection<Timeslot> timeslots) {
+		if (timeslots == null) {
+			return;
+		}
+		// Last one wins for repeated ids, as a single batch cannot update a row it has yet to insert
+		Map<String, Timeslot> byId = new LinkedHashMap<>();
+		for (Timeslot timeslot : timeslots) {
+			if (timeslot != null && timeslot.getId() != null) {
+				byId.put(timeslot.getId(), timeslot);
+			}
+		}
+		write(List.copyOf(byId.values()));
+		jdbc.update(BUMP_VERSION);
+	}
+
+	// One transaction, so readers under read-committed isolation never see the catalog half-replaced
+	@Override
+	@Transactional
+	public void replaceAll(Collection<Timeslot> timeslots) {
+		jdbc.update("DELETE FROM timeslot_attribute");
+		jdbc.update("DELETE FROM timeslot");
+		Map<String, Timeslot> byId = new LinkedHashMap<>();
+		if (timeslots != null) {
+			for (Timeslot timeslot : timeslots) {
+				if (timeslot != null && timeslot.getId() != null) {
+					byId.put(timeslot.getId(), timeslot);
+				}
+			}
+		}
+		write(List.copyOf(byId.values()));
+		jdbc.update(BUMP_VERSION);
+	}
+
+	@Override
+	@Transactional
+	public Timeslot save(Timeslot timeslot) {
+		if (timeslot != null && timeslot.getId() != null) {
+			write(List.of(timeslot));
+			jdbc.update(BUMP_VERSION);
+			return timeslot;
+		}
+		throw new IllegalArgumentException("Timeslot or ID cannot be null");
+	}
+
+	@Override
+	public Optional<Timeslot> findById(String id) {
+		if (isInvalidId(id)) {
+			return Optional.empty();
+		}
+		return query(SELECT + " WHERE t.id = ?", id).stream().findFirst();
+	}
+
+	@Override
+	public Collection<Timeslot> findAll() {
+		return query(SELECT);
+	}
+
+	@Override
+	@Transactional
+	public void delete(String id) {
+		if (isInvalidId(id)) {
+			return;
+		}
+		jdbc.update(DELETE_ATTRIBUTES, id);
+		if (jdbc.update("DELETE FROM timeslot WHERE id = ?", id) > 0) {
+			jdbc.update(BUMP_VERSION);
+		}
+	}
+
+	@Override
+	@Transactional
+	public void clear() {
+		jdbc.update("DELETE FROM timeslot_attribute");
+		jdbc.update("DELETE FROM timeslot");
+		jdbc.update(BUMP_VERSION);
+	}
+
+	@Override
+	public long version() {
+		Long version = jdbc.queryForObject("SELECT version FROM catalog_version WHERE id = 1", Long.class);
+		return version == null ? 0 : version;
+	}
+
+	// Upserts the rows and replaces their attributes, each step as one JDBC batch
+	private void write(List<Timeslot> timeslots) {
+		if (timeslots.isEmpty()) {
+			return;
+		}
+		int[][] updated = jdbc.batchUpdate(UPDATE, timeslots, batchSize, (ps, timeslot) -> {
+			ps.setObject(1, timeslot.getStartTime());
+			ps.setObject(2, timeslot.getEndTime());
+			ps.setString(3, timeslot.getId());
+		});
+		List<Timeslot> missing = new ArrayList<>();
+		int i = 0;
+		for (int[] counts : updated) {
+			for (int count : counts) {
+				if (count == 0) {
+					missing.add(timeslots.get(i));
+				}
+				i++;
+			}
+		}
+		if (!missing.isEmpty()) {
+			jdbc.batchUpdate(INSERT, missing, batchSize, (ps, timeslot) -> {
+				ps.setString(1, timeslot.getId());
+				ps.setObject(2, timeslot.getStartTime());
+				ps.setObject(3, timeslot.getEndTime());
+			});
+		}
+
+		jdbc.batchUpdate(DELETE_ATTRIBUTES, timeslots, batchSize, (ps, timeslot) -> ps.setString(1, timeslot.getId()));
+		List<Attribute> attributes = new ArrayList<>();
+		for (Timeslot timeslot : timeslots) {
+			addAttributes(attributes, timeslot.getId(), COUNTRY, timeslot.getSupportedCountries());
+			addAttributes(attributes, timeslot.getId(), POSTCODE, timeslot.getSupportedPostcodes());
+			addAttributes(attributes, timeslot.getId(), CITY, timeslot.getSupportedCities());
+		}
+		if (!attributes.isEmpty()) {
+			jdbc.batchUpdate(INSERT_ATTRIBUTE, attributes, batchSize, JdbcTimeslotRepository::bindAttribute);
+		}
+	}
+
+	private static void addAttributes(List<Attribute> target, String timeslotId, String kind, Set<String> values) {
+		if (values != null) {
+			values.forEach(value -> target.add(new Attribute(timeslotId, kind, value)));
+		}
+	}
+
+	private static void bindAttribute(PreparedStatement ps, Attribute attribute) throws SQLException {
+		ps.setString(1, attribute.timeslotId());
+		ps.setString(2, attribute.kind());
+		ps.setString(3, attribute.value());
+	}
+
+	// Folds the joined rows, one per attribute (or one with null attribute columns), into timeslots
+	private List<Timeslot> query(String sql, Object... args) {
+		Map<String, Row> rows = new LinkedHashMap<>();
+		Map<String, List<Attribute>> attributesById = new HashMap<>();
+		jdbc.query(sql, (RowCallbackHandler) rs -> {
+			String id = rs.getString("id");
+			if (!rows.containsKey(id)) {
+				rows.put(id, mapRow(rs));
+			}
+			String kind = rs.getString("kind");
+			if (kind != null) {
+				attributesById.computeIfAbsent(id, key -> new ArrayList<>())
+						.add(new Attribute(id, kind, rs.getString("attr_value")));
+			}
+		}, args);
+		List<Timeslot> timeslots = new ArrayList<>(rows.size());
+		for (Row row : rows.values()) {
+			timeslots.add(assemble(row, attributesById.getOrDefault(row.id(), List.of())));
+		}
+		return timeslots;
+	}
+
+	private static Row mapRow(ResultSet rs) throws SQLException {
+		return new Row(
+				rs.getString("id"),
+				rs.getObject("start_time", LocalDateTime.class),
+				rs.getObject("end_time", LocalDateTime.class));
+	}
+
+	private static Timeslot assemble(Row row, List<Attribute> attributes) {
+		Set<String> countries = new HashSet<>();
+		Set<String> postcodes = new HashSet<>();
+		Set<String> cities = new HashSet<>();
+		for (Attribute attribute : attributes) {
+			switch (attribute.kind()) {
+				case COUNTRY -> countries.add(attribute.value());
+				case POSTCODE -> postcodes.add(attribute.value());
+				case CITY -> cities.add(attribute.value());
+				default -> { }
+			}
+		}
+		return new Timeslot(row.id(), row.startTime(), row.endTime(),
+				Set.copyOf(countries), Set.copyOf(postcodes), Set.copyOf(cities));
+	}
+
+	private boolean isInvalidId(String id) {
+		return id == null || id.trim().isEmpty();
+	}
+}
@@ -0,0 +1,189 @@
+package com.dropit.delivery.api.infrastructure.persistence;
+
+import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.domain.model.DeliveryStatus;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+/**
+ * One delivery change in the write-ahead log. On disk each record is framed as
+ * {@code [int length][int crc32c][payload]}; a frame that is short or fails its checksum marks
+ * the torn tail of a crashed write.
+ */
+final class JournalRecord {
+	enum Type { SAVE, STATUS, DELETE }
+
+	static final int HEADER_BYTES = 8;
+	// Strings are length-prefixed with an unsigned short
+	private static final int MAX_STRING_BYTES = 0xFFFF;
+	private static final DeliveryStatus[] STATUSES = DeliveryStatus.values();
+
+	final Type type;
+	final long sequence;
+	final String id;
+	final String user;
+	final String timeslotId;
+	final DeliveryStatus status;
+	final LocalDateTime createdAt;
+
+	private JournalRecord(Type type, long sequence, String id, String user, String timeslotId,
+						  DeliveryStatus status, LocalDateTime createdAt) {
+		this.type = type;
+		this.sequence = sequence;
+		this.id = id;
+		this.user = user;
+		this.timeslotId = timeslotId;
+		this.status = status;
+		this.createdAt = createdAt;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if a field is too long to journal; thrown on the caller's
+	 * thread, so the repository undoes the change instead of the writer thread failing on it
+	 */
+	static JournalRecord save(long sequence, Delivery delivery) {
+		requireEncodable(delivery.getId());
+		requireEncodable(delivery.getUser());
+		requireEncodable(delivery.getTimeslotId());
+		return new JournalRecord(Type.SAVE, sequence, delivery.getId(), delivery.getUser(),
+				delivery.getTimeslotId(), delivery.getStatus(), delivery.getCreatedAt());
+	}
+
+	static JournalRecord statusChange(long sequence, String id, DeliveryStatus status) {
+		requireEncodable(id);
+		return new JournalRecord(Type.STATUS, sequence, id, null, null, status, null);
+	}
+
+	static JournalRecord delete(long sequence, String id) {
+		requireEncodable(id);
+		return new JournalRecord(Type.DELETE, sequence, id, null, null, null, null);
+	}
+
+	Delivery toDelivery() {
+		return Delivery.builder()
+				.id(id)
+				.user(user)
+				.timeslotId(timeslotId)
+				.status(status)
+				.createdAt(createdAt)
+				.build();
+	}
+
+	/**
+	 * Appends this record as one frame; the buffer must have room for {@link #maxFrameBytes()}.
+	 */
+	void writeFrame(ByteBuffer buffer) {
+		int frameStart = buffer.position();
+		buffer.position(frameStart + HEADER_BYTES);
+		int payloadStart = buffer.position();
+		buffer.put((byte) type.ordinal());
+		buffer.putLong(sequence);
+		putString(buffer, id);
+		if (type == Type.SAVE) {
+			putString(buffer, user);
+			putString(buffer, timeslotId);
+			buffer.put((byte) status.ordinal());
+			buffer.putLong(createdAt.toEpochSecond(ZoneOffset.UTC));
+			buffer.putInt(createdAt.getNano());
+		} else if (type == Type.STATUS) {
+			buffer.put((byte) status.ordinal());
+		}
+		int payloadEnd = buffer.position();
+
+		CRC32C crc = new CRC32C();
+		crc.update(buffer.duplicate().position(payloadStart).limit(payloadEnd));
+		buffer.putInt(frameStart, payloadEnd - payloadStart);
+		buffer.putInt(frameStart + 4, (int) crc.getValue());
+	}
+
+	int maxFrameBytes() {
+		// header + type + sequence + up to three strings (2-byte length, up to 3 bytes per char) + status + timestamp
+		int strings = utf8Bound(id) + utf8Bound(user) + utf8Bound(timeslotId);
+		return HEADER_BYTES + 1 + 8 + strings + 1 + 12;
+	}
+
+	/**
+	 * Reads the frame at the buffer's position, or returns null if the remaining bytes do not
+	 * hold a complete, intact frame. On success the buffer is positioned after the frame.
+	 */
+	static JournalRecord readFrame(ByteBuffer buffer) {
+		if (buffer.remaining() < HEADER_BYTES) {
+			return null;
+		}
+		int start = buffer.position();
+		int length = buffer.getInt(start);
+		int expectedCrc = buffer.getInt(start + 4);
+		if (length <= 0 || length > buffer.remaining() - HEADER_BYTES) {
+			return null;
+		}
+		ByteBuffer payload = buffer.duplicate().position(start + HEADER_BYTES).limit(start + HEADER_BYTES + length);
+		CRC32C crc = new CRC32C();
+		crc.update(payload.duplicate());
+		if ((int) crc.getValue() != expectedCrc) {
+			return null;
+		}
+		try {
+			JournalRecord record = decode(payload);
+			buffer.position(start + HEADER_BYTES + length);
+			return record;
+		} catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			return null;
+		}
+	}
+
+	private static JournalRecord decode(ByteBuffer payload) {
+		Type type = Type.values()[payload.get()];
+		long sequence = payload.getLong();
+		String id = getString(payload);
+		switch (type) {
+			case SAVE -> {
+				String user = getString(payload);
+				String timeslotId = getString(payload);
+				DeliveryStatus status = STATUSES[payload.get()];
+				LocalDateTime createdAt = LocalDateTime.ofEpochSecond(payload.getLong(), payload.getInt(), ZoneOffset.UTC);
+				return new JournalRecord(type, sequence, id, user, timeslotId, status, createdAt);
+			}
+			case STATUS -> {
+				return statusChange(sequence, id, STATUSES[payload.get()]);
+			}
+			default -> {
+				return delete(sequence, id);
+			}
+		}
+	}
+
+	private static void requireEncodable(String value) {
+		// Cheap bound first: at most 3 UTF-8 bytes per char
+		if (value != null && value.length() * 3 > MAX_STRING_BYTES) {
+			int bytes = value.getBytes(StandardCharsets.UTF_8).length;
+			if (bytes > MAX_STRING_BYTES) {
+				throw new IllegalArgumentException("Journaled value too long: " + bytes + " bytes");
+			}
+		}
+	}
+
+	private static void putString(ByteBuffer buffer, String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length > MAX_STRING_BYTES) {
+			throw new IllegalArgumentException("Journaled value too long: " + bytes.length + " bytes");
+		}
+		buffer.putShort((short) bytes.length);
+		buffer.put(bytes);
+	}
+
+	private static String getString(ByteBuffer buffer) {
+		int length = Short.toUnsignedInt(buffer.getShort());
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static int utf8Bound(String value) {
+		return value == null ? 0 : 2 + value.length() * 3;
+	}
+}
@@ -0,0 +1,42 @@
+-- Schema for storage.engine=jdbc; safe to run on every startup
+
+CREATE TABLE IF NOT EXISTS delivery (
+	id          VARCHAR(64)  NOT NULL PRIMARY KEY,
+	user_name   VARCHAR(255) NOT NULL,
+	timeslot_id VARCHAR(64)  NOT NULL,
+	status      VARCHAR(16)  NOT NULL,
+	created_at  TIMESTAMP    NOT NULL
+);
+
+-- Daily/weekly listings and daily counts are range scans on created_at; timeslot_id makes the
+-- index covering for the per-status/per-timeslot range counts, so they never read table rows
+DROP INDEX IF EXISTS idx_delivery_created_at_status;
+CREATE INDEX IF NOT EXISTS idx_delivery_created_at_status_timeslot ON delivery (created_at, status, timeslot_id);
+CREATE INDEX IF NOT EXISTS idx_delivery_status ON delivery (status);
+-- Keyset pagination walks deliveries in (created_at, id) order
+CREATE INDEX IF NOT EXISTS idx_delivery_created_at_id ON delivery (created_at, id);
+-- Startup capacity reconciliation counts active deliveries per timeslot
+CREATE INDEX IF NOT EXISTS idx_delivery_timeslot_status ON delivery (timeslot_id, status);
+
+CREATE TABLE IF NOT EXISTS timeslot (
+	id         VARCHAR(64) NOT NULL PRIMARY KEY,
+	start_time TIMESTAMP,
+	end_time   TIMESTAMP
+);
+
+-- Supported countries, postcodes and cities, one row per value
+CREATE TABLE IF NOT EXISTS timeslot_attribute (
+	timeslot_id VARCHAR(64)  NOT NULL,
+	kind        VARCHAR(16)  NOT NULL,
+	attr_value  VARCHAR(255) NOT NULL,
+	PRIMARY KEY (timeslot_id, kind, attr_value)
+);
+
+-- Single row bumped in the same transaction as every timeslot write, so each node sees
+-- catalog changes made by any other node and rebuilds its eligibility index
+CREATE TABLE IF NOT EXISTS catalog_version (
+	id      INT    NOT NULL PRIMARY KEY,
+	version BIGINT NOT NULL
+);
+INSERT INTO catalog_version (id, version)
+	SELECT 1, 0 WHERE NOT EXISTS (SELECT 1 FROM catalog_version WHERE id = 1);
@@ -0,0 +1,58 @@
+package com.dropit.delivery.api.cache;
+
+import com.dropit.delivery.api.infrastructure.cache.BoundedTtlCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedTtlCacheTest {
+	@Test
+	void evictsLeastRecentlyUsedWhenFull() {
+		BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(2, Duration.ofMinutes(1));
+		cache.put("a", "A");
+		cache.put("b", "B");
+		assertEquals("A", cache.get("a"));
+
+		cache.put("c", "C");
+
+		assertNull(cache.get("b"));
+		assertEquals("A", cache.get("a"));
+		assertEquals("C", cache.get("c"));
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+		assertEquals(3, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	void entriesExpireAfterTheirOwnTtl() {
+		AtomicLong now = new AtomicLong();
+		BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, Duration.ofMinutes(10), now::get);
+		cache.put("long", "L");
+		cache.put("short", "S", Duration.ofMinutes(1));
+
+		now.addAndGet(Duration.ofMinutes(2).toNanos());
+		assertNull(cache.get("short"));
+		assertEquals("L", cache.get("long"));
+
+		now.addAndGet(Duration.ofMinutes(10).toNanos());
+		assertNull(cache.get("long"));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void putIfAbsentKeepsLiveEntriesAndReplacesExpiredOnes() {
+		AtomicLong now = new AtomicLong();
+		BoundedTtlCache<String, String> cache = new BoundedTtlCache<>(10, Duration.ofMinutes(1), now::get);
+		assertNull(cache.putIfAbsent("k", "first"));
+		assertEquals("first", cache.putIfAbsent("k", "second"));
+		assertEquals("first", cache.get("k"));
+
+		now.addAndGet(Duration.ofMinutes(2).toNanos());
+		assertNull(cache.putIfAbsent("k", "third"));
+		assertEquals("third", cache.get("k"));
+	}
+}
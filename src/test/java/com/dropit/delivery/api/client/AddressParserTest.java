@@ -0,0 +1,87 @@
+package com.dropit.delivery.api.client;
+
+import com.dropit.delivery.api.domain.model.Address;
+import com.dropit.delivery.api.infrastructure.client.AddressParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AddressParserTest {
+	private final AddressParser parser = new AddressParser();
+
+	@Test
+	void parsesStreetNumberCityCountryAndPostcode() {
+		assertEquals(new Address("Rothschild Boulevard", "12", "", "Israel", "6688102", "Tel Aviv"),
+				parser.parse("Rothschild Boulevard 12, Tel Aviv, 6688102, Israel"));
+		assertEquals(new Address("", "", "", "", "", ""), parser.parse(",,,"));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"", " ", ",", ",,,", "a,,", ",a", "Herzl 1", "Herzl 1a, Haifa", "Herzl, Haifa, IL, 3303", "1 2 3",
+			"  Main   St\t42 ,  Springfield ,, 12345 , US , CA ", "Herzl 1\u2028b, Haifa", "Herzl \u0001 7",
+			"12, 34, 56, 78", "A\u000B9,B", "x,y, ,z", "Rue 5\u0085, Paris"
+	})
+	void matchesLegacyParserOnEdgeCases(String input) {
+		assertEquals(LegacyAddressParser.parse(input), parser.parse(input), "input: " + input);
+	}
+
+	@Test
+	void matchesLegacyParserOnRandomInputs() {
+		String[] alphabet = {"a", "Z", " ", "\t", "\n", "\u000B", "\f", "\r", "\u0001", ",", ",", "1", "9", "0",
+				"-", "\u0085", "\u2028", "\u2029", "\u00A0", "\u0663", "St", "42"};
+		Random random = new Random(42);
+		for (int i = 0; i < 20_000; i++) {
+			StringBuilder input = new StringBuilder();
+			int length = random.nextInt(16);
+			for (int j = 0; j < length; j++) {
+				input.append(alphabet[random.nextInt(alphabet.length)]);
+			}
+			String term = input.toString();
+			assertEquals(LegacyAddressParser.parse(term), parser.parse(term), "input: " + term);
+		}
+	}
+
+	// The regex/split implementation the scanner replaced, kept as the reference behaviour
+	private static final class LegacyAddressParser {
+		static Address parse(String searchTerm) {
+			String[] parts = searchTerm.split(",");
+			if (parts.length == 0) {
+				return new Address("", "", "", "", "", "");
+			}
+			String street = "";
+			String line1 = "";
+			String city = "";
+			String postcode = "";
+			String country = "";
+
+			String first = parts[0].trim();
+			if (!first.isEmpty()) {
+				String[] tokens = first.split("\\s+");
+				String lastToken = tokens[tokens.length - 1];
+				if (lastToken.matches("\\d+.*")) {
+					line1 = lastToken;
+					street = first.substring(0, first.lastIndexOf(lastToken)).trim();
+				} else {
+					street = first;
+				}
+			}
+			if (parts.length >= 2) {
+				city = parts[1].trim();
+			}
+			for (int i = 2; i < parts.length; i++) {
+				String part = parts[i].trim();
+				if (!part.isEmpty() && part.matches("\\d+")) {
+					postcode = part;
+				} else if (country.isEmpty()) {
+					country = part;
+				}
+			}
+			return new Address(street, line1, "", country, postcode, city);
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package com.dropit.delivery.api.client;
+
+import com.dropit.delivery.api.domain.model.Address;
+import com.dropit.delivery.api.infrastructure.client.AddressParser;
+import com.dropit.delivery.api.infrastructure.client.AddressResolverClient;
+import com.dropit.delivery.api.infrastructure.client.CircuitBreaker;
+import com.dropit.delivery.api.infrastructure.client.GeoapifyAddressParser;
+import com.dropit.delivery.api.infrastructure.client.HttpTransportFactory;
+import com.dropit.delivery.api.infrastructure.client.OutboundExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AddressResolverClientTest {
+	private static CircuitBreaker circuitBreaker() {
+		return new CircuitBreaker("geoapify", 4, 2, 50, Duration.ofSeconds(1), 100, Duration.ofMinutes(1), 1);
+	}
+
+	@Test
+	void batchResolvesEachDistinctTermOnceAndKeepsInputOrder() {
+		AddressParser parser = new AddressParser();
+		Set<String> resolvedTerms = ConcurrentHashMap.newKeySet();
+		AtomicInteger calls = new AtomicInteger();
+		AddressResolverClient client = new AddressResolverClient("", "", parser, new GeoapifyAddressParser(),
+				100, 60_000, 60_000, new OutboundExecutor("bounded", 4, 16, 1000), 3, new HttpTransportFactory(new StandardEnvironment(), new SimpleMeterRegistry()), circuitBreaker(), new SimpleMeterRegistry()) {
+			@Override
+			public Address resolve(String searchTerm) {
+				calls.incrementAndGet();
+				resolvedTerms.add(searchTerm);
+				if (searchTerm.startsWith("boom")) {
+					throw new IllegalStateException("geocoder exploded");
+				}
+				return super.resolve(searchTerm);
+			}
+		};
+
+		List<String> terms = List.of("Herzl 1, Haifa", "boom 2, Eilat", "Herzl 1, Haifa", "Dizengoff 50, Tel Aviv");
+		List<Address> results = client.resolveAll(terms);
+
+		assertEquals(3, calls.get());
+		assertEquals(Set.of("Herzl 1, Haifa", "boom 2, Eilat", "Dizengoff 50, Tel Aviv"), resolvedTerms);
+		assertEquals(terms.size(), results.size());
+		for (int i = 0; i < terms.size(); i++) {
+			assertEquals(parser.parse(terms.get(i)), results.get(i));
+		}
+
+		// Spellings that normalize to the same lookup share one resolution
+		calls.set(0);
+		List<Address> variants = client.resolveAll(List.of("Herzl 3, Haifa", "  Herzl 3,  Haifa ", "Herzl 3 , Haifa"));
+		assertEquals(1, calls.get());
+		assertEquals(3, variants.size());
+		variants.forEach(address -> assertEquals(parser.parse("Herzl 3, Haifa"), address));
+	}
+
+	@Test
+	void openCircuitSkipsTheApiAndParsesLocally() {
+		AddressParser parser = new AddressParser();
+		AtomicInteger apiCalls = new AtomicInteger();
+		CircuitBreaker breaker = circuitBreaker();
+		AddressResolverClient client = new AddressResolverClient("http://geo.test", "key", parser, new GeoapifyAddressParser(),
+				100, 60_000, 60_000, null, 1, new HttpTransportFactory(new StandardEnvironment(), new SimpleMeterRegistry()), breaker, new SimpleMeterRegistry()) {
+			@Override
+			protected <T> T fetchAndRead(String url, ResponseReader<T> reader) throws Exception {
+				apiCalls.incrementAndGet();
+				throw new IllegalStateException("geocoder down");
+			}
+		};
+
+		client.resolve("Herzl 1, Haifa");
+		client.resolve("Herzl 2, Haifa");
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+		assertEquals(parser.parse("Herzl 3, Haifa"), client.resolve("Herzl 3, Haifa"));
+		assertEquals(2, apiCalls.get());
+		assertEquals(1, breaker.getNotPermittedCount());
+	}
+}
@@ -0,0 +1,87 @@
+package com.dropit.delivery.api.client;
+
+import com.dropit.delivery.api.infrastructure.client.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircuitBreakerTest {
+	private static final long FAST = Duration.ofMillis(10).toNanos();
+	private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+	private final AtomicLong now = new AtomicLong();
+
+	private CircuitBreaker breaker() {
+		return new CircuitBreaker("test", 4, 4, 50, Duration.ofSeconds(1), 75, Duration.ofSeconds(30), 2, now::get);
+	}
+
+	private static void call(CircuitBreaker breaker, boolean failed, long duration) {
+		assertTrue(breaker.tryAcquirePermission());
+		if (failed) {
+			breaker.onFailure(duration);
+		} else {
+			breaker.onSuccess(duration);
+		}
+	}
+
+	@Test
+	void opensOnFailureRateOnlyOnceEnoughCallsAreRecorded() {
+		CircuitBreaker breaker = breaker();
+		call(breaker, true, FAST);
+		call(breaker, true, FAST);
+		call(breaker, false, FAST);
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+		call(breaker, false, FAST);
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		assertFalse(breaker.tryAcquirePermission());
+		assertEquals(1, breaker.getNotPermittedCount());
+	}
+
+	@Test
+	void opensOnSlowCallsEvenWhenTheySucceed() {
+		CircuitBreaker breaker = breaker();
+		call(breaker, false, SLOW);
+		call(breaker, false, SLOW);
+		call(breaker, false, FAST);
+		call(breaker, false, SLOW);
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+	}
+
+	@Test
+	void oldOutcomesLeaveTheWindow() {
+		CircuitBreaker breaker = breaker();
+		call(breaker, true, FAST);
+		for (int i = 0; i < 6; i++) {
+			call(breaker, false, FAST);
+		}
+		call(breaker, true, FAST);
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+	}
+
+	@Test
+	void halfOpenProbesCloseOrReopenTheCircuit() {
+		CircuitBreaker breaker = breaker();
+		for (int i = 0; i < 4; i++) {
+			call(breaker, true, FAST);
+		}
+		now.addAndGet(Duration.ofSeconds(31).toNanos());
+
+		assertTrue(breaker.tryAcquirePermission());
+		assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+		assertTrue(breaker.tryAcquirePermission());
+		assertFalse(breaker.tryAcquirePermission());
+		breaker.onSuccess(FAST);
+		breaker.onFailure(FAST);
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		assertEquals(2, breaker.getOpenedCount());
+
+		now.addAndGet(Duration.ofSeconds(31).toNanos());
+		call(breaker, false, FAST);
+		call(breaker, false, FAST);
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+	}
+}
@@ -0,0 +1,55 @@
+package com.dropit.delivery.api.client;
+
+import com.dropit.delivery.api.domain.model.Address;
+import com.dropit.delivery.api.infrastructure.client.GeoapifyAddressParser;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeoapifyAddressParserTest {
+	private final GeoapifyAddressParser parser = new GeoapifyAddressParser();
+
+	@Test
+	void readsTheFirstResultAndSkipsEverythingElse() throws IOException {
+		String body = """
+				{"query": {"text": "Herzl 1 Haifa", "parsed": {"street": "herzl", "city": "haifa"}},
+				 "results": [
+				   {"datasource": {"sourcename": "openstreetmap", "raw": {"street": "ignored"}},
+				    "country": "Israel", "country_code": "il", "city": "Haifa", "postcode": 3303,
+				    "street": "Herzl Street", "housenumber": "1", "lon": 34.99, "lat": 32.81,
+				    "rank": {"confidence": 1}},
+				   {"street": "Other Street", "housenumber": "2", "city": "Acre"}
+				 ]}""";
+
+		assertEquals(new Address("Herzl Street", "1", "", "il", "3303", "Haifa"), parse(body));
+	}
+
+	@Test
+	void fallsBackToAlternativeFieldNames() throws IOException {
+		String body = """
+				{"results": [{"address_line1": "Herzl 1", "house_number": "1", "country": "Israel", "street": null}]}""";
+
+		assertEquals(new Address("Herzl 1", "1", "", "Israel", "", ""), parse(body));
+	}
+
+	@Test
+	void returnsNullWithoutResults() throws IOException {
+		assertNull(parse("{\"results\": []}"));
+		assertNull(parse("{\"features\": [{\"street\": \"Herzl\"}]}"));
+	}
+
+	@Test
+	void rejectsNonObjectResponses() {
+		assertThrows(IOException.class, () -> parse("[]"));
+	}
+
+	private Address parse(String body) throws IOException {
+		try (JsonParser json = new ObjectMapper().getFactory().createParser(body)) {
+			return parser.parse(json);
+		}
+	}
+}
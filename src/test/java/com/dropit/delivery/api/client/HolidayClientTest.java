@@ -0,0 +1,124 @@
+package com.dropit.delivery.api.client;
+
+import com.dropit.delivery.api.infrastructure.client.HolidayCacheStore;
+import com.dropit.delivery.api.infrastructure.client.HolidayClient;
+import com.dropit.delivery.api.infrastructure.client.HttpTransportFactory;
+import com.dropit.delivery.api.infrastructure.client.OutboundExecutor;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HolidayClientTest {
+	private static final LocalDate NEW_YEAR = LocalDate.of(2026, 1, 1);
+
+	@Test
+	void concurrentMissesShareOneFetch() throws InterruptedException {
+		AtomicInteger fetches = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		HolidayClient client = new HolidayClient("http://holidays.test", "key", new OutboundExecutor("bounded", 1, 4, 1000), null, new HttpTransportFactory(new StandardEnvironment(), new SimpleMeterRegistry()), new SimpleMeterRegistry()) {
+			@Override
+			protected Set<LocalDate> fetchHolidaysFromApi(String country, int year) throws Exception {
+				fetches.incrementAndGet();
+				release.await(5, TimeUnit.SECONDS);
+				return Set.of(NEW_YEAR);
+			}
+		};
+
+		int callers = 8;
+		CountDownLatch done = new CountDownLatch(callers);
+		CopyOnWriteArrayList<Set<LocalDate>> results = new CopyOnWriteArrayList<>();
+		for (int i = 0; i < callers; i++) {
+			new Thread(() -> {
+				results.add(client.holidaysForYear("IL", 2026));
+				done.countDown();
+			}).start();
+		}
+		Thread.sleep(200);
+		release.countDown();
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+
+		assertEquals(1, fetches.get());
+		assertEquals(callers, results.size());
+		assertTrue(results.stream().allMatch(set -> set.contains(NEW_YEAR)));
+		assertEquals(Set.of(NEW_YEAR), client.holidaysForYear("il", 2026));
+		assertEquals(1, fetches.get());
+	}
+
+	@Test
+	void failedRefreshKeepsLastGoodCalendar() {
+		AtomicInteger fetches = new AtomicInteger();
+		HolidayClient client = new HolidayClient("http://holidays.test", "key", new OutboundExecutor("bounded", 1, 4, 1000), null, new HttpTransportFactory(new StandardEnvironment(), new SimpleMeterRegistry()), new SimpleMeterRegistry()) {
+			@Override
+			protected Set<LocalDate> fetchHolidaysFromApi(String country, int year) throws Exception {
+				if (fetches.incrementAndGet() > 1) {
+					throw new IllegalStateException("holiday API down");
+				}
+				return Set.of(NEW_YEAR);
+			}
+		};
+
+		assertEquals(Set.of(NEW_YEAR), client.holidaysForYear("IL", 2026));
+		assertEquals(Set.of(NEW_YEAR), client.refresh("IL", 2026).join());
+		assertEquals(2, fetches.get());
+	}
+
+	@Test
+	void restartWarmsCacheFromDisk() throws Exception {
+		Path file = Files.createTempDirectory("holidays").resolve("cache.bin");
+		AtomicInteger fetches = new AtomicInteger();
+		HolidayClient first = new HolidayClient("http://holidays.test", "key", null, new HolidayCacheStore(file.toString()), new HttpTransportFactory(new StandardEnvironment(), new SimpleMeterRegistry()), new SimpleMeterRegistry()) {
+			@Override
+			protected Set<LocalDate> fetchHolidaysFromApi(String country, int year) {
+				fetches.incrementAndGet();
+				return Set.of(NEW_YEAR);
+			}
+		};
+		assertEquals(Set.of(NEW_YEAR), first.holidaysForYear("IL", 2026));
+
+		HolidayClient restarted = new HolidayClient("http://holidays.test", "key", null, new HolidayCacheStore(file.toString()), new HttpTransportFactory(new StandardEnvironment(), new SimpleMeterRegistry()), new SimpleMeterRegistry()) {
+			@Override
+			protected Set<LocalDate> fetchHolidaysFromApi(String country, int year) {
+				fetches.incrementAndGet();
+				return Set.of();
+			}
+		};
+		assertEquals(Set.of(NEW_YEAR), restarted.holidaysForYear("IL", 2026));
+		assertEquals(1, fetches.get());
+	}
+
+	@Test
+	void parsesOnlyPublicHolidaysFromTheResponseStream() {
+		String body = """
+				{"status": 200, "requests": {"used": 1, "available": 999},
+				 "holidays": [
+				   {"name": "New Year", "date": "2026-01-01", "observed": "2026-01-01", "public": true,
+				    "weekday": {"date": {"name": "Thursday", "numeric": "4"}}},
+				   {"name": "Office party", "date": "2026-01-02", "public": false},
+				   {"name": "Broken", "date": "not-a-date", "public": true},
+				   {"name": "Independence Day", "public": true, "date": "2026-04-22"}
+				 ]}""";
+		HolidayClient client = new HolidayClient("http://holidays.test", "key", null, null, new HttpTransportFactory(new StandardEnvironment(), new SimpleMeterRegistry()), new SimpleMeterRegistry()) {
+			@Override
+			protected <T> T fetchAndRead(String url, ResponseReader<T> reader) throws Exception {
+				try (JsonParser parser = new ObjectMapper().getFactory().createParser(body)) {
+					return reader.read(parser);
+				}
+			}
+		};
+
+		assertEquals(Set.of(NEW_YEAR, LocalDate.of(2026, 4, 22)), client.holidaysForYear("IL", 2026));
+	}
+}
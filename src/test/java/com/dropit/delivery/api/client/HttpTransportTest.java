@@ -0,0 +1,39 @@
+package com.dropit.delivery.api.client;
+
+import com.dropit.delivery.api.infrastructure.client.HttpTransport;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HttpTransportTest {
+	@Test
+	void failsFastWhenEveryConnectionSlotIsBusy() throws Exception {
+		HttpTransport transport = new HttpTransport("test", Duration.ofSeconds(1), Duration.ofSeconds(1),
+				1, Duration.ofMillis(20), true, null);
+		CountDownLatch holding = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> transport.execute(client -> {
+			holding.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "slow";
+		}));
+		holding.await();
+
+		assertEquals(1, transport.getActive());
+		assertThrows(IllegalStateException.class, () -> transport.execute(client -> "fast"));
+		assertEquals(1, transport.getRejectedCount());
+
+		release.countDown();
+		assertEquals("slow", slow.get());
+		assertEquals("fast", transport.execute(client -> "fast"));
+		assertEquals(0, transport.getActive());
+	}
+}
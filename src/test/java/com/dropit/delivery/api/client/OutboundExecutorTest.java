@@ -0,0 +1,83 @@
+package com.dropit.delivery.api.client;
+
+import com.dropit.delivery.api.infrastructure.client.OutboundExecutor;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutboundExecutorTest {
+	@Test
+	void slowCallsCompleteWithTheFallback() {
+		OutboundExecutor executor = new OutboundExecutor("bounded", 1, 4, 1000);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			CompletableFuture<String> result = executor.supply(() -> {
+				await(release);
+				return "slow";
+			}, "fallback", Duration.ofMillis(50));
+
+			assertEquals("fallback", result.join());
+			assertEquals(1, executor.getTimedOutCount());
+		} finally {
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void saturatedExecutorReturnsTheFallbackWithoutRunningTheCallOnTheCaller() {
+		OutboundExecutor executor = new OutboundExecutor("bounded", 1, 1, 1000);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			executor.execute(() -> await(release));
+			executor.execute(() -> await(release));
+
+			AtomicBoolean ran = new AtomicBoolean();
+			long start = System.nanoTime();
+			CompletableFuture<String> result = executor.supply(() -> {
+				ran.set(true);
+				return "called";
+			}, "fallback", Duration.ofSeconds(30));
+
+			assertTrue(result.isDone());
+			assertEquals("fallback", result.join());
+			assertFalse(ran.get());
+			assertTrue(System.nanoTime() - start < Duration.ofSeconds(5).toNanos());
+			assertEquals(1, executor.getRejectedCount());
+		} finally {
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void optionalWorkIsSkippedWhenSaturated() {
+		OutboundExecutor executor = new OutboundExecutor("bounded", 1, 1, 1000);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			assertTrue(executor.tryExecute(() -> await(release)));
+			assertTrue(executor.tryExecute(() -> await(release)));
+
+			AtomicBoolean ran = new AtomicBoolean();
+			assertFalse(executor.tryExecute(() -> ran.set(true)));
+			assertFalse(ran.get());
+			assertEquals(1, executor.getRejectedCount());
+		} finally {
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package com.dropit.delivery.api.client;
+
+import com.dropit.delivery.api.infrastructure.client.LatencyHistogram;
+import com.dropit.delivery.api.infrastructure.client.RequestHedger;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestHedgerTest {
+	private final AtomicLong now = new AtomicLong();
+
+	private LatencyHistogram warmedUp(long samples, Duration latency) {
+		LatencyHistogram histogram = new LatencyHistogram(Duration.ofMinutes(1), 6, now::get);
+		for (int i = 0; i < samples; i++) {
+			histogram.record(latency.toNanos());
+		}
+		return histogram;
+	}
+
+	// First attempt hangs until released, later ones answer at once
+	private static Supplier<String> slowThenFast(AtomicInteger attempts, CountDownLatch release) {
+		return () -> {
+			if (attempts.incrementAndGet() == 1) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return "first";
+			}
+			return "hedge";
+		};
+	}
+
+	@Test
+	void percentileComesFromRecentWindowsOnly() {
+		LatencyHistogram histogram = new LatencyHistogram(Duration.ofMinutes(1), 6, now::get);
+		assertEquals(-1, histogram.percentileNanos(50, 1));
+		for (int i = 0; i < 90; i++) {
+			histogram.record(Duration.ofMillis(10).toNanos());
+		}
+		for (int i = 0; i < 10; i++) {
+			histogram.record(Duration.ofMillis(500).toNanos());
+		}
+		long p50 = histogram.percentileNanos(50, 100);
+		long p99 = histogram.percentileNanos(99, 100);
+		assertTrue(p50 >= Duration.ofMillis(10).toNanos() && p50 < Duration.ofMillis(13).toNanos(), "p50=" + p50);
+		assertTrue(p99 >= Duration.ofMillis(500).toNanos() && p99 < Duration.ofMillis(600).toNanos(), "p99=" + p99);
+		assertEquals(-1, histogram.percentileNanos(50, 101));
+
+		now.addAndGet(Duration.ofMinutes(2).toNanos());
+		assertEquals(-1, histogram.percentileNanos(50, 1));
+	}
+
+	@Test
+	void slowCallIsHedgedAndTheFasterAttemptWins() {
+		RequestHedger hedger = new RequestHedger(95, Duration.ofMillis(5), 10, 1.0, warmedUp(10, Duration.ofMillis(1)));
+		AtomicInteger attempts = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+
+		assertEquals("hedge", hedger.call(slowThenFast(attempts, release)));
+		release.countDown();
+		assertEquals(2, attempts.get());
+		assertEquals(1, hedger.getHedgedCount());
+		assertEquals(1, hedger.getHedgeWinCount());
+	}
+
+	@Test
+	void hedgesStopWhenTheBudgetIsSpent() {
+		RequestHedger hedger = new RequestHedger(95, Duration.ofMillis(5), 10, 0.5, warmedUp(10, Duration.ofMillis(1)));
+		AtomicInteger attempts = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		new Thread(() -> {
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			release.countDown();
+		}).start();
+
+		assertEquals("first", hedger.call(slowThenFast(attempts, release)));
+		assertEquals(1, attempts.get());
+		assertEquals(0, hedger.getHedgedCount());
+		assertEquals(1, hedger.getOverBudgetCount());
+	}
+
+	@Test
+	void noHedgingUntilEnoughLatenciesAreKnown() {
+		RequestHedger hedger = new RequestHedger(95, Duration.ofMillis(5), 10, 1.0, warmedUp(3, Duration.ofMillis(1)));
+		assertEquals(-1, hedger.hedgeDelayNanos());
+		assertEquals("ok", hedger.call(() -> "ok"));
+		assertEquals(0, hedger.getHedgedCount());
+	}
+}
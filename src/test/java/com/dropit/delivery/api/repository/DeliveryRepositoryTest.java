@@ -0,0 +1,210 @@
+package com.dropit.delivery.api.repository;
+
+import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.domain.model.DeliveryCounts;
+import com.dropit.delivery.api.domain.model.DeliveryStatus;
+import com.dropit.delivery.api.domain.repository.DeliveryCursor;
+import com.dropit.delivery.api.domain.repository.DeliveryJournal;
+import com.dropit.delivery.api.domain.repository.DeliveryRepository;
+import com.dropit.delivery.api.domain.repository.InMemoryDeliveryRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeliveryRepositoryTest {
+	private static final LocalDate MONDAY = LocalDate.of(2025, 10, 27);
+
+	private static Delivery deliveryOn(LocalDate date) {
+		return Delivery.builder()
+				.user("user")
+				.timeslotId("A")
+				.createdAt(date.atTime(10, 0))
+				.build();
+	}
+
+	@Test
+	void indexesByDateAndWeek() {
+		DeliveryRepository repo = new InMemoryDeliveryRepository();
+		repo.save(deliveryOn(MONDAY));
+		repo.save(deliveryOn(MONDAY.plusDays(6)));
+		repo.save(deliveryOn(MONDAY.plusDays(7)));
+
+		assertEquals(1, repo.findByDate(MONDAY).size());
+		assertEquals(2, repo.findByWeek(MONDAY.plusDays(3)).size());
+		assertEquals(1, repo.findByWeek(MONDAY.plusDays(7)).size());
+		assertTrue(repo.findByDate(MONDAY.minusDays(1)).isEmpty());
+	}
+
+	@Test
+	void statusChangesAreReindexed() {
+		DeliveryRepository repo = new InMemoryDeliveryRepository();
+		Delivery kept = repo.save(deliveryOn(MONDAY));
+		Delivery cancelled = repo.save(deliveryOn(MONDAY));
+		assertEquals(2, repo.countByDate(MONDAY));
+
+		cancelled.setStatus(DeliveryStatus.CANCELLED);
+		repo.save(cancelled);
+		assertEquals(1, repo.countByDate(MONDAY));
+		assertEquals(2, repo.findByDate(MONDAY).size());
+		assertEquals(1, repo.findByStatus(DeliveryStatus.CANCELLED).size());
+
+		repo.save(kept.withStatus(DeliveryStatus.COMPLETED));
+		assertTrue(repo.findByStatus(DeliveryStatus.PENDING).isEmpty());
+		assertEquals(1, repo.findByStatus(DeliveryStatus.COMPLETED).size());
+		assertEquals(1, repo.countByDate(MONDAY));
+	}
+
+	@Test
+	void deleteRemovesFromIndexes() {
+		DeliveryRepository repo = new InMemoryDeliveryRepository();
+		Delivery delivery = repo.save(Delivery.builder()
+				.user("user")
+				.timeslotId("A")
+				.createdAt(LocalDateTime.of(MONDAY, LocalTime.NOON))
+				.build());
+
+		repo.delete(delivery.getId());
+
+		assertTrue(repo.findByDate(MONDAY).isEmpty());
+		assertTrue(repo.findByStatus(DeliveryStatus.PENDING).isEmpty());
+		assertEquals(0, repo.countByDate(MONDAY));
+	}
+
+	@Test
+	void visitsRangeInDayOrder() {
+		DeliveryRepository repo = new InMemoryDeliveryRepository();
+		repo.save(deliveryOn(MONDAY.plusDays(2)));
+		repo.save(deliveryOn(MONDAY));
+		repo.save(deliveryOn(MONDAY.plusDays(1)));
+		repo.save(deliveryOn(MONDAY.plusYears(3)));
+
+		List<LocalDate> week = new ArrayList<>();
+		repo.forEachCreatedBetween(MONDAY, MONDAY.plusDays(2), d -> week.add(d.getCreatedAt().toLocalDate()));
+		assertEquals(List.of(MONDAY, MONDAY.plusDays(1)), week);
+
+		// Wider than the indexed days: only days holding deliveries are visited
+		List<LocalDate> years = new ArrayList<>();
+		repo.forEachCreatedBetween(MONDAY.minusYears(10), MONDAY.plusYears(10), d -> years.add(d.getCreatedAt().toLocalDate()));
+		assertEquals(List.of(MONDAY, MONDAY.plusDays(1), MONDAY.plusDays(2), MONDAY.plusYears(3)), years);
+	}
+
+	@Test
+	void pagesByCreatedAtAndIdStableAcrossInserts() {
+		DeliveryRepository repo = new InMemoryDeliveryRepository();
+		for (int i = 0; i < 5; i++) {
+			repo.save(Delivery.builder().id("d" + i).user("user").timeslotId("A")
+					.createdAt(MONDAY.atTime(10, 0).plusMinutes(i)).build());
+		}
+		// Same timestamp as d1: ties are broken by id
+		repo.save(Delivery.builder().id("d1b").user("user").timeslotId("A").createdAt(MONDAY.atTime(10, 1)).build());
+
+		List<Delivery> first = repo.findPageCreatedBetween(MONDAY, MONDAY.plusDays(1), null, 3);
+		assertEquals(List.of("d0", "d1", "d1b"), first.stream().map(Delivery::getId).toList());
+
+		// An insert before the cursor and a status change do not shift the next page
+		repo.save(Delivery.builder().id("early").user("user").timeslotId("A").createdAt(MONDAY.atTime(9, 0)).build());
+		repo.save(repo.findById("d2").orElseThrow().withStatus(DeliveryStatus.CANCELLED));
+
+		DeliveryCursor cursor = DeliveryCursor.decode(DeliveryCursor.of(first.get(2)).encode());
+		List<Delivery> second = repo.findPageCreatedBetween(MONDAY, MONDAY.plusDays(1), cursor, 3);
+		assertEquals(List.of("d2", "d3", "d4"), second.stream().map(Delivery::getId).toList());
+		assertTrue(repo.findPageCreatedBetween(MONDAY, MONDAY.plusDays(1), DeliveryCursor.of(second.get(2)), 3).isEmpty());
+
+		repo.delete("d3");
+		assertEquals(List.of("d2", "d4"), repo.findPageCreatedBetween(MONDAY, MONDAY.plusDays(1), cursor, 3)
+				.stream().map(Delivery::getId).toList());
+	}
+
+	@Test
+	void countersFollowBookCompleteCancelAndDelete() {
+		DeliveryRepository repo = new InMemoryDeliveryRepository();
+		Delivery completed = repo.save(deliveryOn(MONDAY));
+		Delivery cancelled = repo.save(deliveryOn(MONDAY));
+		Delivery deleted = repo.save(Delivery.builder().user("user").timeslotId("B").createdAt(MONDAY.atTime(12, 0)).build());
+		repo.save(deliveryOn(MONDAY.plusDays(2)));
+
+		repo.save(completed.withStatus(DeliveryStatus.COMPLETED));
+		repo.save(cancelled.withStatus(DeliveryStatus.CANCELLED));
+		repo.delete(deleted.getId());
+
+		DeliveryCounts day = repo.countCreatedBetween(MONDAY, MONDAY.plusDays(1));
+		assertEquals(2, day.getTotal());
+		assertEquals(repo.countByDate(MONDAY), day.getActive());
+		assertEquals(0L, day.getByStatus().get(DeliveryStatus.PENDING));
+		assertEquals(Map.of("A", Map.of(DeliveryStatus.COMPLETED, 1L, DeliveryStatus.CANCELLED, 1L)), day.getByTimeslot());
+
+		DeliveryCounts week = repo.countCreatedBetween(MONDAY, MONDAY.plusDays(7));
+		assertEquals(MONDAY.plusDays(6), week.getTo());
+		assertEquals(3, week.getTotal());
+		assertEquals(1L, week.getByStatus().get(DeliveryStatus.PENDING));
+		assertEquals(0, repo.countCreatedBetween(MONDAY.plusDays(7), MONDAY.plusDays(8)).getTotal());
+		assertEquals(Map.of("A", 2L), repo.countActiveByTimeslot(List.of("A", "B", "C")));
+	}
+
+	@Test
+	void writesTheJournalCannotMakeDurableAreUndone() {
+		InMemoryDeliveryRepository repo = new InMemoryDeliveryRepository();
+		Delivery kept = repo.save(deliveryOn(MONDAY));
+		FailingJournal journal = new FailingJournal();
+		repo.attachJournal(journal);
+
+		// Rejected up front: never applied
+		journal.rejectRecords = true;
+		assertThrows(IllegalStateException.class, () -> repo.save(deliveryOn(MONDAY)));
+		assertThrows(IllegalStateException.class, () -> repo.delete(kept.getId()));
+		assertEquals(List.of(kept), repo.findByDate(MONDAY));
+
+		// Recorded but never durable: undone after the failed wait
+		journal.rejectRecords = false;
+		journal.failDurability = true;
+		assertThrows(IllegalStateException.class, () -> repo.save(kept.withStatus(DeliveryStatus.CANCELLED)));
+		assertThrows(IllegalStateException.class, () -> repo.saveAll(List.of(deliveryOn(MONDAY), deliveryOn(MONDAY.plusDays(1)))));
+		assertThrows(IllegalStateException.class, () -> repo.delete(kept.getId()));
+
+		assertEquals(List.of(kept), new ArrayList<>(repo.findAll()));
+		assertEquals(List.of(kept), repo.findByStatus(kept.getStatus()));
+		assertEquals(1, repo.countByDate(MONDAY));
+		assertEquals(0, repo.countByDate(MONDAY.plusDays(1)));
+		assertEquals(1, repo.countCreatedBetween(MONDAY, MONDAY.plusDays(2)).getTotal());
+		assertEquals(List.of(kept), repo.findPageCreatedBetween(MONDAY, MONDAY.plusDays(2), null, 10));
+	}
+
+	private static final class FailingJournal implements DeliveryJournal {
+		volatile boolean rejectRecords;
+		volatile boolean failDurability;
+		private long sequence;
+
+		@Override
+		public long recordSave(Delivery delivery) { return record(); }
+
+		@Override
+		public long recordStatusChange(String id, DeliveryStatus status) { return record(); }
+
+		@Override
+		public long recordDelete(String id) { return record(); }
+
+		private synchronized long record() {
+			if (rejectRecords) {
+				throw new IllegalStateException("journal full");
+			}
+			return ++sequence;
+		}
+
+		@Override
+		public void awaitDurable(long sequence) {
+			if (failDurability) {
+				throw new IllegalStateException("journal failed");
+			}
+		}
+
+		@Override
+		public boolean isDurable(long sequence) { return !failDurability; }
+	}
+}
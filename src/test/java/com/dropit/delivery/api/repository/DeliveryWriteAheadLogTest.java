@@ -0,0 +1,109 @@
+package com.dropit.delivery.api.repository;
+
+import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.domain.model.DeliveryStatus;
+import com.dropit.delivery.api.domain.repository.InMemoryDeliveryRepository;
+import com.dropit.delivery.api.infrastructure.persistence.DeliveryWriteAheadLog;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeliveryWriteAheadLogTest {
+	@Test
+	void replayRestoresSavesStatusChangesAndDeletes() throws Exception {
+		Path dir = Files.createTempDirectory("wal");
+		InMemoryDeliveryRepository repository = new InMemoryDeliveryRepository();
+		DeliveryWriteAheadLog wal = open(dir, repository, 1000);
+
+		Delivery kept = repository.save(Delivery.builder().user("a@x.com").timeslotId("T1").build());
+		Delivery removed = repository.save(Delivery.builder().user("b@x.com").timeslotId("T1").build());
+		repository.save(kept.withStatus(DeliveryStatus.COMPLETED));
+		repository.delete(removed.getId());
+		wal.close();
+
+		// A crash mid-append leaves a partial frame at the end of the newest segment
+		Path newest;
+		try (Stream<Path> files = Files.list(dir)) {
+			newest = files.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().reduce((a, b) -> b).orElseThrow();
+		}
+		Files.write(newest, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+		InMemoryDeliveryRepository restored = new InMemoryDeliveryRepository();
+		DeliveryWriteAheadLog reopened = open(dir, restored, 1000);
+		assertEquals(1, restored.findAll().size());
+		assertEquals(DeliveryStatus.COMPLETED, restored.findById(kept.getId()).orElseThrow().getStatus());
+		assertEquals(kept.getCreatedAt(), restored.findById(kept.getId()).orElseThrow().getCreatedAt());
+		assertTrue(restored.findById(removed.getId()).isEmpty());
+
+		// Writes after recovery land after the truncated tail and replay as well
+		restored.save(Delivery.builder().user("c@x.com").timeslotId("T2").build());
+		reopened.close();
+		InMemoryDeliveryRepository again = new InMemoryDeliveryRepository();
+		open(dir, again, 1000).close();
+		assertEquals(2, again.findAll().size());
+	}
+
+	@Test
+	void snapshotsTrimTheLogAndReplayFromTheSnapshot() throws Exception {
+		Path dir = Files.createTempDirectory("wal");
+		InMemoryDeliveryRepository repository = new InMemoryDeliveryRepository();
+		DeliveryWriteAheadLog wal = open(dir, repository, 50);
+		for (int i = 0; i < 200; i++) {
+			repository.saveAll(List.of(
+					Delivery.builder().user("u" + i + "@x.com").timeslotId("T").build(),
+					Delivery.builder().user("v" + i + "@x.com").timeslotId("T").build()));
+		}
+		wal.close();
+
+		assertTrue(Files.exists(dir.resolve("deliveries.snapshot")));
+		InMemoryDeliveryRepository restored = new InMemoryDeliveryRepository();
+		open(dir, restored, 50).close();
+		assertEquals(400, restored.findAll().size());
+	}
+
+	@Test
+	void failedLogRejectsWritesWithoutChangingTheRepository() throws Exception {
+		Path dir = Files.createTempDirectory("wal");
+		InMemoryDeliveryRepository repository = new InMemoryDeliveryRepository();
+		DeliveryWriteAheadLog wal = open(dir, repository, 1000);
+		Delivery kept = repository.save(Delivery.builder().user("a@x.com").timeslotId("T1").build());
+		wal.close();
+
+		assertThrows(UncheckedIOException.class,
+				() -> repository.save(Delivery.builder().user("b@x.com").timeslotId("T1").build()));
+		assertThrows(UncheckedIOException.class, () -> repository.delete(kept.getId()));
+		assertEquals(List.of(kept), List.copyOf(repository.findAll()));
+
+		InMemoryDeliveryRepository restored = new InMemoryDeliveryRepository();
+		open(dir, restored, 1000).close();
+		assertEquals(List.of(kept.getId()), restored.findAll().stream().map(Delivery::getId).toList());
+	}
+
+	@Test
+	void valuesTooLongToJournalAreRejectedAndTheLogKeepsWorking() throws Exception {
+		Path dir = Files.createTempDirectory("wal");
+		InMemoryDeliveryRepository repository = new InMemoryDeliveryRepository();
+		DeliveryWriteAheadLog wal = open(dir, repository, 1000);
+		Delivery oversized = Delivery.builder().user("u".repeat(70 * 1024)).timeslotId("T1").build();
+
+		assertThrows(IllegalArgumentException.class, () -> repository.save(oversized));
+		assertTrue(repository.findById(oversized.getId()).isEmpty());
+
+		Delivery kept = repository.save(Delivery.builder().user("a@x.com").timeslotId("T1").build());
+		wal.close();
+		InMemoryDeliveryRepository restored = new InMemoryDeliveryRepository();
+		open(dir, restored, 1000).close();
+		assertEquals(List.of(kept.getId()), restored.findAll().stream().map(Delivery::getId).toList());
+	}
+
+	private static DeliveryWriteAheadLog open(Path dir, InMemoryDeliveryRepository repository, long snapshotEvery) throws Exception {
+		return new DeliveryWriteAheadLog(dir.toString(), false, snapshotEvery, 64 * 1024, 1024, repository);
+	}
+}
@@ -0,0 +1,209 @@
+package com.dropit.delivery.api.repository;
+
+import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.domain.model.DeliveryCounts;
+import com.dropit.delivery.api.domain.model.DeliveryStatus;
+import com.dropit.delivery.api.domain.model.Timeslot;
+import com.dropit.delivery.api.domain.repository.DeliveryCursor;
+import com.dropit.delivery.api.domain.repository.DeliveryRepository;
+import com.dropit.delivery.api.domain.repository.TimeslotRepository;
+import com.dropit.delivery.api.infrastructure.persistence.JdbcDeliveryRepository;
+import com.dropit.delivery.api.infrastructure.persistence.JdbcTimeslotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JdbcRepositoryTest {
+	private static final LocalDate MONDAY = LocalDate.of(2025, 10, 27);
+
+	private EmbeddedDatabase database;
+	private DeliveryRepository deliveries;
+	private TimeslotRepository timeslots;
+
+	@BeforeEach
+	void setUp() {
+		database = new EmbeddedDatabaseBuilder()
+				.generateUniqueName(true)
+				.setType(EmbeddedDatabaseType.H2)
+				.addScript("db/schema.sql")
+				.build();
+		JdbcTemplate jdbc = new JdbcTemplate(database);
+		deliveries = new JdbcDeliveryRepository(jdbc, 3);
+		timeslots = new JdbcTimeslotRepository(jdbc, 3);
+	}
+
+	@AfterEach
+	void tearDown() {
+		database.shutdown();
+	}
+
+	private static Delivery deliveryOn(LocalDate date) {
+		return Delivery.builder()
+				.user("user")
+				.timeslotId("A")
+				.createdAt(date.atTime(10, 0))
+				.build();
+	}
+
+	@Test
+	void queriesByDateWeekAndStatus() {
+		deliveries.save(deliveryOn(MONDAY));
+		deliveries.save(deliveryOn(MONDAY.plusDays(6)));
+		Delivery nextWeek = deliveries.save(deliveryOn(MONDAY.plusDays(7)));
+		Delivery cancelled = deliveries.save(deliveryOn(MONDAY));
+
+		cancelled.setStatus(DeliveryStatus.CANCELLED);
+		deliveries.save(cancelled);
+
+		assertEquals(2, deliveries.findByDate(MONDAY).size());
+		assertEquals(1, deliveries.countByDate(MONDAY));
+		assertEquals(3, deliveries.findByWeek(MONDAY.plusDays(3)).size());
+		assertEquals(List.of(nextWeek), deliveries.findByWeek(MONDAY.plusDays(7)));
+		assertEquals(1, deliveries.findByStatus(DeliveryStatus.CANCELLED).size());
+		assertEquals(DeliveryStatus.CANCELLED, deliveries.findById(cancelled.getId()).orElseThrow().getStatus());
+		assertEquals(4, deliveries.findAll().size());
+
+		DeliveryCounts week = deliveries.countCreatedBetween(MONDAY, MONDAY.plusDays(7));
+		assertEquals(3, week.getTotal());
+		assertEquals(1, deliveries.countCreatedBetween(MONDAY, MONDAY.plusDays(1)).getActive());
+		assertEquals(Map.of(DeliveryStatus.PENDING, 2L, DeliveryStatus.CANCELLED, 1L), week.getByTimeslot().get("A"));
+		// More ids than the batch size of 3, so the counts span several grouped queries
+		assertEquals(Map.of("A", 3L), deliveries.countActiveByTimeslot(List.of("B", "C", "D", "A")));
+
+		List<LocalDate> streamed = new ArrayList<>();
+		deliveries.forEachCreatedBetween(MONDAY, MONDAY.plusDays(7), d -> streamed.add(d.getCreatedAt().toLocalDate()));
+		assertEquals(List.of(MONDAY, MONDAY, MONDAY.plusDays(6)), streamed);
+	}
+
+	@Test
+	void saveAllInsertsAndUpdatesAcrossBatches() {
+		List<Delivery> first = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			first.add(deliveryOn(MONDAY));
+		}
+		deliveries.saveAll(first);
+
+		List<Delivery> second = new ArrayList<>();
+		second.add(first.get(0).withStatus(DeliveryStatus.COMPLETED));
+		second.add(deliveryOn(MONDAY.plusDays(1)));
+		deliveries.saveAll(second);
+
+		assertEquals(8, deliveries.findAll().size());
+		assertEquals(1, deliveries.findByStatus(DeliveryStatus.COMPLETED).size());
+		assertEquals(MONDAY.atTime(10, 0), deliveries.findById(first.get(3).getId()).orElseThrow().getCreatedAt());
+
+		deliveries.delete(first.get(1).getId());
+		assertTrue(deliveries.findById(first.get(1).getId()).isEmpty());
+		assertEquals(6, deliveries.findByDate(MONDAY).size());
+	}
+
+	@Test
+	void pagesInCreatedAtAndIdOrder() {
+		for (int i = 0; i < 5; i++) {
+			deliveries.save(Delivery.builder().id("d" + i).user("user").timeslotId("A")
+					.createdAt(MONDAY.atTime(10, 0).plusMinutes(i % 3)).build());
+		}
+
+		List<Delivery> first = deliveries.findPageCreatedBetween(MONDAY, MONDAY.plusDays(1), null, 2);
+		assertEquals(List.of("d0", "d3"), first.stream().map(Delivery::getId).toList());
+		List<Delivery> second = deliveries.findPageCreatedBetween(MONDAY, MONDAY.plusDays(1), DeliveryCursor.of(first.get(1)), 10);
+		assertEquals(List.of("d1", "d4", "d2"), second.stream().map(Delivery::getId).toList());
+	}
+
+	@Test
+	void timeslotsRoundTripWithTheirAttributes() {
+		LocalDateTime start = MONDAY.atTime(9, 0);
+		long initialVersion = timeslots.version();
+		timeslots.saveAll(List.of(
+				new Timeslot("A", start, start.plusHours(3), Set.of("IL"), Set.of("6100000"), Set.of("Tel Aviv")),
+				new Timeslot("B", start, start.plusHours(2), Set.of("IL", "US"), Set.of(), Set.of())));
+
+		Timeslot a = timeslots.findById("A").orElseThrow();
+		assertEquals(start.plusHours(3), a.getEndTime());
+		assertEquals(Set.of("6100000"), a.getSupportedPostcodes());
+		assertEquals(Set.of("Tel Aviv"), a.getSupportedCities());
+		assertEquals(2, timeslots.findAll().size());
+		assertTrue(timeslots.version() > initialVersion);
+
+		timeslots.save(new Timeslot("B", start, start.plusHours(4), Set.of("US"), Set.of(), Set.of()));
+		Timeslot b = timeslots.findById("B").orElseThrow();
+		assertEquals(Set.of("US"), b.getSupportedCountries());
+		assertEquals(start.plusHours(4), b.getEndTime());
+
+		timeslots.delete("A");
+		assertTrue(timeslots.findById("A").isEmpty());
+
+		long beforeReplace = timeslots.version();
+		timeslots.replaceAll(List.of(new Timeslot("C", start, start.plusHours(1), Set.of("IL"), Set.of(), Set.of("Haifa"))));
+		assertEquals(List.of("C"), timeslots.findAll().stream().map(Timeslot::getId).toList());
+		assertEquals(Set.of("Haifa"), timeslots.findById("C").orElseThrow().getSupportedCities());
+		assertTrue(timeslots.version() > beforeReplace);
+		// Another node sharing the database sees the same catalog version
+		assertEquals(timeslots.version(), new JdbcTimeslotRepository(new JdbcTemplate(database), 3).version());
+
+		timeslots.clear();
+		assertTrue(timeslots.findAll().isEmpty());
+	}
+
+	@Test
+	void readsNeverSeeACatalogHalfReplaced() throws InterruptedException {
+		List<Timeslot> morning = catalog(MONDAY.atTime(9, 0), "Haifa");
+		List<Timeslot> evening = catalog(MONDAY.atTime(18, 0), "Eilat");
+		timeslots.replaceAll(morning);
+		// Stands in for the transaction @Transactional opens around replaceAll in the application
+		TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(database));
+
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicInteger torn = new AtomicInteger();
+		Thread reader = new Thread(() -> {
+			while (running.get()) {
+				List<Timeslot> all = List.copyOf(timeslots.findAll());
+				Set<String> seen = all.stream()
+						.map(timeslot -> timeslot.getStartTime().getHour() + " " + timeslot.getSupportedCities())
+						.collect(Collectors.toSet());
+				Timeslot first = timeslots.findById("s0").orElse(null);
+				boolean whole = all.size() == 5
+						&& (seen.equals(Set.of("9 [Haifa]")) || seen.equals(Set.of("18 [Eilat]")));
+				boolean consistent = first != null
+						&& first.getSupportedCities().equals(Set.of(first.getStartTime().getHour() == 9 ? "Haifa" : "Eilat"));
+				if (!whole || !consistent) {
+					torn.incrementAndGet();
+				}
+			}
+		});
+		reader.start();
+		for (int i = 0; i < 200; i++) {
+			List<Timeslot> next = i % 2 == 0 ? evening : morning;
+			transaction.executeWithoutResult(status -> timeslots.replaceAll(next));
+		}
+		running.set(false);
+		reader.join();
+
+		assertEquals(0, torn.get());
+	}
+
+	private static List<Timeslot> catalog(LocalDateTime start, String city) {
+		return IntStream.range(0, 5)
+				.mapToObj(i -> new Timeslot("s" + i, start, start.plusHours(3), Set.of("IL"), Set.of(), Set.of(city)))
+				.toList();
+	}
+}
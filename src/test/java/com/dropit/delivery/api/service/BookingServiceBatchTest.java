@@ -0,0 +1,114 @@
+package com.dropit.delivery.api.service;
+
+import com.dropit.delivery.api.application.service.BookingCommand;
+import com.dropit.delivery.api.application.service.BookingResult;
+import com.dropit.delivery.api.application.service.BookingService;
+import com.dropit.delivery.api.application.service.CapacityLedger;
+import com.dropit.delivery.api.domain.model.BatchMode;
+import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.domain.model.Timeslot;
+import com.dropit.delivery.api.domain.repository.DeliveryRepository;
+import com.dropit.delivery.api.domain.repository.InMemoryDeliveryRepository;
+import com.dropit.delivery.api.domain.repository.InMemoryTimeslotRepository;
+import com.dropit.delivery.api.domain.repository.TimeslotRepository;
+import com.dropit.delivery.api.infrastructure.config.BusinessProperties;
+import com.dropit.delivery.api.infrastructure.exception.ConflictException;
+import com.dropit.delivery.api.infrastructure.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookingServiceBatchTest {
+	private BookingService bookingService;
+	private DeliveryRepository deliveryRepository;
+
+	@BeforeEach
+	void setup() {
+		TimeslotRepository timeslotRepository = new InMemoryTimeslotRepository();
+		LocalDateTime morning = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0);
+		timeslotRepository.saveAll(List.of(
+				new Timeslot("A", morning, morning.plusHours(3), Set.of("IL"), Set.of(), Set.of()),
+				new Timeslot("B", morning.plusHours(4), morning.plusHours(7), Set.of("IL"), Set.of(), Set.of())
+		));
+		this.deliveryRepository = new InMemoryDeliveryRepository();
+		this.bookingService = new BookingService(deliveryRepository, timeslotRepository,
+				new CapacityLedger(new BusinessProperties(3, 2)), new SimpleMeterRegistry());
+	}
+
+	@Test
+	void atomicBatchBooksNothingWhenAnyItemDoesNotFit() {
+		List<BookingCommand> commands = List.of(
+				new BookingCommand("u1", "A"),
+				new BookingCommand("u2", "B"),
+				new BookingCommand("u3", "A"),
+				new BookingCommand("u4", "A"));
+
+		ConflictException e = assertThrows(ConflictException.class,
+				() -> bookingService.bookAll(commands, BatchMode.ATOMIC));
+
+		assertEquals(ErrorCode.DAILY_CAPACITY_REACHED, e.getError());
+		assertTrue(deliveryRepository.findAll().isEmpty());
+		assertDoesNotThrow(() -> bookingService.bookAll(commands.subList(0, 3), BatchMode.ATOMIC));
+	}
+
+	@Test
+	void batchThatFailsMidSaveLeavesNoDeliveriesAndNoSeatsBehind() {
+		TimeslotRepository timeslotRepository = new InMemoryTimeslotRepository();
+		LocalDateTime morning = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0);
+		timeslotRepository.save(new Timeslot("A", morning, morning.plusHours(3), Set.of("IL"), Set.of(), Set.of()));
+		// Stores deliveries one at a time and fails on the second, like a non-transactional store
+		InMemoryDeliveryRepository failing = new InMemoryDeliveryRepository() {
+			@Override
+			public List<Delivery> saveAll(Collection<Delivery> deliveries) {
+				int saved = 0;
+				for (Delivery delivery : deliveries) {
+					if (saved++ == 1) {
+						throw new IllegalStateException("storage unavailable");
+					}
+					save(delivery);
+				}
+				return List.copyOf(deliveries);
+			}
+		};
+		BookingService service = new BookingService(failing, timeslotRepository,
+				new CapacityLedger(new BusinessProperties(3, 3)), new SimpleMeterRegistry());
+		List<BookingCommand> commands = List.of(
+				new BookingCommand("u1", "A"),
+				new BookingCommand("u2", "A"),
+				new BookingCommand("u3", "A"));
+
+		for (BatchMode mode : BatchMode.values()) {
+			assertThrows(IllegalStateException.class, () -> service.bookAll(commands, mode));
+			assertTrue(failing.findAll().isEmpty());
+		}
+		// Every seat was given back, so the whole slot can still be booked one by one
+		for (BookingCommand command : commands) {
+			assertDoesNotThrow(() -> service.book(command.getUser(), command.getTimeslotId()));
+		}
+	}
+
+	@Test
+	void bestEffortBatchReportsRejectionsInInputOrder() {
+		List<BookingResult> results = bookingService.bookAll(List.of(
+				new BookingCommand("u1", "A"),
+				new BookingCommand("u2", "missing"),
+				new BookingCommand("u3", "A"),
+				new BookingCommand("u4", "A"),
+				new BookingCommand("u5", "B")), BatchMode.BEST_EFFORT);
+
+		assertTrue(results.get(0).isBooked());
+		assertEquals(ErrorCode.UNKNOWN_TIMESLOT, results.get(1).getError());
+		assertTrue(results.get(2).isBooked());
+		assertEquals(ErrorCode.TIMESLOT_CAPACITY_REACHED, results.get(3).getError());
+		assertTrue(results.get(4).isBooked());
+		assertEquals("u5", results.get(4).getDelivery().getUser());
+		assertEquals(3, deliveryRepository.findAll().size());
+	}
+}
@@ -3,8 +3,12 @@ package com.dropit.delivery.api.service;
 import com.dropit.delivery.api.infrastructure.config.BusinessProperties;
 import com.dropit.delivery.api.domain.model.Timeslot;
 import com.dropit.delivery.api.domain.repository.DeliveryRepository;
+import com.dropit.delivery.api.domain.repository.InMemoryDeliveryRepository;
+import com.dropit.delivery.api.domain.repository.InMemoryTimeslotRepository;
 import com.dropit.delivery.api.domain.repository.TimeslotRepository;
 import com.dropit.delivery.api.application.service.BookingService;
+import com.dropit.delivery.api.application.service.CapacityLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -23,12 +27,12 @@ public class BookingServiceConcurrencyTest {
 
 	@BeforeEach
 	void setup() {
-		this.timeslotRepository = new TimeslotRepository();
-		this.deliveryRepository = new DeliveryRepository();
+		this.timeslotRepository = new InMemoryTimeslotRepository();
+		this.deliveryRepository = new InMemoryDeliveryRepository();
 		this.timeslotRepository.saveAll(List.of(
 				new Timeslot("A", LocalDateTime.now().withHour(9).withMinute(0), LocalDateTime.now().withHour(12).withMinute(0), Set.of("IL"), Set.of(), Set.of("Tel Aviv"))
 		));
-		this.bookingService = new BookingService(deliveryRepository, timeslotRepository, new BusinessProperties(10, 2));
+		this.bookingService = new BookingService(deliveryRepository, timeslotRepository, new CapacityLedger(new BusinessProperties(10, 2)), new SimpleMeterRegistry());
 	}
 
 	@Test
@@ -1,11 +1,19 @@
 package com.dropit.delivery.api.service;
 
+import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.domain.model.DeliveryStatus;
+import com.dropit.delivery.api.domain.repository.DeliveryJournal;
 import com.dropit.delivery.api.infrastructure.config.BusinessProperties;
 import com.dropit.delivery.api.infrastructure.exception.ConflictException;
 import com.dropit.delivery.api.domain.model.Timeslot;
 import com.dropit.delivery.api.domain.repository.DeliveryRepository;
+import com.dropit.delivery.api.domain.repository.InMemoryDeliveryRepository;
+import com.dropit.delivery.api.domain.repository.InMemoryTimeslotRepository;
 import com.dropit.delivery.api.domain.repository.TimeslotRepository;
 import com.dropit.delivery.api.application.service.BookingService;
+import com.dropit.delivery.api.application.service.CapacityLedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -19,29 +27,33 @@ public class BookingServiceParameterizedTest {
 	@ParameterizedTest
 	@ValueSource(ints = {1, 2, 3})
 	void bookingSucceedsUpToTimeslotCapacity(int capacity) {
-		TimeslotRepository tsRepo = new TimeslotRepository();
-		DeliveryRepository dRepo = new DeliveryRepository();
+		TimeslotRepository tsRepo = new InMemoryTimeslotRepository();
+		DeliveryRepository dRepo = new InMemoryDeliveryRepository();
 		tsRepo.saveAll(List.of(
 				new Timeslot("X", LocalDateTime.now().withHour(9).withMinute(0), LocalDateTime.now().withHour(12).withMinute(0), Set.of("IL"), Set.of(), Set.of("Tel Aviv"))
 		));
-		BookingService svc = new BookingService(dRepo, tsRepo, new BusinessProperties(100, capacity));
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		BookingService svc = new BookingService(dRepo, tsRepo, new CapacityLedger(new BusinessProperties(100, capacity)), registry);
 
 		for (int i = 0; i < capacity; i++) {
 			final int index = i;
 			assertDoesNotThrow(() -> svc.book("u" + index, "X"));
 		}
 		assertThrows(ConflictException.class, () -> svc.book("overflow", "X"));
+
+		assertEquals(capacity + 1, registry.get("delivery.booking").tag("operation", "book").timer().count());
+		assertEquals(1.0, registry.get("delivery.booking.rejections").tag("error", "TIMESLOT_CAPACITY_REACHED").counter().count());
 	}
 
 	@ParameterizedTest
 	@ValueSource(ints = {1, 2})
 	void cancellationReleasesTimeslotAndDayCapacity(int capacity) {
-		TimeslotRepository tsRepo = new TimeslotRepository();
-		DeliveryRepository dRepo = new DeliveryRepository();
+		TimeslotRepository tsRepo = new InMemoryTimeslotRepository();
+		DeliveryRepository dRepo = new InMemoryDeliveryRepository();
 		tsRepo.saveAll(List.of(
 				new Timeslot("Y", LocalDateTime.now().withHour(9).withMinute(0), LocalDateTime.now().withHour(12).withMinute(0), Set.of("IL"), Set.of(), Set.of("Tel Aviv"))
 		));
-		BookingService svc = new BookingService(dRepo, tsRepo, new BusinessProperties(capacity, capacity));
+		BookingService svc = new BookingService(dRepo, tsRepo, new CapacityLedger(new BusinessProperties(capacity, capacity)), new SimpleMeterRegistry());
 
 		String lastId = null;
 		for (int i = 0; i < capacity; i++) {
@@ -54,4 +66,44 @@ public class BookingServiceParameterizedTest {
 		svc.cancel(lastId);
 		assertDoesNotThrow(() -> svc.book("new", "Y"));
 	}
+
+	@Test
+	void restoredDeliveriesCountAgainstCapacity() {
+		TimeslotRepository tsRepo = new InMemoryTimeslotRepository();
+		DeliveryRepository dRepo = new InMemoryDeliveryRepository();
+		LocalDateTime tomorrow = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0);
+		tsRepo.saveAll(List.of(new Timeslot("Z", tomorrow, tomorrow.plusHours(3), Set.of("IL"), Set.of(), Set.of())));
+		dRepo.save(Delivery.builder().user("before-restart").timeslotId("Z").build());
+
+		BookingService svc = new BookingService(dRepo, tsRepo, new CapacityLedger(new BusinessProperties(10, 2)), new SimpleMeterRegistry());
+		svc.afterSingletonsInstantiated();
+
+		assertDoesNotThrow(() -> svc.book("u", "Z"));
+		assertThrows(ConflictException.class, () -> svc.book("overflow", "Z"));
+	}
+
+	@Test
+	void statusChangesTheJournalRejectsLeaveTheStoredDeliveryUntouched() {
+		TimeslotRepository tsRepo = new InMemoryTimeslotRepository();
+		InMemoryDeliveryRepository dRepo = new InMemoryDeliveryRepository();
+		LocalDateTime tomorrow = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0);
+		tsRepo.saveAll(List.of(new Timeslot("W", tomorrow, tomorrow.plusHours(3), Set.of("IL"), Set.of(), Set.of())));
+		BookingService svc = new BookingService(dRepo, tsRepo, new CapacityLedger(new BusinessProperties(10, 1)), new SimpleMeterRegistry());
+		Delivery booked = svc.book("u", "W");
+
+		dRepo.attachJournal(new DeliveryJournal() {
+			@Override public long recordSave(Delivery delivery) { return 1; }
+			@Override public long recordStatusChange(String id, DeliveryStatus status) { return 1; }
+			@Override public long recordDelete(String id) { return 1; }
+			@Override public void awaitDurable(long sequence) { throw new IllegalStateException("journal failed"); }
+			@Override public boolean isDurable(long sequence) { return false; }
+		});
+
+		assertThrows(IllegalStateException.class, () -> svc.cancel(booked.getId()));
+		assertThrows(IllegalStateException.class, () -> svc.complete(booked.getId()));
+		assertEquals(DeliveryStatus.PENDING, dRepo.findById(booked.getId()).orElseThrow().getStatus());
+		assertEquals(List.of(booked), dRepo.findByStatus(DeliveryStatus.PENDING));
+		// The seat was never released
+		assertThrows(ConflictException.class, () -> svc.book("other", "W"));
+	}
 }
@@ -0,0 +1,99 @@
+package com.dropit.delivery.api.service;
+
+import com.dropit.delivery.api.application.service.CapacityLedger;
+import com.dropit.delivery.api.application.service.CapacityLedger.Reservation;
+import com.dropit.delivery.api.infrastructure.config.BusinessProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CapacityLedgerTest {
+	private static final LocalDate DAY = LocalDate.now().plusDays(1);
+
+	@Test
+	void reportsWhichLimitWasHit() {
+		CapacityLedger ledger = new CapacityLedger(new BusinessProperties(3, 2));
+
+		assertEquals(Reservation.RESERVED, ledger.tryReserve(DAY, "A"));
+		assertEquals(Reservation.RESERVED, ledger.tryReserve(DAY, "A"));
+		assertEquals(Reservation.SLOT_FULL, ledger.tryReserve(DAY, "A"));
+		assertEquals(Reservation.RESERVED, ledger.tryReserve(DAY, "B"));
+		assertEquals(Reservation.DAY_FULL, ledger.tryReserve(DAY, "C"));
+		assertEquals(0, ledger.remainingForDay(DAY));
+
+		ledger.release(DAY, "A");
+		assertEquals(1, ledger.remainingForSlot(DAY, "A"));
+		assertEquals(Reservation.RESERVED, ledger.tryReserve(DAY, "C"));
+	}
+
+	@Test
+	void neverOverbooksUnderContention() throws InterruptedException {
+		CapacityLedger ledger = new CapacityLedger(new BusinessProperties(10, 4));
+		int threads = 16;
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(threads);
+		AtomicInteger reserved = new AtomicInteger();
+		for (int i = 0; i < threads; i++) {
+			String slot = "S" + (i % 4);
+			new Thread(() -> {
+				try {
+					start.await();
+					for (int attempt = 0; attempt < 100; attempt++) {
+						if (ledger.tryReserve(DAY, slot) == Reservation.RESERVED) {
+							reserved.incrementAndGet();
+						}
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					done.countDown();
+				}
+			}).start();
+		}
+		start.countDown();
+		done.await();
+		assertEquals(10, reserved.get());
+		assertEquals(0, ledger.remainingForDay(DAY));
+	}
+
+	@Test
+	void evictedDaysAreReseeded() {
+		CapacityLedger ledger = new CapacityLedger(new BusinessProperties(10, 2));
+		LocalDate past = LocalDate.now().minusDays(3);
+		ledger.tryReserve(past, "P");
+		ledger.reseedWith(day -> day.equals(past) ? Map.of("P", 2) : Map.of());
+
+		assertEquals(1, ledger.evictBefore(LocalDate.now()));
+		assertEquals(Reservation.SLOT_FULL, ledger.tryReserve(past, "P"));
+	}
+
+	@Test
+	void reconcileReplacesCounts() {
+		CapacityLedger ledger = new CapacityLedger(new BusinessProperties(10, 2));
+		ledger.tryReserve(DAY, "A");
+
+		ledger.reconcile(DAY, Map.of("A", 2, "B", 1));
+
+		assertEquals(0, ledger.remainingForSlot(DAY, "A"));
+		assertEquals(7, ledger.remainingForDay(DAY));
+	}
+
+	@Test
+	void peekNeverReseedsEvictedDays() {
+		CapacityLedger ledger = new CapacityLedger(new BusinessProperties(10, 2));
+		LocalDate past = LocalDate.now().minusDays(3);
+		ledger.tryReserve(past, "P");
+		ledger.evictBefore(LocalDate.now());
+		ledger.reseedWith(day -> { throw new AssertionError("peek must not reseed"); });
+
+		assertEquals(CapacityLedger.UNKNOWN, ledger.peekRemainingForSlot(past, "P"));
+		assertEquals(2, ledger.peekRemainingForSlot(DAY, "A"));
+		ledger.tryReserve(DAY, "A");
+		assertEquals(1, ledger.peekRemainingForSlot(DAY, "A"));
+	}
+}
@@ -0,0 +1,89 @@
+package com.dropit.delivery.api.service;
+
+import com.dropit.delivery.api.application.service.HolidayPreloader;
+import com.dropit.delivery.api.domain.model.Timeslot;
+import com.dropit.delivery.api.domain.repository.InMemoryTimeslotRepository;
+import com.dropit.delivery.api.domain.repository.TimeslotRepository;
+import com.dropit.delivery.api.infrastructure.client.HolidayCacheStore;
+import com.dropit.delivery.api.infrastructure.client.HolidayClient;
+import com.dropit.delivery.api.infrastructure.client.HttpTransportFactory;
+import com.dropit.delivery.api.infrastructure.client.OutboundExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HolidayPreloaderTest {
+	@Test
+	void refreshesCurrentAndNextYearForEveryServedCountry() {
+		TimeslotRepository repo = new InMemoryTimeslotRepository();
+		LocalDateTime day = LocalDate.now().atTime(9, 0);
+		repo.saveAll(List.of(
+				new Timeslot("A", day, day.plusHours(3), Set.of("IL", "US"), Set.of(), Set.of()),
+				new Timeslot("B", day, day.plusHours(3), Set.of("IL"), Set.of(), Set.of()),
+				new Timeslot("ANY", day, day.plusHours(3), Set.of(), Set.of(), Set.of())
+		));
+
+		Set<String> refreshed = ConcurrentHashMap.newKeySet();
+		HolidayClient holidays = new HolidayClient("", "", null, null, new HttpTransportFactory(new StandardEnvironment(), new SimpleMeterRegistry()), new SimpleMeterRegistry()) {
+			@Override
+			public CompletableFuture<Set<LocalDate>> refreshIfStale(String country, int year, Duration window) {
+				refreshed.add(country + "-" + year);
+				return CompletableFuture.completedFuture(Set.of());
+			}
+		};
+
+		HolidayPreloader preloader = new HolidayPreloader(repo, holidays, new OutboundExecutor("bounded", 2, 8, 1000), true, 72_000_000);
+		preloader.preload().join();
+
+		int year = LocalDate.now().getYear();
+		assertEquals(Set.of("IL-" + year, "IL-" + (year + 1), "US-" + year, "US-" + (year + 1)), refreshed);
+	}
+
+	@Test
+	void warmDiskCacheSkipsTheApiAndOnlyStaleCalendarsAreFetched() throws Exception {
+		TimeslotRepository repo = new InMemoryTimeslotRepository();
+		LocalDateTime day = LocalDate.now().atTime(9, 0);
+		repo.save(new Timeslot("A", day, day.plusHours(3), Set.of("IL", "US"), Set.of(), Set.of()));
+
+		int year = LocalDate.now().getYear();
+		Path file = Files.createTempDirectory("holidays").resolve("cache.json");
+		HolidayCacheStore store = new HolidayCacheStore(file.toString());
+		Instant fresh = Instant.now().plus(Duration.ofHours(23));
+		store.put("IL|" + year, new HolidayCacheStore.StoredCalendar(Set.of(LocalDate.of(year, 5, 14)), fresh, true));
+		store.put("IL|" + (year + 1), new HolidayCacheStore.StoredCalendar(Set.of(), fresh, true));
+		store.put("US|" + year, new HolidayCacheStore.StoredCalendar(Set.of(), fresh, true));
+		store.put("US|" + (year + 1), new HolidayCacheStore.StoredCalendar(Set.of(), Instant.now().plus(Duration.ofHours(2)), true));
+
+		Set<String> fetched = ConcurrentHashMap.newKeySet();
+		HolidayClient holidays = new HolidayClient("http://holidays.test", "key", null, new HolidayCacheStore(file.toString()), new HttpTransportFactory(new StandardEnvironment(), new SimpleMeterRegistry()), new SimpleMeterRegistry()) {
+			@Override
+			protected Set<LocalDate> fetchHolidaysFromApi(String country, int year) {
+				fetched.add(country + "-" + year);
+				return Set.of();
+			}
+		};
+		HolidayPreloader preloader = new HolidayPreloader(repo, holidays, new OutboundExecutor("bounded", 2, 8, 1000), true, 72_000_000);
+
+		// Only the calendar expiring before the next scheduled run (20h away) is fetched
+		preloader.preload().join();
+		assertEquals(Set.of("US-" + (year + 1)), fetched);
+
+		fetched.clear();
+		preloader.preload().join();
+		assertEquals(Set.of(), fetched);
+		assertEquals(Set.of(LocalDate.of(year, 5, 14)), holidays.holidaysForYear("IL", year));
+	}
+}
@@ -0,0 +1,178 @@
+package com.dropit.delivery.api.service;
+
+import com.dropit.delivery.api.api.dto.DeliveryDTO;
+import com.dropit.delivery.api.api.mapper.DtoMapper;
+import com.dropit.delivery.api.application.service.BookingService;
+import com.dropit.delivery.api.application.service.CapacityLedger;
+import com.dropit.delivery.api.application.service.IdempotentBookingService;
+import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.domain.model.Timeslot;
+import com.dropit.delivery.api.domain.repository.DeliveryRepository;
+import com.dropit.delivery.api.domain.repository.InMemoryDeliveryRepository;
+import com.dropit.delivery.api.domain.repository.InMemoryTimeslotRepository;
+import com.dropit.delivery.api.domain.repository.TimeslotRepository;
+import com.dropit.delivery.api.infrastructure.config.BusinessProperties;
+import com.dropit.delivery.api.infrastructure.exception.ConflictException;
+import com.dropit.delivery.api.infrastructure.exception.ErrorCode;
+import com.dropit.delivery.api.infrastructure.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotentBookingServiceTest {
+	private DeliveryRepository deliveryRepository;
+	private TimeslotRepository timeslotRepository;
+	private IdempotentBookingService service;
+
+	@BeforeEach
+	void setup() {
+		deliveryRepository = new InMemoryDeliveryRepository();
+		timeslotRepository = new InMemoryTimeslotRepository();
+		LocalDateTime start = LocalDateTime.now().withHour(9).withMinute(0);
+		timeslotRepository.saveAll(List.of(
+				new Timeslot("A", start, start.plusHours(3), Set.of("IL"), Set.of(), Set.of("Tel Aviv")),
+				new Timeslot("B", start, start.plusHours(3), Set.of("IL"), Set.of(), Set.of("Tel Aviv"))));
+		BookingService bookingService = new BookingService(deliveryRepository, timeslotRepository,
+				new CapacityLedger(new BusinessProperties(10, 2)), new SimpleMeterRegistry());
+		service = new IdempotentBookingService(bookingService, new DtoMapper(), 100, 60_000);
+	}
+
+	@Test
+	void retriesReturnTheOriginalDelivery() {
+		DeliveryDTO first = service.book("key-1", "user", "A");
+		DeliveryDTO retry = service.book("key-1", "user", "A");
+
+		assertSame(first, retry);
+		assertEquals(1, deliveryRepository.findAll().size());
+		assertNotEquals(first.getId(), service.book("key-2", "user", "A").getId());
+	}
+
+	@Test
+	void reusingAKeyForAnotherBookingIsAConflict() {
+		service.book("key-1", "user", "A");
+
+		ConflictException e = assertThrows(ConflictException.class, () -> service.book("key-1", "user", "B"));
+		assertEquals(ErrorCode.IDEMPOTENCY_KEY_REUSED, e.getError());
+		assertEquals(1, deliveryRepository.findAll().size());
+	}
+
+	@Test
+	void failedBookingsFreeTheKey() {
+		assertThrows(NotFoundException.class, () -> service.book("key-1", "user", "missing"));
+		timeslotRepository.save(new Timeslot("missing", LocalDateTime.now().withHour(9).withMinute(0),
+				LocalDateTime.now().withHour(12).withMinute(0), Set.of("IL"), Set.of(), Set.of()));
+
+		assertNotNull(service.book("key-1", "user", "missing").getId());
+	}
+
+	@Test
+	void bookingThatThrowsAnErrorWakesWaitersAndFreesTheKey() throws Exception {
+		CountDownLatch booking = new CountDownLatch(1);
+		CountDownLatch crash = new CountDownLatch(1);
+		AtomicBoolean crashed = new AtomicBoolean();
+		BookingService crashing = new BookingService(deliveryRepository, timeslotRepository,
+				new CapacityLedger(new BusinessProperties(10, 2)), new SimpleMeterRegistry()) {
+			@Override
+			public Delivery book(String user, String timeslotId) {
+				if (crashed.compareAndSet(false, true)) {
+					booking.countDown();
+					try {
+						crash.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					throw new StackOverflowError("booking crashed");
+				}
+				return super.book(user, timeslotId);
+			}
+		};
+		IdempotentBookingService idempotent = new IdempotentBookingService(crashing, new DtoMapper(), 100, 60_000);
+
+		CompletableFuture<DeliveryDTO> first = CompletableFuture.supplyAsync(() -> idempotent.book("key-1", "user", "A"));
+		booking.await();
+		CompletableFuture<DeliveryDTO> duplicate = CompletableFuture.supplyAsync(() -> idempotent.book("key-1", "user", "A"));
+		crash.countDown();
+
+		ExecutionException original = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(StackOverflowError.class, original.getCause());
+		// The duplicate either waited on the crashed attempt or arrived after the key was freed
+		try {
+			assertNotNull(duplicate.get(5, TimeUnit.SECONDS).getId());
+		} catch (ExecutionException e) {
+			assertInstanceOf(StackOverflowError.class, e.getCause());
+		}
+		assertNotNull(idempotent.book("key-1", "user", "A").getId());
+	}
+
+	@Test
+	void evictionCannotSplitABookingFromItsDuplicate() throws Exception {
+		CountDownLatch booking = new CountDownLatch(1);
+		CountDownLatch finish = new CountDownLatch(1);
+		AtomicBoolean blocked = new AtomicBoolean();
+		BookingService slow = new BookingService(deliveryRepository, timeslotRepository,
+				new CapacityLedger(new BusinessProperties(10, 2)), new SimpleMeterRegistry()) {
+			@Override
+			public Delivery book(String user, String timeslotId) {
+				if (blocked.compareAndSet(false, true)) {
+					booking.countDown();
+					try {
+						finish.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				return super.book(user, timeslotId);
+			}
+		};
+		// Room for a single completed key
+		IdempotentBookingService idempotent = new IdempotentBookingService(slow, new DtoMapper(), 1, 60_000);
+
+		CompletableFuture<DeliveryDTO> first = CompletableFuture.supplyAsync(() -> idempotent.book("key-1", "user", "A"));
+		booking.await();
+		idempotent.book("key-2", "user", "B");
+		idempotent.book("key-3", "user", "B");
+		CompletableFuture<DeliveryDTO> duplicate = CompletableFuture.supplyAsync(() -> idempotent.book("key-1", "user", "A"));
+		finish.countDown();
+
+		assertEquals(first.get(5, TimeUnit.SECONDS).getId(), duplicate.get(5, TimeUnit.SECONDS).getId());
+		assertEquals(1, deliveryRepository.findAll().stream().filter(d -> d.getTimeslotId().equals("A")).count());
+	}
+
+	@Test
+	void concurrentDuplicatesCollapseIntoOneBooking() throws InterruptedException {
+		int threads = 8;
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(threads);
+		CopyOnWriteArrayList<String> ids = new CopyOnWriteArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			new Thread(() -> {
+				try {
+					start.await();
+					ids.add(service.book("retry-storm", "user", "A").getId());
+				} catch (Exception e) {
+					ids.add("failed");
+				} finally {
+					done.countDown();
+				}
+			}).start();
+		}
+		start.countDown();
+		done.await();
+
+		assertEquals(threads, ids.size());
+		assertEquals(1, Set.copyOf(ids).size());
+		assertEquals(1, deliveryRepository.findAll().size());
+	}
+}
@@ -0,0 +1,262 @@
+package com.dropit.delivery.api.service;
+
+import com.dropit.delivery.api.api.dto.AddressDTO;
+import com.dropit.delivery.api.application.service.BookingCommand;
+import com.dropit.delivery.api.application.service.BookingResult;
+import com.dropit.delivery.api.application.service.BookingService;
+import com.dropit.delivery.api.application.service.CapacityLedger;
+import com.dropit.delivery.api.application.service.CatalogReload;
+import com.dropit.delivery.api.application.service.IBookingService;
+import com.dropit.delivery.api.application.service.ITimeslotService;
+import com.dropit.delivery.api.application.service.TimeslotAvailability;
+import com.dropit.delivery.api.application.service.TimeslotLoader;
+import com.dropit.delivery.api.domain.model.BatchMode;
+import com.dropit.delivery.api.domain.model.Delivery;
+import com.dropit.delivery.api.infrastructure.exception.ConflictException;
+import com.dropit.delivery.api.domain.model.DeliveryStatus;
+import com.dropit.delivery.api.domain.model.Timeslot;
+import com.dropit.delivery.api.domain.repository.InMemoryDeliveryRepository;
+import com.dropit.delivery.api.domain.repository.InMemoryTimeslotRepository;
+import com.dropit.delivery.api.domain.repository.TimeslotRepository;
+import com.dropit.delivery.api.infrastructure.config.BusinessProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeslotLoaderTest {
+	private static final String MORNING = """
+			{"id": "%s", "startTime": "2025-11-01T09:00:00", "endTime": "2025-11-01T12:00:00",
+			 "supportedCountries": ["IL"], "supportedPostcodes": [], "supportedCities": ["Tel Aviv"]}""";
+
+	@Test
+	void reloadSwapsTheCatalogAndKeepsTheLastGoodOneOnFailure() throws Exception {
+		Path file = Files.createTempDirectory("timeslots").resolve("catalog.json");
+		Files.writeString(file, catalog("A", "B"));
+		TimeslotRepository repository = new InMemoryTimeslotRepository();
+		TimeslotLoader loader = new TimeslotLoader(repository, NO_INDEX, catalogOnly(repository), file.toString(), false, 0);
+		try {
+			loader.load();
+			assertEquals(Set.of("A", "B"), ids(repository));
+
+			Files.writeString(file, "{\"not\": \"an array\"}");
+			CatalogReload failed = loader.reload();
+			assertFalse(failed.isLoaded());
+			assertEquals(2, failed.getTimeslots());
+			assertEquals(Set.of("A", "B"), ids(repository));
+
+			Files.writeString(file, catalog("C"));
+			CatalogReload loaded = loader.reload();
+			assertTrue(loaded.isLoaded());
+			assertEquals(Set.of("C"), ids(repository));
+			assertTrue(loaded.getVersion() > failed.getVersion());
+			assertSame(loaded, loader.getLastReload());
+		} finally {
+			loader.close();
+		}
+	}
+
+	@Test
+	void watchedFileIsReloadedWhenItChanges() throws Exception {
+		Path file = Files.createTempDirectory("timeslots").resolve("catalog.json");
+		Files.writeString(file, catalog("A"));
+		TimeslotRepository repository = new InMemoryTimeslotRepository();
+		TimeslotLoader loader = new TimeslotLoader(repository, NO_INDEX, catalogOnly(repository), file.toString(), true, 50);
+		try {
+			loader.load();
+			assertEquals(Set.of("A"), ids(repository));
+
+			Files.writeString(file, catalog("B", "C"));
+			long deadline = System.nanoTime() + 10_000_000_000L;
+			while (!ids(repository).equals(Set.of("B", "C")) && System.nanoTime() < deadline) {
+				Thread.sleep(20);
+			}
+			assertEquals(Set.of("B", "C"), ids(repository));
+		} finally {
+			loader.close();
+		}
+	}
+
+	@Test
+	void reloadMovesTheSeatsOfASlotMovedToAnotherDay() throws Exception {
+		LocalDate tomorrow = LocalDate.now().plusDays(1);
+		LocalDate dayAfter = tomorrow.plusDays(1);
+		Path file = Files.createTempDirectory("timeslots").resolve("catalog.json");
+		Files.writeString(file, "[" + slotOn("A", tomorrow) + "]");
+		TimeslotRepository repository = new InMemoryTimeslotRepository();
+		CapacityLedger ledger = new CapacityLedger(new BusinessProperties(10, 2));
+		BookingService bookingService =
+				new BookingService(new InMemoryDeliveryRepository(), repository, ledger, new SimpleMeterRegistry());
+		TimeslotLoader loader = new TimeslotLoader(repository, NO_INDEX, bookingService, file.toString(), false, 0);
+		try {
+			loader.load();
+			bookingService.book("user", "A");
+			assertEquals(1, ledger.remainingForSlot(tomorrow, "A"));
+
+			Files.writeString(file, "[" + slotOn("A", dayAfter) + "]");
+			assertTrue(loader.reload().isLoaded());
+			assertEquals(2, ledger.remainingForSlot(tomorrow, "A"));
+			assertEquals(1, ledger.remainingForSlot(dayAfter, "A"));
+
+			bookingService.book("user", "A");
+			assertEquals(0, ledger.remainingForSlot(dayAfter, "A"));
+		} finally {
+			loader.close();
+		}
+	}
+
+	@Test
+	void seatsBookedWhileTheCatalogReloadsAreNeverSoldTwice() throws Exception {
+		LocalDate tomorrow = LocalDate.now().plusDays(1);
+		LocalDate dayAfter = tomorrow.plusDays(1);
+		Path file = Files.createTempDirectory("timeslots").resolve("catalog.json");
+		Files.writeString(file, "[" + slotOn("A", tomorrow) + "]");
+		TimeslotRepository repository = new InMemoryTimeslotRepository();
+		InMemoryDeliveryRepository deliveries = new InMemoryDeliveryRepository();
+		CapacityLedger ledger = new CapacityLedger(new BusinessProperties(1_000, 20));
+		BookingService bookingService = new BookingService(deliveries, repository, ledger, new SimpleMeterRegistry());
+		TimeslotLoader loader = new TimeslotLoader(repository, NO_INDEX, bookingService, file.toString(), false, 0);
+		loader.load();
+
+		AtomicBoolean running = new AtomicBoolean(true);
+		List<Thread> bookers = IntStream.range(0, 4)
+				.mapToObj(i -> new Thread(() -> {
+					while (running.get()) {
+						try {
+							bookingService.book("user" + i, "A");
+						} catch (ConflictException e) {
+							// Slot full on the day it currently sits on
+						}
+					}
+				}))
+				.toList();
+		bookers.forEach(Thread::start);
+		LocalDate finalDay = tomorrow;
+		try {
+			for (int i = 0; i < 200; i++) {
+				finalDay = i % 2 == 0 ? dayAfter : tomorrow;
+				Files.writeString(file, "[" + slotOn("A", finalDay) + "]");
+				assertTrue(loader.reload().isLoaded());
+			}
+		} finally {
+			running.set(false);
+			for (Thread booker : bookers) {
+				booker.join();
+			}
+			loader.close();
+		}
+
+		int booked = deliveries.findByStatus(DeliveryStatus.PENDING).size();
+		assertTrue(booked <= 20, "sold " + booked + " seats of 20");
+		assertTrue(ledger.remainingForSlot(finalDay, "A") <= 20 - booked);
+		LocalDate otherDay = finalDay.equals(tomorrow) ? dayAfter : tomorrow;
+		assertEquals(20, ledger.remainingForSlot(otherDay, "A"));
+	}
+
+	@Test
+	void readersNeverSeeAHalfReplacedCatalog() throws InterruptedException {
+		TimeslotRepository repository = new InMemoryTimeslotRepository();
+		List<Timeslot> first = timeslots("a");
+		List<Timeslot> second = timeslots("b");
+		repository.replaceAll(first);
+
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicInteger mixed = new AtomicInteger();
+		Thread reader = new Thread(() -> {
+			while (running.get()) {
+				Set<Character> prefixes = repository.findAll().stream()
+						.map(timeslot -> timeslot.getId().charAt(0))
+						.collect(Collectors.toSet());
+				if (prefixes.size() != 1 || repository.findAll().size() != 50) {
+					mixed.incrementAndGet();
+				}
+			}
+		});
+		reader.start();
+		for (int i = 0; i < 2_000; i++) {
+			repository.replaceAll(i % 2 == 0 ? second : first);
+		}
+		running.set(false);
+		reader.join();
+
+		assertEquals(0, mixed.get());
+	}
+
+	// Loader collaborators for tests that only look at the catalog
+	private static final ITimeslotService NO_INDEX = new ITimeslotService() {
+		@Override
+		public List<Timeslot> availableTimeslots(AddressDTO address) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<TimeslotAvailability> availability(AddressDTO address) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void warmIndex() {
+		}
+	};
+
+	private static IBookingService catalogOnly(TimeslotRepository repository) {
+		return new IBookingService() {
+			@Override
+			public Delivery book(String user, String timeslotId) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public List<BookingResult> bookAll(List<BookingCommand> commands, BatchMode mode) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public Delivery complete(String deliveryId) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public void cancel(String deliveryId) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public void replaceCatalog(List<Timeslot> timeslots) {
+				repository.replaceAll(timeslots);
+			}
+		};
+	}
+
+	private static String catalog(String... ids) {
+		return IntStream.range(0, ids.length)
+				.mapToObj(i -> MORNING.formatted(ids[i]))
+				.collect(Collectors.joining(",", "[", "]"));
+	}
+
+	private static String slotOn(String id, LocalDate day) {
+		return MORNING.formatted(id).replace("2025-11-01", day.toString());
+	}
+
+	private static List<Timeslot> timeslots(String prefix) {
+		LocalDateTime start = LocalDateTime.of(2025, 11, 1, 9, 0);
+		return IntStream.range(0, 50)
+				.mapToObj(i -> new Timeslot(prefix + i, start, start.plusHours(3), Set.of("IL"), Set.of(), Set.of()))
+				.toList();
+	}
+
+	private static Set<String> ids(TimeslotRepository repository) {
+		return repository.findAll().stream().map(Timeslot::getId).collect(Collectors.toSet());
+	}
+}
@@ -1,35 +1,45 @@
 package com.dropit.delivery.api.service;
 
 import com.dropit.delivery.api.infrastructure.client.HolidayClient;
+import com.dropit.delivery.api.infrastructure.client.HttpTransportFactory;
+import com.dropit.delivery.api.infrastructure.client.OutboundExecutor;
+import com.dropit.delivery.api.infrastructure.config.BusinessProperties;
 import com.dropit.delivery.api.api.dto.AddressDTO;
 import com.dropit.delivery.api.domain.model.Timeslot;
+import com.dropit.delivery.api.domain.repository.InMemoryTimeslotRepository;
 import com.dropit.delivery.api.domain.repository.TimeslotRepository;
+import com.dropit.delivery.api.application.service.CapacityLedger;
+import com.dropit.delivery.api.application.service.TimeslotAvailability;
 import com.dropit.delivery.api.application.service.TimeslotService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class TimeslotServiceTest {
 	@Test
 	void filtersBySupportedAddressAndSkipsHolidays() {
-		TimeslotRepository repo = new TimeslotRepository();
+		TimeslotRepository repo = new InMemoryTimeslotRepository();
 		LocalDateTime day = LocalDate.now().withDayOfMonth(LocalDate.now().getDayOfMonth()).atTime(9, 0);
 		repo.saveAll(List.of(
 				new Timeslot("A", day, day.plusHours(3), Set.of("IL"), Set.of(), Set.of("Tel Aviv")),
 				new Timeslot("B", day.plusDays(1), day.plusDays(1).plusHours(3), Set.of("US"), Set.of(), Set.of("NYC"))
 		));
 
-		HolidayClient holidays = new HolidayClient("", "") {
+		HolidayClient holidays = new HolidayClient("", "", null, null, new HttpTransportFactory(new StandardEnvironment(), new SimpleMeterRegistry()), new SimpleMeterRegistry()) {
 			@Override
 			public Set<LocalDate> holidaysForYear(String country, int year) { return Set.of(day.toLocalDate()); }
 		};
 
-		TimeslotService svc = new TimeslotService(repo, holidays);
+		TimeslotService svc = new TimeslotService(repo, holidays, new CapacityLedger(new BusinessProperties(10, 2)), new OutboundExecutor("bounded", 2, 8, 1000), new SimpleMeterRegistry());
 		AddressDTO address = new AddressDTO();
 		address.setCountry("IL");
 		address.setCity("Tel Aviv");
@@ -39,4 +49,60 @@ public class TimeslotServiceTest {
 		assertTrue(result.stream().noneMatch(ts -> ts.getId().equals("A")), "Holiday date should be filtered out");
 		assertTrue(result.stream().noneMatch(ts -> ts.getId().equals("B")), "Unsupported country should be filtered out");
 	}
+
+	@Test
+	void emptySupportedSetsMatchAnyAddressAndIndexFollowsRepositoryChanges() {
+		TimeslotRepository repo = new InMemoryTimeslotRepository();
+		LocalDateTime day = LocalDate.now().atTime(9, 0);
+		repo.saveAll(List.of(
+				new Timeslot("ANY", day, day.plusHours(3), Set.of(), Set.of(), Set.of()),
+				new Timeslot("TLV", day, day.plusHours(3), Set.of("IL"), Set.of("6688102"), Set.of("Tel Aviv")),
+				new Timeslot("JLM", day, day.plusHours(3), Set.of("IL"), Set.of(), Set.of("Jerusalem"))
+		));
+
+		HolidayClient holidays = new HolidayClient("", "", null, null, new HttpTransportFactory(new StandardEnvironment(), new SimpleMeterRegistry()), new SimpleMeterRegistry()) {
+			@Override
+			public Set<LocalDate> holidaysForYear(String country, int year) { return Set.of(); }
+		};
+
+		TimeslotService svc = new TimeslotService(repo, holidays, new CapacityLedger(new BusinessProperties(10, 2)), new OutboundExecutor("bounded", 2, 8, 1000), new SimpleMeterRegistry());
+		AddressDTO address = new AddressDTO();
+		address.setCountry("IL");
+		address.setCity("Tel Aviv");
+		address.setPostcode("6688102");
+
+		assertEquals(List.of("ANY", "TLV"), svc.availableTimeslots(address).stream().map(Timeslot::getId).toList());
+
+		repo.delete("TLV");
+		repo.save(new Timeslot("TLV2", day.plusDays(1), day.plusDays(1).plusHours(3), Set.of("IL"), Set.of(), Set.of("Tel Aviv")));
+
+		assertEquals(List.of("ANY", "TLV2"), svc.availableTimeslots(address).stream().map(Timeslot::getId).toList());
+	}
+
+	@Test
+	void hidesExhaustedSlotsAndReportsRemainingSeats() {
+		TimeslotRepository repo = new InMemoryTimeslotRepository();
+		LocalDateTime day = LocalDate.now().plusDays(1).atTime(9, 0);
+		repo.saveAll(List.of(
+				new Timeslot("FULL", day, day.plusHours(3), Set.of(), Set.of(), Set.of()),
+				new Timeslot("HALF", day.plusHours(3), day.plusHours(6), Set.of(), Set.of(), Set.of()),
+				new Timeslot("OPEN", day.plusDays(1), day.plusDays(1).plusHours(3), Set.of(), Set.of(), Set.of())
+		));
+		CapacityLedger ledger = new CapacityLedger(new BusinessProperties(10, 2));
+		ledger.tryReserve(day.toLocalDate(), "FULL", 2);
+		ledger.tryReserve(day.toLocalDate(), "HALF", 1);
+
+		HolidayClient holidays = new HolidayClient("", "", null, null, new HttpTransportFactory(new StandardEnvironment(), new SimpleMeterRegistry()), new SimpleMeterRegistry()) {
+			@Override
+			public Set<LocalDate> holidaysForYear(String country, int year) { return Set.of(); }
+		};
+		TimeslotService svc = new TimeslotService(repo, holidays, ledger, new OutboundExecutor("bounded", 2, 8, 1000), new SimpleMeterRegistry());
+		AddressDTO address = new AddressDTO();
+		address.setCountry("IL");
+
+		Map<String, Integer> remaining = svc.availability(address).stream()
+				.collect(Collectors.toMap(a -> a.getTimeslot().getId(), TimeslotAvailability::getRemainingCapacity));
+		assertEquals(Map.of("HALF", 1, "OPEN", 2), remaining);
+		assertEquals(List.of("HALF", "OPEN"), svc.availableTimeslots(address).stream().map(Timeslot::getId).sorted().toList());
+	}
 }